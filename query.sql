@@ -293,7 +293,8 @@ create table if not exists orders (
 	
     index idx_orders_user 		(user_id),
     index idx_orders_status		(order_status),
-    index idx_orders_created_at (created_at)
+    index idx_orders_created_at (created_at),
+    index idx_orders_user_created_at (user_id, created_at)	# 유저별 주문 검색 keyset (created_at desc, id desc) - InnoDB 보조 인덱스에 PK(id) 포함
     
 )	engine=InnoDB
 	default charset = utf8mb4
@@ -436,7 +437,225 @@ select * from orders;
 select * from order_items;
 select * from order_logs;
 
+# 1018 (주문 합계 - order_totals)
+-- 주문 합계를 orders 에 저장 (주문 생성 시 증분 반영, OrderTotalsChecker 가 주기적으로 검증/재구성)
+ALTER TABLE orders
+	ADD COLUMN total_amount		bigint 	not null default 0 after order_status,
+    ADD COLUMN total_quantity	int 	not null default 0 after total_amount;
+
+-- 기존 주문 합계 채우기
+UPDATE orders o
+	JOIN (
+		SELECT oi.order_id, SUM(oi.quantity * p.price) AS amount, SUM(oi.quantity) AS quantity
+        FROM order_items oi
+			JOIN products p ON p.id = oi.product_id
+		GROUP BY oi.order_id
+    ) t ON t.order_id = o.id
+SET o.total_amount = t.amount, o.total_quantity = t.quantity;
+
+-- 뷰 (주문 합계): 매 조회마다 order_items x products 집계 대신 저장된 합계를 그대로 사용
+CREATE OR REPLACE VIEW order_totals AS 
+SELECT
+	o.id 								AS order_id,
+    o.user_id							AS user_id,
+    o.order_status						AS order_status,
+    o.total_amount						AS order_total_amount,
+    CAST(o.total_quantity AS SIGNED)	AS order_total_quantity,
+    o.created_at						AS ordered_at
+FROM
+	orders o
+WHERE
+	o.total_quantity > 0; -- 기존 뷰(INNER JOIN)와 동일하게 항목 없는 주문 제외
+
+
+
+
+
+use k5_iot_springboot;
+
+# 1018 (주문 리포트 - 일별 집계)
+-- 주문 생성/승인/취소 시 증분 반영 (SalesRollupRecorder), 과거 구간은 백필 API 로 재생성
+-- sales_date: 주문 생성 시각의 KST 날짜
+
+-- 일자 x 주문 상태별 집계
+create table if not exists daily_order_status_rollups (
+	sales_date		date 			not null,
+    order_status	varchar(16) 	not null,
+    order_count		bigint 			not null default 0,
+    total_amount	bigint 			not null default 0,
+    total_quantity	bigint 			not null default 0,
+    updated_at 		datetime(6) 	not null default current_timestamp(6)
+					on update current_timestamp(6),
+    
+    primary key (sales_date, order_status)
+    
+)	engine=InnoDB
+	default charset = utf8mb4
+    collate = utf8mb4_unicode_ci
+    comment = '일별 주문 상태 집계' ;
+
+-- 일자 x 상품별 판매 집계 (APPROVED 주문만)
+create table if not exists daily_product_sales_rollups (
+	sales_date		date 			not null,
+    product_id		bigint 			not null,
+    quantity		bigint 			not null default 0,
+    amount			bigint 			not null default 0,
+    updated_at 		datetime(6) 	not null default current_timestamp(6)
+					on update current_timestamp(6),
+    
+    primary key (sales_date, product_id),
+    index idx_daily_product_sales_product (product_id, sales_date)
+    
+)	engine=InnoDB
+	default charset = utf8mb4
+    collate = utf8mb4_unicode_ci
+    comment = '일별 상품 판매 집계' ;
+
+select * from daily_order_status_rollups;
+select * from daily_product_sales_rollups;
 
+# 1018 (주문 로그 - 애플리케이션 기록)
+-- 주문 로그는 애플리케이션(OrderLogWriter)이 모아서 batch INSERT >> 트리거 제거
+DROP TRIGGER IF EXISTS trg_after_order_insert;
+DROP TRIGGER IF EXISTS trg_after_order_status_update;
 
+-- order.log.mode=outbox 일 때 사용: 주문 트랜잭션과 함께 커밋, 주기적으로 order_logs 로 이관 후 삭제
+create table if not exists order_log_outbox (
+	id 			bigint auto_increment primary key,
+    order_id	bigint 			not null,
+    message		varchar(255)	not null,
+    created_at	datetime(6) 	not null
+    
+)	engine=InnoDB
+	default charset = utf8mb4
+    collate = utf8mb4_unicode_ci
+    comment = '주문 기록 outbox' ;
+
+select * from order_log_outbox;
+
+# 1018 (주문 멱등키 - Idempotency-Key)
+-- 같은 (user_id, idem_key) 재요청은 새 주문 없이 저장된 응답 반환, expires_at 지나면 정리
+create table if not exists order_idempotency_keys (
+	id 				bigint auto_increment primary key,
+    user_id			bigint 			not null,
+    idem_key		varchar(64) 	not null,
+    request_hash	char(64) 		not null,		# 요청 본문 SHA-256 (같은 키로 다른 요청 방지)
+    order_id		bigint 			null,
+    response_body	json 			null,			# 최초 응답 (OrderResponse.Detail)
+    expires_at		datetime(6) 	not null,
+    created_at		datetime(6) 	not null,
+	updated_at 		datetime(6) 	not null,
+    
+    constraint uq_order_idem_user_key unique (user_id, idem_key),
+    index idx_order_idem_expires_at (expires_at)
+    
+)	engine=InnoDB
+	default charset = utf8mb4
+    collate = utf8mb4_unicode_ci
+    comment = '주문 멱등키' ;
+
+select * from order_idempotency_keys;
+
+# 1018 (리프레시 토큰 / 액세스 토큰 폐기)
+-- 회전 방식 리프레시 토큰: 원문 대신 SHA-256 해시 저장, 같은 family 의 폐기 토큰 재사용 시 family 전체 폐기
+create table if not exists refresh_tokens (
+	id 				bigint auto_increment primary key,
+    user_id			bigint 			not null,
+    token_hash		char(64) 		not null,
+    family_id		char(36) 		not null,
+    expires_at		datetime(6) 	not null,
+    revoked_at		datetime(6) 	null,
+    created_at		datetime(6) 	not null,
+    
+    constraint uq_refresh_tokens_hash unique (token_hash),
+    constraint fk_refresh_tokens_user foreign key (user_id) references users(id) on delete cascade,
+    index idx_refresh_tokens_family (family_id),
+    index idx_refresh_tokens_expires_at (expires_at)
+    
+)	engine=InnoDB
+	default charset = utf8mb4
+    collate = utf8mb4_unicode_ci
+    comment = '리프레시 토큰' ;
+
+-- 로그아웃된 액세스 토큰 jti: 기동 시 메모리에 적재, 만료 후 정리
+create table if not exists revoked_access_tokens (
+	jti				char(36) 		not null primary key,
+    expires_at		datetime(6) 	not null,
+    created_at		datetime(6) 	not null,
+    
+    index idx_revoked_access_tokens_created_at (created_at),
+    index idx_revoked_access_tokens_expires_at (expires_at)
+    
+)	engine=InnoDB
+	default charset = utf8mb4
+    collate = utf8mb4_unicode_ci
+    comment = '폐기된 액세스 토큰' ;
+
+select * from refresh_tokens;
+select * from revoked_access_tokens;
+
+# 1018 (게시글 댓글 수 - comment_count)
+-- 댓글 수를 posts 에 저장 (댓글 생성/삭제 시 원자적 증감, PostCommentCountChecker 가 주기적으로 검증/재구성)
+ALTER TABLE posts
+	ADD COLUMN comment_count	int 	not null default 0 comment '댓글 수' after author,
+    ADD INDEX idx_posts_comment_count (comment_count, id); -- 댓글 많은 순 TOP N (comment_count desc, id desc)
+
+-- 기존 게시글 댓글 수 채우기
+UPDATE posts p
+	JOIN (
+		SELECT c.post_id, COUNT(*) AS cnt
+        FROM comments c
+		GROUP BY c.post_id
+    ) t ON t.post_id = p.id
+SET p.comment_count = t.cnt;
+
+select id, title, comment_count from posts order by comment_count desc, id desc limit 5;
+
+# 1018 (주문 항목 단가 스냅샷 - order_items.unit_price)
+-- 주문 시점 단가 저장: 상품 가격이 바뀌어도 주문 합계/항목 금액/합계 재집계가 과거 주문을 바꾸지 않음
+ALTER TABLE order_items
+	ADD COLUMN unit_price	int 	not null default 0 after quantity;
+
+-- 기존 항목 단가 채우기 (현재 가격 외에 남아있는 값이 없으므로 현재 가격으로 초기화)
+UPDATE order_items oi
+	JOIN products p ON p.id = oi.product_id
+SET oi.unit_price = p.price;
+
+-- 뷰 (행 단위): 현재 상품 가격 대신 주문 시점 단가 사용
+CREATE OR REPLACE VIEW order_summary AS 
+SELECT 
+	o.id 					AS order_id,
+    o.user_id 				AS user_id,
+    o.order_status			AS order_status,
+    p.name					AS product_name,
+    oi.quantity				AS quantity,
+    oi.unit_price			AS price,
+    CAST((oi.quantity * oi.unit_price) AS SIGNED) AS total_price,
+    o.created_at			AS ordered_at
+FROM
+	orders o
+    JOIN order_items oi on o.id = oi.order_id 
+    JOIN products p on oi.product_id = p.id;
+
+# 1018 (주문 리포트 - 집계 outbox)
+-- 주문 트랜잭션에서는 증분 행 INSERT 만 (같은 (일자, 상태) 집계 행을 커밋까지 잠그지 않음)
+-- SalesRollupRecorder.relay 가 주기적으로 합산 >> daily_*_rollups UPSERT >> 삭제
+-- order_status 가 있으면 상태 증분, 없으면 상품 증분 (product_id)
+create table if not exists sales_rollup_outbox (
+	id 				bigint auto_increment primary key,
+    sales_date		date 			not null,
+    order_status	varchar(16) 	null,
+    product_id		bigint 			null,
+    order_count		bigint 			not null default 0,
+    amount			bigint 			not null default 0,
+    quantity		bigint 			not null default 0,
+    created_at		datetime(6) 	not null,
+    
+    index idx_sales_rollup_outbox_date (sales_date)
+    
+)	engine=InnoDB
+	default charset = utf8mb4
+    collate = utf8mb4_unicode_ci
+    comment = '일별 집계 outbox' ;
 
-use k5_iot_springboot;
\ No newline at end of file
+select * from sales_rollup_outbox;
@@ -93,4 +93,23 @@ public class ApiMappingPattern {
         public static final String PRODUCT_ID = "/{productId}";
     }
 
+    // === 7. 주문 로그(I_OrderLog) === //
+    public static final class OrderLogs {
+        private OrderLogs() {}
+
+        public static final String ROOT = BASE + "/order-logs";
+    }
+
+    // === 8. 주문 리포트(I_OrderView) === //
+    public static final class Reports {
+        private Reports() {}
+
+        public static final String ROOT = BASE + "/reports/orders";
+        public static final String DAILY = "/daily";
+        public static final String BY_STATUS = "/status";
+        public static final String BY_PRODUCT = "/products";
+        public static final String TOP_PRODUCTS = "/products/top";
+        public static final String BACKFILL = "/backfill";
+    }
+
 }
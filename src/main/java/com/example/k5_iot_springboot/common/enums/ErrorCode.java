@@ -22,6 +22,9 @@ public enum ErrorCode {
     CONFLICT
             (HttpStatus.CONFLICT, "CONFLICT", "요청이 서버 상태와 충돌합니다."),
 
+    TOO_MANY_REQUESTS
+            (HttpStatus.TOO_MANY_REQUESTS, "TOO_MANY_REQUESTS", "요청이 많습니다. 잠시 후 다시 시도해주세요."),
+
     INTERNAL_ERROR
             (HttpStatus.INTERNAL_SERVER_ERROR, "INTERNAL_ERROR", "서버 내부 오류가 발생했습니다.");
 
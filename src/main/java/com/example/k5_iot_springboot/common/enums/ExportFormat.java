@@ -0,0 +1,31 @@
+package com.example.k5_iot_springboot.common.enums;
+
+public enum ExportFormat {
+    CSV("text/csv", "csv"),                         // 엑셀/스프레드시트용
+    NDJSON("application/x-ndjson", "ndjson");       // 한 줄에 JSON 객체 1개 (파이프라인 적재용)
+
+    private final String contentType;
+    private final String extension;
+
+    ExportFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    // 요청 파라미터(대소문자 무관) >> enum
+    public static ExportFormat from(String value) {
+        if (value == null || value.isBlank()) return CSV;
+        for (ExportFormat format : values()) {
+            if (format.name().equalsIgnoreCase(value)) return format;
+        }
+        throw new IllegalArgumentException("지원하지 않는 내보내기 형식입니다. format=" + value);
+    }
+}
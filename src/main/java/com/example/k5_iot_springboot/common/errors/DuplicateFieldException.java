@@ -0,0 +1,22 @@
+package com.example.k5_iot_springboot.common.errors;
+
+import java.util.List;
+
+/*
+ * === DuplicateFieldException ===
+ * : 사전 중복 검사에서 이미 사용 중인 값이 발견된 경우 (충돌한 요청 필드명 목록 포함)
+ * - GlobalExceptionHandler 에서 409 + 필드 오류로 그대로 변환 (메시지 파싱 X)
+ * - 실제 유니크 제약 위반(INSERT 시점)은 DataIntegrityViolationException 으로 별도 처리
+ * */
+public class DuplicateFieldException extends RuntimeException {
+    private final List<String> fields;
+
+    public DuplicateFieldException(List<String> fields) {
+        super("이미 사용 중인 값입니다: " + String.join(", ", fields));
+        this.fields = List.copyOf(fields);
+    }
+
+    public List<String> getFields() {
+        return fields;
+    }
+}
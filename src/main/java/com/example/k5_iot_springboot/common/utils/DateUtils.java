@@ -30,6 +30,14 @@ public class DateUtils {
         return zdtKst.format(KST_FORMAT);
     }
 
+    // DB(LocalDateTime, UTC) >>> KST 날짜 (일자별 집계 기준)
+    public static LocalDate toKstDate(LocalDateTime utcLocalDateTime){
+        if (utcLocalDateTime == null) return null;
+        return utcLocalDateTime.atZone(ZoneOffset.UTC)
+                .withZoneSameInstant(ZONE_KST)
+                .toLocalDate();
+    }
+
     // DB >>> ISO-8601 문자열 변환
     // : 프론트에서 타임존이 필요한 경우 유용
     public static String toUtcString(LocalDateTime utcLocalDateTime) {
@@ -0,0 +1,78 @@
+package com.example.k5_iot_springboot.common.utils;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/*
+ * === KeyedRateLimiter ===
+ * : 키(IP, loginId 등)별 토큰 버킷 - 메모리 전용
+ * - 버킷 = AtomicLong 하나 (GCRA: "다음 토큰이 채워지는 이론적 시각" 만 저장)
+ *      >> 리필 스레드/락 없이 CAS 로 차감과 리필을 동시에 처리
+ * - capacity 만큼 연속 허용(burst) 후 refillPerMinute 속도로 회복
+ * - 키 수가 maxKeys 를 넘으면 가득 찬(=새 버킷과 같은) 버킷부터 제거, 그래도 넘치면 임의 제거
+ * */
+public class KeyedRateLimiter {
+    private final long intervalNanos;   // 토큰 1개 회복 시간
+    private final long burstNanos;      // capacity 개를 쌓는 데 걸리는 시간
+    private final int maxKeys;
+    private final LongSupplier nanoClock;
+    private final Map<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+
+    public KeyedRateLimiter(int capacity, int refillPerMinute, int maxKeys) {
+        this(capacity, refillPerMinute, maxKeys, System::nanoTime);
+    }
+
+    // 시각 주입 (테스트용)
+    KeyedRateLimiter(int capacity, int refillPerMinute, int maxKeys, LongSupplier nanoClock) {
+        if (capacity < 1 || refillPerMinute < 1 || maxKeys < 1)
+            throw new IllegalArgumentException("capacity, refillPerMinute, maxKeys 는 1 이상이어야 합니다.");
+        this.intervalNanos = 60_000_000_000L / refillPerMinute;
+        this.burstNanos = intervalNanos * capacity;
+        this.maxKeys = maxKeys;
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * 토큰 1개 사용
+     * @return 0 이면 허용, 양수면 거부 (다음 토큰까지 남은 시간, ms)
+     * */
+    public long tryAcquire(String key) {
+        AtomicLong tat = buckets.get(key);
+        if (tat == null) {
+            if (buckets.size() >= maxKeys) evict();
+            tat = buckets.computeIfAbsent(key, k -> new AtomicLong(Long.MIN_VALUE));
+        }
+
+        while (true) {
+            long now = nanoClock.getAsLong();
+            long current = tat.get();
+            long base = (current == Long.MIN_VALUE || current - now < 0) ? now : current;
+            long next = base + intervalNanos;
+
+            if (next - now > burstNanos) {
+                return Math.max(1, (next - now - burstNanos) / 1_000_000);
+            }
+            if (tat.compareAndSet(current, next)) return 0;
+        }
+    }
+
+    public int size() {
+        return buckets.size();
+    }
+
+    // 가득 찬 버킷은 제거해도 결과가 같음 >> 우선 제거, 그래도 90% 이상이면 임의 제거
+    private void evict() {
+        long now = nanoClock.getAsLong();
+        buckets.values().removeIf(tat -> tat.get() == Long.MIN_VALUE || tat.get() - now <= 0);
+
+        int target = (int) (maxKeys * 0.9);
+        Iterator<AtomicLong> it = buckets.values().iterator();
+        while (buckets.size() > target && it.hasNext()) {
+            it.next();
+            it.remove();
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.k5_iot_springboot.common.utils;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiPredicate;
+
+/*
+ * === TtlCache ===
+ * : 최대 크기 + 만료 시간이 있는 간단한 메모리 캐시 (외부 캐시 라이브러리 없이 사용)
+ * - ConcurrentHashMap + 항목별 만료 시각 >> get/put 은 전역 잠금 없이 동작
+ * - 조회 시 만료된 항목은 제거 후 null
+ *
+ * # 크기 제한 (근사) #
+ * - put 후 maxSize 를 넘으면 한 스레드만(tryLock) 정리 수행, 나머지 스레드는 기다리지 않고 통과
+ *      1) 만료된 항목 제거
+ *      2) 그래도 많으면 만료 시각이 가장 이른 항목부터 제거 (TTL 이 같으면 오래 저장된 순)
+ *      - 정리할 때 maxSize 의 90% 까지 줄임 >> 전체 순회가 매 put 마다 일어나지 않음
+ * - 동시 put 중에는 일시적으로 maxSize 를 조금 넘을 수 있음
+ * */
+public class TtlCache<K, V> {
+    private static final double EVICT_TO_RATIO = 0.9;
+
+    private final int maxSize;
+    private final int evictToSize;
+    private final Duration defaultTtl;
+    private final Clock clock;
+    private final ConcurrentHashMap<K, Entry<V>> map;
+    private final ReentrantLock evictLock = new ReentrantLock();
+
+    private record Entry<V>(V value, long expiresAtMillis) {}
+
+    public TtlCache(int maxSize, Duration defaultTtl) {
+        this(maxSize, defaultTtl, Clock.systemUTC());
+    }
+
+    public TtlCache(int maxSize, Duration defaultTtl, Clock clock) {
+        if (maxSize < 1) throw new IllegalArgumentException("maxSize 는 1 이상이어야 합니다.");
+        this.maxSize = maxSize;
+        this.evictToSize = Math.max(1, (int) (maxSize * EVICT_TO_RATIO));
+        this.defaultTtl = defaultTtl;
+        this.clock = clock;
+        this.map = new ConcurrentHashMap<>(Math.min(maxSize, 1 << 16));
+    }
+
+    public V get(K key) {
+        Entry<V> e = map.get(key);
+        if (e == null) return null;
+        if (e.expiresAtMillis() <= clock.millis()) {
+            map.remove(key, e); // 그 사이 새로 저장된 값은 지우지 않음
+            return null;
+        }
+        return e.value();
+    }
+
+    public void put(K key, V value) {
+        put(key, value, defaultTtl);
+    }
+
+    public void put(K key, V value, Duration ttl) {
+        if (ttl.isNegative() || ttl.isZero()) return;
+        map.put(key, new Entry<>(value, clock.millis() + ttl.toMillis()));
+        if (map.size() > maxSize) evict();
+    }
+
+    public void invalidate(K key) {
+        map.remove(key);
+    }
+
+    // 조건에 맞는 항목 일괄 제거 (ex. 특정 사용자 관련 항목)
+    public void invalidateIf(BiPredicate<K, V> predicate) {
+        map.entrySet().removeIf(e -> predicate.test(e.getKey(), e.getValue().value()));
+    }
+
+    public void clear() {
+        map.clear();
+    }
+
+    public int size() {
+        return map.size();
+    }
+
+    // === 내부 유틸 === //
+
+    private void evict() {
+        if (!evictLock.tryLock()) return; // 다른 스레드가 정리 중
+        try {
+            if (map.size() <= maxSize) return;
+
+            long now = clock.millis();
+            List<Map.Entry<K, Entry<V>>> live = new ArrayList<>(map.size());
+            for (Map.Entry<K, Entry<V>> e : map.entrySet()) {
+                if (e.getValue().expiresAtMillis() <= now) map.remove(e.getKey(), e.getValue());
+                else live.add(e);
+            }
+
+            int excess = map.size() - evictToSize;
+            if (excess <= 0) return;
+
+            live.sort(Comparator.comparingLong(e -> e.getValue().expiresAtMillis()));
+            for (int i = 0; i < live.size() && excess > 0; i++) {
+                Map.Entry<K, Entry<V>> e = live.get(i);
+                if (map.remove(e.getKey(), e.getValue())) excess--;
+            }
+        } finally {
+            evictLock.unlock();
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.k5_iot_springboot.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * 스케줄링(@Scheduled) 전역 활성화
+ * - 재고 원장 DB 반영 등 주기 작업에 사용
+ * */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
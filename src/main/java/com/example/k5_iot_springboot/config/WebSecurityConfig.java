@@ -1,9 +1,11 @@
 package com.example.k5_iot_springboot.config;
 
 import com.example.k5_iot_springboot.filter.JwtAuthenticationFilter;
+import com.example.k5_iot_springboot.filter.SignInRateLimitFilter;
 import com.example.k5_iot_springboot.handler.JsonAccessDeniedHandler;
 import com.example.k5_iot_springboot.handler.JsonAuthenticationEntryPoint;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -39,8 +41,10 @@ import java.util.List;
 @Configuration // 해당 클래스가 Spring의 설정 클래스로 사용됨을 명시
 @EnableWebSecurity // Spring Security의 웹 보안 활성화 - SpringSecurity 기능을 웹 계층에 적용해주는 역할
 @RequiredArgsConstructor
+@Slf4j
 public class WebSecurityConfig {
     private final JwtAuthenticationFilter jwtAuthenticationFilter; // 사용자 정의 JWT 검증 필터(아래에서 필터 체인에 추가)
+    private final SignInRateLimitFilter signInRateLimitFilter;     // 인증 엔드포인트 요청 제한 필터 (IP / loginId 토큰 버킷)
 
     private final JsonAuthenticationEntryPoint authenticationEntryPoint;
     private final JsonAccessDeniedHandler accessDeniedHandler;
@@ -58,6 +62,9 @@ public class WebSecurityConfig {
     @Value("${cors.exposed-headers:Authorization,Set-Cookie}")
     private String exposedHeaders; // 필요한 헤더만 노출
 
+    @Value("${security.bcrypt.strength:10}")
+    private int bcryptStrength;
+
     @Value("${security.h2-console:true}") //개발 편의성 고려 -> 개발용 H2 콘솔 접근 허용 여부 (아래에서 권한 부여할거임) -> 개발 용이라 배포할 땐 제거하는게 좋음
     private boolean h2ConsoleEnabled;
 
@@ -67,10 +74,19 @@ public class WebSecurityConfig {
     * ==============================
     * */
 
-    /* 1) 비밀번호 인코더: 실무 기본 BCrypt(강도 기본값) */
+    /* 1) 비밀번호 인코더: 실무 기본 BCrypt
+     *  - 강도(cost)는 security.bcrypt.strength (4 ~ 31, 1 증가마다 해시 시간 2배)
+     *  - 기동 시 1회 해시 시간을 측정해 로그로 남김 >> 운영 서버 기준 수십 ~ 수백 ms 가 되도록 조정
+     * */
     @Bean //메서드 반환 객체를 스프링 빈으로 등록시킴
     public BCryptPasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(bcryptStrength);
+
+        long start = System.nanoTime();
+        encoder.encode("bcrypt-benchmark");
+        log.info("BCrypt strength={} encode={}ms", bcryptStrength, (System.nanoTime() - start) / 1_000_000);
+
+        return encoder;
         
         // >> 추후 회원가입/로그인 시 passwordEncoder.matches(raw, encoded); 로 비밀번호 비교가 가능함 
     }
@@ -201,6 +217,9 @@ public class WebSecurityConfig {
 
                             // orders 접근 제어
 
+                            // 주문 리포트 접근 제어
+                            .requestMatchers("/api/v1/reports/**").hasAnyRole("MANAGER", "ADMIN")
+
                             // ADMIN 전용 권한관리 API
                             .requestMatchers("/api/v1/admin/**").hasAnyRole("ADMIN")
 
@@ -213,6 +232,9 @@ public class WebSecurityConfig {
         // JWT 인증 필터를 UsernamePasswordAuthenticationFilter 앞에 배치
         http.addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
 
+        // 인증 엔드포인트 요청 제한 - JWT 필터보다 먼저 (사용자 조회 / BCrypt 전에 차단)
+        http.addFilterBefore(signInRateLimitFilter, JwtAuthenticationFilter.class);
+
         return http.build();
 
     }
@@ -4,6 +4,7 @@ import com.example.k5_iot_springboot.common.constants.ApiMappingPattern;
 import com.example.k5_iot_springboot.dto.D_Comment.request.CommentCreateRequestDto;
 import com.example.k5_iot_springboot.dto.D_Comment.request.CommentUpdateRequestDto;
 import com.example.k5_iot_springboot.dto.D_Comment.response.CommentResponseDto;
+import com.example.k5_iot_springboot.dto.D_Comment.response.CommentSliceResponseDto;
 import com.example.k5_iot_springboot.dto.ResponseDto;
 import com.example.k5_iot_springboot.service.D_CommentService;
 import jakarta.validation.Valid;
@@ -35,6 +36,20 @@ public class D_CommentController {
     }
 
 
+    // 1-1) 게시글 댓글 목록 조회
+    // : Cursor 기반 (id asc) - 게시글 단건 조회 응답의 nextCommentCursor 부터 이어서 조회
+    // [GET] /api/v1/posts/{postId}/comments?cursor=&size=
+    @GetMapping
+    public ResponseEntity<ResponseDto<CommentSliceResponseDto>> getComments(
+            @PathVariable("postId") @Positive(message = "postID는 1 이상의 정수여야합니다.") Long postId,
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        ResponseDto<CommentSliceResponseDto> response = commentService.getComments(postId, cursor, size);
+        return ResponseEntity.status(HttpStatus.OK).body(response);
+    }
+
+
     // 2) 댓글 수정
     // [PUT] /api/v1/posts/{postId}/comments/{commentId}
     @PutMapping(ApiMappingPattern.Comments.ID_ONLY) // => /api/v1/posts/{postId}/comments/api/v1/posts/{postId}/comments/{commentId} 이래 나와버림
@@ -5,6 +5,7 @@ import com.example.k5_iot_springboot.dto.D_Post.request.PostCreateRequestDto;
 import com.example.k5_iot_springboot.dto.D_Post.request.PostUpdateRequestDto;
 import com.example.k5_iot_springboot.dto.D_Post.response.PostDetailResponseDto;
 import com.example.k5_iot_springboot.dto.D_Post.response.PostListResponseDto;
+import com.example.k5_iot_springboot.dto.D_Post.response.PostSliceResponseDto;
 import com.example.k5_iot_springboot.dto.D_Post.response.PostWithCommentCountResponseDto;
 import com.example.k5_iot_springboot.dto.ResponseDto;
 import com.example.k5_iot_springboot.service.D_PostService;
@@ -39,7 +40,7 @@ public class D_PostController {
     }
 
 
-    // 2) 게시글 단건 조회(댓글 포함)
+    // 2) 게시글 단건 조회(댓글 첫 페이지 포함)
     @GetMapping(ApiMappingPattern.Posts.ID_ONLY)
     public ResponseEntity<ResponseDto<PostDetailResponseDto>> getPostById(
             @PathVariable Long postId
@@ -49,11 +50,14 @@ public class D_PostController {
     }
 
 
-    // 3) 게시글 전체 조회(댓글 제외)
-    // : 페이징이 필요한 경우 page/size 파라미터 추가 OR Pageable 적용
+    // 3) 게시글 목록 조회(댓글 제외)
+    // : Cursor 기반 (id desc) - 첫 요청은 cursor 없이, 이후 응답의 nextCursor 를 전달
     @GetMapping
-    public ResponseEntity<ResponseDto<List<PostListResponseDto>>> getAllPosts() {
-        ResponseDto<List<PostListResponseDto>> response = postService.getAllPosts();
+    public ResponseEntity<ResponseDto<PostSliceResponseDto>> getPosts(
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        ResponseDto<PostSliceResponseDto> response = postService.getPosts(cursor, size);
         return ResponseEntity.status(HttpStatus.OK).body(response);
     }
 
@@ -92,31 +96,37 @@ public class D_PostController {
 
     // 7) 특정 키워드로 제목 검색 조회
     @GetMapping(ApiMappingPattern.Posts.SEARCH_BY_TITLE) // /api/v1/posts/search?keyword=
-    public ResponseEntity<ResponseDto<List<PostListResponseDto>>> searchPostsByTitle(
-            @RequestParam("keyword") @NotBlank(message = "검색 키워드는 비워질 수 없습니다.") String keyword
+    public ResponseEntity<ResponseDto<PostSliceResponseDto>> searchPostsByTitle(
+            @RequestParam("keyword") @NotBlank(message = "검색 키워드는 비워질 수 없습니다.") String keyword,
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(defaultValue = "20") int size
     ) {
-        ResponseDto<List<PostListResponseDto>> response = postService.searchPostsByTitle(keyword);
+        ResponseDto<PostSliceResponseDto> response = postService.searchPostsByTitle(keyword, cursor, size);
         return ResponseEntity.status(HttpStatus.OK).body(response);
     }
 
 
-    // 8) 댓글이 가장 많은 상위 5개의 게시글 조회
-    @GetMapping(ApiMappingPattern.Posts.TOP_BY_COMMENTS)
-    public ResponseEntity<ResponseDto<List<PostWithCommentCountResponseDto>>> getTop5PostsByComments() {
-        ResponseDto<List<PostWithCommentCountResponseDto>> response = postService.getTop5PostsByComments();
+    // 8) 댓글이 가장 많은 상위 N개(기본 5개)의 게시글 조회
+    @GetMapping(ApiMappingPattern.Posts.TOP_BY_COMMENTS) // /api/v1/posts/top-comments?limit=
+    public ResponseEntity<ResponseDto<List<PostWithCommentCountResponseDto>>> getTopPostsByComments(
+            @RequestParam(defaultValue = "5") @Positive(message = "limit 는 1 이상이어야 합니다.") int limit
+    ) {
+        ResponseDto<List<PostWithCommentCountResponseDto>> response = postService.getTopPostsByComments(limit);
         return ResponseEntity.status(HttpStatus.OK).body(response);
     }
 
     // 9) 특정 키워드를 포함하는 "댓글"이 달린 게시글 조회
     // 요청값: 특정 키워드(검색값) -> String
     //      >> RequestBody (정적) / RequestParam(동적)
-    // 응답값: 해당 키워드가 포함된 게시글들 -> List<PostListResponseDto>
+    // 응답값: 해당 키워드가 포함된 게시글들 -> PostSliceResponseDto (cursor 페이징)
     @GetMapping("/search-comment")
-    // ResponseEntity(body) -> ResponseDto(data) -> List<PostListResponseDto>
-    public ResponseEntity<ResponseDto<List<PostListResponseDto>>> searchPostsByCommentKeyword(
-            @RequestParam("keyword") @NotBlank(message = "검색 키워드는 비어 있을 수 없습니다.") String keyword
+    // ResponseEntity(body) -> ResponseDto(data) -> PostSliceResponseDto
+    public ResponseEntity<ResponseDto<PostSliceResponseDto>> searchPostsByCommentKeyword(
+            @RequestParam("keyword") @NotBlank(message = "검색 키워드는 비어 있을 수 없습니다.") String keyword,
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(defaultValue = "20") int size
     ) {
-        ResponseDto<List<PostListResponseDto>> response = postService.searchPostsByCommentKeyword(keyword);
+        ResponseDto<PostSliceResponseDto> response = postService.searchPostsByCommentKeyword(keyword, cursor, size);
         return ResponseEntity.status(HttpStatus.OK).body(response);
     }
 
@@ -2,11 +2,13 @@ package com.example.k5_iot_springboot.controller;
 
 
 import com.example.k5_iot_springboot.dto.G_Auth.request.FindIdRequest;
+import com.example.k5_iot_springboot.dto.G_Auth.request.RefreshTokenRequest;
 import com.example.k5_iot_springboot.dto.G_Auth.request.SignInRequest;
 import com.example.k5_iot_springboot.dto.G_Auth.request.SignUpRequest;
 import com.example.k5_iot_springboot.dto.G_Auth.response.FindIdResponse;
 import com.example.k5_iot_springboot.dto.G_Auth.response.SignInResponse;
 import com.example.k5_iot_springboot.dto.ResponseDto;
+import com.example.k5_iot_springboot.provider.ParsedToken;
 import com.example.k5_iot_springboot.service.G_AuthService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -37,6 +39,23 @@ public class G_AuthController {
         return ResponseEntity.ok().body(response);
     }
 
+    /** 토큰 재발급 - 리프레시 토큰 교환 (사용한 리프레시 토큰은 폐기) */
+    @PostMapping("/refresh")
+    public ResponseEntity<ResponseDto<SignInResponse>> refresh(@Valid @RequestBody RefreshTokenRequest req) {
+        ResponseDto<SignInResponse> response = authService.refresh(req);
+        return ResponseEntity.ok().body(response);
+    }
+
+    /** 로그아웃 - 리프레시 토큰 family + 현재 액세스 토큰(Authorization 헤더가 있으면) 폐기 */
+    @PostMapping("/sign-out")
+    public ResponseEntity<ResponseDto<Void>> signOut(
+            @RequestAttribute(name = ParsedToken.REQUEST_ATTRIBUTE, required = false) ParsedToken accessToken,
+            @Valid @RequestBody RefreshTokenRequest req
+    ) {
+        authService.signOut(accessToken, req);
+        return ResponseEntity.ok(ResponseDto.setSuccess("로그아웃 되었습니다.", null));
+    }
+
     /** 아이디 찾기 */
     @PostMapping("/find-id")
     public ResponseEntity<ResponseDto<FindIdResponse>> findId(@Valid @RequestBody FindIdRequest req) {
@@ -1,5 +1,6 @@
 package com.example.k5_iot_springboot.controller;
 
+import com.example.k5_iot_springboot.dto.G_Auth.request.PasswordChangeRequest;
 import com.example.k5_iot_springboot.dto.G_User.request.UserProfileUpdateRequest;
 import com.example.k5_iot_springboot.dto.G_User.response.UserProfileResponse;
 import com.example.k5_iot_springboot.dto.ResponseDto;
@@ -45,4 +46,14 @@ public class G_UserController {
         ResponseDto<UserProfileResponse.MyPageResponse> response = userService.updateMyInfo(principal, request);
         return ResponseEntity.ok().body(response);
     }
+
+    @PreAuthorize("isAuthenticated()")
+    @PutMapping("/password")
+    public ResponseEntity<ResponseDto<Void>> changePassword(
+            @AuthenticationPrincipal UserPrincipal principal,
+            @Valid @RequestBody PasswordChangeRequest request
+    ){
+        userService.changePassword(principal, request);
+        return ResponseEntity.ok(ResponseDto.setSuccess("비밀번호가 변경되었습니다.", null));
+    }
 }
@@ -1,6 +1,7 @@
 package com.example.k5_iot_springboot.controller;
 
 
+import com.example.k5_iot_springboot.common.enums.ExportFormat;
 import com.example.k5_iot_springboot.common.enums.OrderStatus;
 import com.example.k5_iot_springboot.dto.I_Order.request.OrderRequest;
 import com.example.k5_iot_springboot.dto.I_Order.response.OrderResponse;
@@ -10,12 +11,14 @@ import com.example.k5_iot_springboot.service.I_OrderService;
 import lombok.RequiredArgsConstructor;
 import org.hibernate.query.Order;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDateTime;
-import java.util.List;
 
 //=== Controller 기본어노테이션 === //
 @RestController
@@ -27,7 +30,8 @@ import java.util.List;
 public class I_OrderController {
     private final I_OrderService orderService; // 생성자 주입
 
-    /** 주문 생성: 인증 주체의 userId를 사용 (POST: 전송하다 - 새로운 데이터 생성)*/
+    /** 주문 생성: 인증 주체의 userId를 사용 (POST: 전송하다 - 새로운 데이터 생성)
+     *  - Idempotency-Key 헤더(선택): 같은 키로 재시도하면 새 주문 없이 처음 응답을 그대로 반환 */
     @PostMapping
     // 접근제어자 반환타입 메서드명 () {}
     // cf) ResponseEntity(HttpStatus 상태코드, HttpHeaders 요청/응답에 대한 요구사항, HttpBody 응답 본문)
@@ -36,9 +40,10 @@ public class I_OrderController {
     public ResponseEntity<ResponseDto<OrderResponse.Detail>> create(
             // 매개변수 - Controller (@PathVariable, @RequestBody, @RequestParam)
             @AuthenticationPrincipal UserPrincipal userPrincipal,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
             @RequestBody OrderRequest.OrderCreateRequest req
     ){
-        ResponseDto<OrderResponse.Detail> response = orderService.create(userPrincipal, req);
+        ResponseDto<OrderResponse.Detail> response = orderService.create(userPrincipal, idempotencyKey, req);
         // return ResponseEntity.ok(response);
         return ResponseEntity.ok().body(response);
     }
@@ -62,18 +67,61 @@ public class I_OrderController {
             return ResponseEntity.ok(response);
     }
 
-    /** 주문 검색: USER(본인), MANAGER, ADMIN */
+    /** 주문 일괄 승인: MANAGER, ADMIN - 요청 주문 전체의 재고를 한 번에 차감, 주문별 성공/실패 반환 */
+    @PostMapping("/approve:batch")
+    public ResponseEntity<ResponseDto<OrderResponse.BatchResult>> approveBatch(
+            @AuthenticationPrincipal UserPrincipal userPrincipal,
+            @RequestBody OrderRequest.OrderBatchRequest req
+    ) {
+        ResponseDto<OrderResponse.BatchResult> response = orderService.approveBatch(userPrincipal, req);
+        return ResponseEntity.ok(response);
+    }
+
+    /** 주문 일괄 취소: MANAGER, ADMIN - 승인된 주문의 재고를 한 번에 복원, 주문별 성공/실패 반환 */
+    @PostMapping("/cancel:batch")
+    public ResponseEntity<ResponseDto<OrderResponse.BatchResult>> cancelBatch(
+            @AuthenticationPrincipal UserPrincipal userPrincipal,
+            @RequestBody OrderRequest.OrderBatchRequest req
+    ) {
+        ResponseDto<OrderResponse.BatchResult> response = orderService.cancelBatch(userPrincipal, req);
+        return ResponseEntity.ok(response);
+    }
+
+    /** 주문 내보내기: USER(본인), MANAGER, ADMIN - 검색 조건 전체 결과를 CSV/NDJSON 으로 스트리밍 (주문 항목 단위 1행) */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export(
+            @AuthenticationPrincipal UserPrincipal userPrincipal,
+            @RequestParam(required = false)Long userId,
+            @RequestParam(required = false)OrderStatus status,
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)LocalDateTime from,
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)LocalDateTime to,
+            @RequestParam(defaultValue = "csv")String format
+    ) {
+        ExportFormat exportFormat = ExportFormat.from(format);
+        StreamingResponseBody body = orderService.export(userPrincipal, userId, status, from, to, exportFormat);
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"orders." + exportFormat.getExtension() + "\"")
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType() + ";charset=UTF-8"))
+                .body(body);
+    }
+
+    /** 주문 검색: USER(본인), MANAGER, ADMIN
+     *  - Cursor 기반 (createdAt desc, id desc): 첫 요청은 cursor 없이, 이후 응답의 nextCursor 를 전달 */
     @GetMapping
-    public ResponseEntity<ResponseDto<List<OrderResponse.Detail>>> search(
+    public ResponseEntity<ResponseDto<OrderResponse.SliceResponse>> search(
             @AuthenticationPrincipal UserPrincipal userPrincipal,
             @RequestParam(required = false)Long userId,
             @RequestParam(required = false)OrderStatus status,
             @RequestParam(required = false)
             @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)LocalDateTime from,
             @RequestParam(required = false)
-            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)LocalDateTime to
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)LocalDateTime to,
+            @RequestParam(required = false)String cursor,
+            @RequestParam(defaultValue = "20")int size
             ){
-        ResponseDto<List<OrderResponse.Detail>> response = orderService.search(userPrincipal, userId, status, from, to);
+        ResponseDto<OrderResponse.SliceResponse> response = orderService.search(userPrincipal, userId, status, from, to, cursor, size);
         return ResponseEntity.ok(response);
     }
 }
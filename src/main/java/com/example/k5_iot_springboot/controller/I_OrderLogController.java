@@ -1,4 +1,30 @@
 package com.example.k5_iot_springboot.controller;
 
+import com.example.k5_iot_springboot.common.constants.ApiMappingPattern;
+import com.example.k5_iot_springboot.dto.I_Order.response.OrderLogResponse;
+import com.example.k5_iot_springboot.dto.ResponseDto;
+import com.example.k5_iot_springboot.service.I_OrderLogService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/*
+ * 주문 로그 조회 (최신순, 페이지 단위)
+ */
+@RestController
+@RequestMapping(ApiMappingPattern.OrderLogs.ROOT)
+@RequiredArgsConstructor
 public class I_OrderLogController {
+    private final I_OrderLogService orderLogService;
+
+    /** 주문 로그 조회: orderId 지정 시 USER(본인 주문), MANAGER, ADMIN / 전체는 MANAGER, ADMIN */
+    @GetMapping
+    public ResponseEntity<ResponseDto<OrderLogResponse.SliceResponse>> getLogs(
+            @RequestParam(required = false) Long orderId,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        ResponseDto<OrderLogResponse.SliceResponse> response = orderLogService.getLogs(orderId, page, size);
+        return ResponseEntity.ok(response);
+    }
 }
@@ -1,4 +1,75 @@
 package com.example.k5_iot_springboot.controller;
 
+import com.example.k5_iot_springboot.common.constants.ApiMappingPattern;
+import com.example.k5_iot_springboot.dto.I_Order.response.OrderReportResponse;
+import com.example.k5_iot_springboot.dto.ResponseDto;
+import com.example.k5_iot_springboot.service.I_OrderReportService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/*
+ * 주문 리포트 (대시보드): 일별 매출 / 상태별 / 상품별 / 상위 N 상품 + 집계 백필
+ * - 날짜(from, to)는 KST 기준 yyyy-MM-dd, 양 끝 포함
+ */
+@RestController
+@RequestMapping(ApiMappingPattern.Reports.ROOT)
+@RequiredArgsConstructor
 public class I_OrderViewController {
+    private final I_OrderReportService reportService;
+
+    /** 일별 매출 (APPROVED): MANAGER, ADMIN */
+    @GetMapping(ApiMappingPattern.Reports.DAILY)
+    public ResponseEntity<ResponseDto<List<OrderReportResponse.DailySales>>> getDailySales(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+    ) {
+        ResponseDto<List<OrderReportResponse.DailySales>> response = reportService.getDailySales(from, to);
+        return ResponseEntity.ok(response);
+    }
+
+    /** 상태별 주문 집계: MANAGER, ADMIN */
+    @GetMapping(ApiMappingPattern.Reports.BY_STATUS)
+    public ResponseEntity<ResponseDto<List<OrderReportResponse.StatusSales>>> getStatusSales(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+    ) {
+        ResponseDto<List<OrderReportResponse.StatusSales>> response = reportService.getStatusSales(from, to);
+        return ResponseEntity.ok(response);
+    }
+
+    /** 상품별 매출 (APPROVED): MANAGER, ADMIN */
+    @GetMapping(ApiMappingPattern.Reports.BY_PRODUCT)
+    public ResponseEntity<ResponseDto<List<OrderReportResponse.ProductSales>>> getProductSales(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+    ) {
+        ResponseDto<List<OrderReportResponse.ProductSales>> response = reportService.getProductSales(from, to);
+        return ResponseEntity.ok(response);
+    }
+
+    /** 매출 상위 N 상품: MANAGER, ADMIN */
+    @GetMapping(ApiMappingPattern.Reports.TOP_PRODUCTS)
+    public ResponseEntity<ResponseDto<List<OrderReportResponse.ProductSales>>> getTopProducts(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "10") int limit
+    ) {
+        ResponseDto<List<OrderReportResponse.ProductSales>> response = reportService.getTopProducts(from, to, limit);
+        return ResponseEntity.ok(response);
+    }
+
+    /** 집계 백필 (과거 구간 재생성): ADMIN */
+    @PostMapping(ApiMappingPattern.Reports.BACKFILL)
+    public ResponseEntity<ResponseDto<OrderReportResponse.BackfillResult>> backfill(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+    ) {
+        ResponseDto<OrderReportResponse.BackfillResult> response = reportService.backfill(from, to);
+        return ResponseEntity.ok(response);
+    }
 }
@@ -0,0 +1,18 @@
+package com.example.k5_iot_springboot.dto.D_Comment.response;
+
+import java.util.List;
+
+/* 게시글 댓글 1페이지 응답 (id 오름차순 keyset 페이징) */
+public record CommentSliceResponseDto(
+        List<CommentResponseDto> content,
+        boolean hasNext,
+        Long nextCursor         // 다음 호출 시 cursor 로 전달 (마지막 댓글 id, 다음 페이지가 없으면 null)
+) {
+    // size + 1 건 조회 결과 -> 1페이지 응답 (초과분이 있으면 hasNext, 마지막 id 가 다음 cursor)
+    public static CommentSliceResponseDto of(List<CommentResponseDto> rows, int size) {
+        boolean hasNext = rows.size() > size;
+        List<CommentResponseDto> content = hasNext ? rows.subList(0, size) : rows;
+        Long nextCursor = hasNext ? content.get(content.size() - 1).id() : null;
+        return new CommentSliceResponseDto(content, hasNext, nextCursor);
+    }
+}
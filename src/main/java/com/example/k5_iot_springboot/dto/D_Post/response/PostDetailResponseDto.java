@@ -1,14 +1,12 @@
 package com.example.k5_iot_springboot.dto.D_Post.response;
 
 import com.example.k5_iot_springboot.dto.D_Comment.response.CommentResponseDto;
-import com.example.k5_iot_springboot.entity.D_Comment;
+import com.example.k5_iot_springboot.dto.D_Comment.response.CommentSliceResponseDto;
 import com.example.k5_iot_springboot.entity.D_Post;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonInclude;
 
-import java.util.Collections;
 import java.util.List;
-import java.util.Objects;
 
 
 @JsonIgnoreProperties(ignoreUnknown = true)
@@ -22,7 +20,10 @@ public record PostDetailResponseDto(
         String content,
         String author,
 
-        List<CommentResponseDto> comments
+        Integer commentCount,
+        List<CommentResponseDto> comments,      // 댓글 첫 페이지 (나머지는 GET /api/v1/posts/{postId}/comments?cursor=)
+        Boolean hasMoreComments,
+        Long nextCommentCursor
 
 ) {
     // 레코드도 클래스니까 메소드같은것도 정의 가능함
@@ -30,24 +31,36 @@ public record PostDetailResponseDto(
 
     // 정적 메서드 from
     // : D_Post 엔티티를 PostDetailResponseDto로 변환해주는 작업을 해줌
+    // - 댓글 컬렉션(post.getComments())은 건드리지 않음 >> LAZY 초기화로 전체 댓글이 로딩되는 것 방지
+    //      >> 댓글 제외 (생성/수정 응답), comments 등은 null 이라 응답에서 빠짐
     public static PostDetailResponseDto from (D_Post post) {
         if (post ==null) return null; // NullpointException 방지
 
-        // 댓글 엔티티 가져오기
-        List<D_Comment> comments
-                = post.getComments() != null ? post.getComments() : Collections.emptyList();
+        return new PostDetailResponseDto(
+                post.getId(),
+                post.getTitle(),
+                post.getContent(),
+                post.getAuthor(),
+                null,
+                null,
+                null,
+                null
+        );
+    }
 
-        List<CommentResponseDto> commentDtos = comments.stream()
-                .filter(Objects::nonNull)
-                .map(CommentResponseDto::from)
-                .toList();
+    // 단건 조회 - 댓글은 별도로 조회한 첫 페이지만 포함
+    public static PostDetailResponseDto from (D_Post post, CommentSliceResponseDto comments) {
+        if (post ==null) return null;
 
         return new PostDetailResponseDto(
                 post.getId(),
                 post.getTitle(),
                 post.getContent(),
                 post.getAuthor(),
-                commentDtos
+                post.getCommentCount(),
+                comments.content(),
+                comments.hasNext(),
+                comments.nextCursor()
         );
     }
 
@@ -27,12 +27,15 @@ public record PostListResponseDto(
         );
     }
 
-    public static PostListResponseDto from(D_PostRepository.PostListProjection p){
+    // 목록용 - preview 는 DB 에서 maxLen + 1 자까지만 잘라온 값 (maxLen 초과 시 ... 처리)
+    public static PostListResponseDto from(D_PostRepository.PostSummaryProjection p, int maxLen){
         if (p == null) return null;
+        String preview = p.getPreview();
+        if (preview != null && preview.length() > maxLen) preview = preview.substring(0, maxLen) + "...";
         return new PostListResponseDto(
                 p.getId(),
                 p.getTitle(),
-                p.getContent(),
+                preview,
                 p.getAuthor()
         );
     }
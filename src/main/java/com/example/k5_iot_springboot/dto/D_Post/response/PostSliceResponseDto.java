@@ -0,0 +1,10 @@
+package com.example.k5_iot_springboot.dto.D_Post.response;
+
+import java.util.List;
+
+/* 게시글 목록 1페이지 응답 (id 내림차순 keyset 페이징) */
+public record PostSliceResponseDto(
+        List<PostListResponseDto> content,
+        boolean hasNext,
+        Long nextCursor         // 다음 호출 시 cursor 로 전달 (마지막 게시글 id, 다음 페이지가 없으면 null)
+) {}
@@ -0,0 +1,10 @@
+package com.example.k5_iot_springboot.dto.G_Auth.request;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+
+public record RefreshTokenRequest(
+        @NotBlank @Size(max = 100)
+        String refreshToken
+) {
+}
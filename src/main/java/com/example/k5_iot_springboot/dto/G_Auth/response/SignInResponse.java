@@ -7,6 +7,8 @@ public record SignInResponse (
         String tokenType,                   // "Bearer"
         String accessToken,                 // JWT
         long expiresAt,                     // 만료시각(ms)
+        String refreshToken,                // 1회용 리프레시 토큰 (교환 시 새 토큰 발급)
+        long refreshExpiresAt,              // 리프레시 토큰 만료시각(ms)
         String username,                    // loginId
         Set<String> roles                   // ["ROLE_USER"]
 
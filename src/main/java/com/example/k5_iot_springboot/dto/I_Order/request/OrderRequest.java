@@ -42,4 +42,9 @@ public class OrderRequest {
             LocalDateTime from,
             LocalDateTime to
     ) {}
+
+    /** 주문 일괄 승인/취소 요청 DTO */
+    public record OrderBatchRequest(
+            List<Long> orderIds
+    ) {}
 }
@@ -0,0 +1,22 @@
+package com.example.k5_iot_springboot.dto.I_Order.response;
+
+import java.util.List;
+
+public class OrderLogResponse {
+
+    /** 주문 로그 1건 */
+    public record Item(
+            Long id,
+            Long orderId,
+            String message,
+            String createdAt        // KST 문자열
+    ) {}
+
+    /** 주문 로그 목록 (Slice - 전체 개수 count 쿼리 X) */
+    public record SliceResponse(
+            List<Item> content,
+            int page,
+            int size,
+            boolean hasNext
+    ) {}
+}
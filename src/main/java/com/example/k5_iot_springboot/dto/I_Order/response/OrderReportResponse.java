@@ -0,0 +1,44 @@
+package com.example.k5_iot_springboot.dto.I_Order.response;
+
+import com.example.k5_iot_springboot.common.enums.OrderStatus;
+
+import java.time.LocalDate;
+
+/*
+ * 주문 리포트 응답 DTO
+ * - 모든 날짜는 주문 생성 시각(KST) 기준 일자
+ * */
+public class OrderReportResponse {
+
+    /** 일별 매출 (APPROVED 주문 기준) */
+    public record DailySales(
+            LocalDate date,
+            Long orderCount,
+            Long totalAmount,
+            Long totalQuantity
+    ) {}
+
+    /** 상태별 주문 집계 */
+    public record StatusSales(
+            OrderStatus status,
+            Long orderCount,
+            Long totalAmount,
+            Long totalQuantity
+    ) {}
+
+    /** 상품별 매출 (APPROVED 주문 기준) */
+    public record ProductSales(
+            Long productId,
+            String productName,
+            Long quantity,
+            Long amount
+    ) {}
+
+    /** 백필 결과 */
+    public record BackfillResult(
+            LocalDate from,
+            LocalDate to,
+            int statusRows,         // 재생성된 일별-상태 집계 행 수
+            int productRows         // 재생성된 일별-상품 집계 행 수
+    ) {}
+}
@@ -11,7 +11,7 @@ public class OrderResponse {
             Long orderId,
             Long userId,
             OrderStatus status,
-            Integer totalAmount,
+            Long totalAmount,
             Integer totalQuantity,
             String createdAt,
             List<OrderItemList> items
@@ -25,4 +25,27 @@ public class OrderResponse {
             Integer quantity,
             Integer lineTotal       // 주문한 항목이 몇개인지를 계산
     ) {}
+
+    /** 주문 검색 응답 DTO (Cursor 기반) */
+    public record SliceResponse(
+            List<Detail> content,
+            boolean hasNext,
+            String nextCursor       // 다음 호출 시 cursor 로 전달 (마지막 주문의 createdAt + id, 다음 페이지가 없으면 null)
+    ) {}
+
+    /** 주문 일괄 처리 응답 DTO */
+    public record BatchResult(
+            int requested,
+            int succeeded,
+            int failed,
+            List<BatchItemResult> results
+    ) {}
+
+    /** 주문 일괄 처리 - 주문별 결과 */
+    public record BatchItemResult(
+            Long orderId,
+            boolean success,
+            OrderStatus status,     // 처리 후 상태 (주문이 없으면 null)
+            String message
+    ) {}
 }
@@ -45,6 +45,14 @@ public class D_Comment {
         return new D_Comment(content, commenter);
     }
 
+    // 게시글(프록시 가능)에 바로 연결해서 생성 - 연관관계 주인(comment.post)만 설정
+    // : post.comments 컬렉션을 건드리지 않음 >> 댓글 추가 시 게시글의 전체 댓글을 로딩하지 않음
+    public static D_Comment create(D_Post post, String content, String commenter) {
+        D_Comment comment = new D_Comment(content, commenter);
+        comment.post = post;
+        return comment;
+    }
+
     // 게시글 받아오기 -> public 설정 안해서 현재 패키지 내에서 접근 가능함
     // Post 에서만 댓글이 세팅되도록 가시성을 축소함(연관관계 일관성 유지)
     void setPost(D_Post post) {
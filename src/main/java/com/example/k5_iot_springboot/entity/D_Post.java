@@ -37,6 +37,12 @@ public class D_Post {
     @Column(nullable = false, length = 100)
     private String author;
 
+    @Comment("댓글 수 (댓글 생성/삭제 시 증분 반영)")
+    @Column(name = "comment_count", nullable = false, insertable = false, updatable = false)
+    // : 값은 DB 에서만 원자적으로 증감 (D_PostRepositoryCustom.increaseCommentCount)
+    // - insertable/updatable=false >> 엔티티 저장/dirty checking 이 증분 값을 덮어쓰지 않음 (기본값 0)
+    private int commentCount;
+
     @OneToMany (
             mappedBy = "post",
             // : 관계의 주인은 D_Comment.post 필드임을 지정함 -> 게시글과 댓글이 있을 때 주도권을 댓글이 가짐
@@ -17,7 +17,8 @@ import java.util.List;
         indexes = {
                 @Index(name = "idx_orders_user", columnList = "user_id"),
                 @Index(name = "idx_orders_status", columnList = "order_status"),
-                @Index(name = "idx_orders_created_at", columnList = "created_at")
+                @Index(name = "idx_orders_created_at", columnList = "created_at"),
+                @Index(name = "idx_orders_user_created_at", columnList = "user_id, created_at")
         })
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
@@ -39,6 +40,14 @@ public class I_Order extends BaseTimeEntity {
     private OrderStatus orderStatus = OrderStatus.PENDING;
 
 
+    // 주문 합계 (항목 추가/제거 시 증분 반영) - 목록/검색 응답에서 항목/상품 로딩 없이 바로 사용
+    // cf) OrderTotalsChecker 가 주기적으로 order_items(주문 시점 단가) 재집계 값과 비교
+    @Column(name = "total_amount", nullable = false)
+    private long totalAmount = 0L;
+
+    @Column(name = "total_quantity", nullable = false)
+    private int totalQuantity = 0;
+
     @OneToMany(mappedBy = "order", cascade = CascadeType.ALL, orphanRemoval = true)
     // I_Order (주문) 엔티티와 I_OrderItem (주문 상세) 엔티티 간 1:N 관계를 명시함
     // - mappedBy: 주인관계를 지정하는 역할을 함 -> 양방향 매핑에서 연관관계의 주인을 I_OrderItem (의 order) 으로 지정함 => "order"는 I_OrderItem 의 order 필드명을 가리킴
@@ -59,11 +68,19 @@ public class I_Order extends BaseTimeEntity {
     public void addItem(I_OrderItem item) {
         items.add(item);
         item.setOrder(this);
+        addTotals((long) item.getUnitPrice() * item.getQuantity(), item.getQuantity());
     }
 
     public void removeItem(I_OrderItem item) {
         items.remove(item);
         item.setOrder(null);
+        addTotals(-(long) item.getUnitPrice() * item.getQuantity(), -item.getQuantity());
+    }
+
+    // 합계 증분 반영 (JDBC batch 로 항목을 저장하는 경우 등 addItem 을 거치지 않을 때 직접 호출)
+    public void addTotals(long amount, int quantity){
+        this.totalAmount += amount;
+        this.totalQuantity += quantity;
     }
 
     public void setOrderStatus(OrderStatus orderStatus){
@@ -44,10 +44,15 @@ public class I_OrderItem extends BaseTimeEntity {
     @Min(1) @Column(nullable = false)
     private int quantity;
 
+    // 주문 시점 단가 스냅샷 - 이후 상품 가격이 바뀌어도 주문 금액/항목 금액은 그대로 유지
+    @Column(name = "unit_price", nullable = false)
+    private int unitPrice;
+
     @Builder
     public I_OrderItem(I_Product product, int quantity) {
          this.product = product;
          this.quantity = quantity;
+         this.unitPrice = product.getPrice();
     }
 
     void setOrder(I_Order order) {
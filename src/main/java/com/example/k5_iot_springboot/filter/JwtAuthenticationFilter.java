@@ -1,34 +1,31 @@
 package com.example.k5_iot_springboot.filter;
 
-import com.example.k5_iot_springboot.entity.G_User;
 import com.example.k5_iot_springboot.provider.JwtProvider;
-import com.example.k5_iot_springboot.repository.G_UserRepository;
+import com.example.k5_iot_springboot.provider.ParsedToken;
+import com.example.k5_iot_springboot.security.RoleChangeRegistry;
+import com.example.k5_iot_springboot.security.TokenRevocationList;
 import com.example.k5_iot_springboot.security.UserPrincipal;
+import com.example.k5_iot_springboot.security.UserPrincipalCache;
 import com.example.k5_iot_springboot.security.UserPrincipalMapper;
+import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.MediaType;
 import org.springframework.security.authentication.AbstractAuthenticationToken;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
-import java.util.Collection;
-import java.util.List;
-import java.util.Set;
-import java.util.stream.Collectors;
 
 /*
  * === JwtAuthenticationFilter ===
@@ -47,8 +44,14 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private static final String BEARER_PREFIX = JwtProvider.BEARER_PREFIX;
 
     private final JwtProvider jwtProvider; // 의존성 주입
-    private final G_UserRepository g_UserRepository;
+    private final UserPrincipalCache principalCache;
     private final UserPrincipalMapper principalMapper;
+    private final RoleChangeRegistry roleChangeRegistry;
+    private final TokenRevocationList tokenRevocationList;
+
+    /* true: 토큰 클레임(uid, roles)만으로 UserPrincipal 구성 - 권한 변경 전 발급 토큰만 DB 재조회 */
+    @Value("${jwt.stateless-principal:false}")
+    private boolean statelessPrincipal;
 
     /**
      * OncePerRequestFilter 내부 추상 메서드 - 반드시 구현
@@ -103,28 +106,35 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                 return;
             }
 
-            // 6) 토큰 유효성 검사(서명/만료 포함)
-            if (!jwtProvider.isValidToken(token)) {
+            // 6) 토큰 검증 + 파싱 1회 (서명/만료 포함) - 이후에는 ParsedToken 만 사용 (재검증/재파싱 X)
+            ParsedToken parsed;
+            try {
+                parsed = jwtProvider.parse(token);
+            } catch (JwtException | IllegalArgumentException e) {
                 unauthorized(response, "토큰이 유효하지 않거나 만료되었습니다."); // 토큰이 유효하지 않은 경우 - 시큐리티 설정 없이 로직 실행
                 return;
             }
+            // 로그아웃으로 폐기된 토큰 - 메모리 집합 조회 (DB 조회 X)
+            if (tokenRevocationList.isRevoked(parsed.id())) {
+                unauthorized(response, "폐기된 토큰입니다. 다시 로그인해주세요.");
+                return;
+            }
+            request.setAttribute(ParsedToken.REQUEST_ATTRIBUTE, parsed); // 다운스트림(컨트롤러/서비스)에서 재사용
 
             // 7) 사용자 식별자 & 권한 추출
-            String username = jwtProvider.getUsernameFromJwt(token);
-
-            // +) DB 재조회 - UserPrincipal 구성 (최신 권한/상태 반영)
-            G_User user = g_UserRepository.findByLoginId(username)
-                    .orElseThrow(() -> new UsernameNotFoundException("사용자를 찾을 수 없습니다."));
-
-            // Set<String> roles = jwtProvider.getRolesFromJwt(token);
-
-            // 8) 권한 문자열 - GrantedAuthority로 매핑 ("ROLE_" 접두어 보장)
-            // : 스프링 시큐리티가 이해하는 권한 타입으로 변환
-            // >> 권한명 앞에 "ROLE_" 접두사가 필요
-            // Collection<? extends GrantedAuthority> authorities = toAuthorities(roles);
-
-            // >> user 데이터의 최신 권한을 반영
-            UserPrincipal principal = principalMapper.map(user);
+            String username = parsed.subject();
+
+            UserPrincipal principal;
+            if (statelessPrincipal && !roleChangeRegistry.isStale(parsed.userId(), parsed.issuedAt())) {
+                // 8-a) 클레임만으로 UserPrincipal 구성 (DB 조회 X)
+                // : 발급 이후 권한 변경이 없었던 토큰 - roles 클레임이 곧 최신 권한
+                principal = principalMapper.map(parsed);
+            } else {
+                // 8-b) 사용자 조회 - UserPrincipal 구성 (최신 권한/상태 반영)
+                // : 권한 변경 이전에 발급된 토큰 / uid 가 없는 구 토큰 / stateless 모드 비활성화
+                // >> 공유 캐시 경유 - 변경 이벤트로 제거된 경우에만 DB 재조회
+                principal = principalCache.load(username);
+            }
 
             // 9) SecurityContext에 인증 저장
             // : 인증 객체를 만들고 SecurityContext에 저장
@@ -173,22 +183,6 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         SecurityContextHolder.setContext(context);
     }
 
-    /** USER/ADMIN -> "ROLE_USER"/"ROLE_ADMIN" 으로 매핑 */
-    private List<GrantedAuthority> toAuthorities(Set<String> roles) {
-        if (roles == null || roles.isEmpty()) return List.of(); // 권한이 없으면 빈 배열 반환
-        return roles.stream()
-                .map(role -> role.startsWith("ROLE_") ? role : "ROLE_" + role)
-                .map(SimpleGrantedAuthority::new)
-                // : 시큐리티가 이해할 수 잇는 타입으로 변환
-                .collect(Collectors.toList());
-
-        // cf) "ROLE_" 첨부 이유
-        // 스프링 시큐리티의 기본 hasRole("권한")은 내부적으로 ROLE_가 첨부된 권한 문자열을 찾음
-        // - 접두사를 강제해두면 애플리케이션 전반에서 일관성 유지 가능
-
-        // +) hasAuthority("권한")는 명시된 문자열 그대로 권한을 확인
-    }
-
     /** 401 응답 헬퍼(JSON) */
     private void unauthorized(HttpServletResponse response, String message) throws IOException {
         // HTTP 상태코드, 문자 인코딩 설정, 응답 본문 형식, JSON 문자열의 응답 본문을 정의 & 기록
@@ -0,0 +1,187 @@
+package com.example.k5_iot_springboot.filter;
+
+import com.example.k5_iot_springboot.common.utils.KeyedRateLimiter;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+/*
+ * === SignInRateLimitFilter ===
+ * : 인증 엔드포인트(/api/v1/auth/**) 요청 제한 - 크리덴셜 스터핑 / BCrypt CPU 증폭 방어
+ * - IP 별 버킷: /api/v1/auth/** 의 모든 POST
+ * - loginId 별 버킷: 로그인(/sign-in) 요청 본문의 loginId (여러 IP 에서 한 계정을 노리는 경우)
+ * - 초과 시 JSON 429 즉시 응답 (사용자 조회 / BCrypt 전에 차단)
+ * - 로그인 요청 본문이 MAX_BODY_BYTES 를 넘으면 JSON 413 응답 (잘린 본문을 컨트롤러로 넘기지 않음)
+ *
+ * # 주의 #
+ * - 경로는 디코딩/정규화된 servletPath 로 비교 (getRequestURI 는 원문 - /api/v1/%61uth/sign-in 등으로 우회 가능)
+ * - IP 는 request.getRemoteAddr() (프록시 뒤라면 server.forward-headers-strategy 설정 필요)
+ * - 버킷은 인스턴스 메모리에만 존재 >> 인스턴스 수만큼 한도가 늘어남
+ * */
+@Component
+public class SignInRateLimitFilter extends OncePerRequestFilter {
+    private static final String AUTH_PATH_PREFIX = "/api/v1/auth/";
+    private static final String SIGN_IN_PATH = "/api/v1/auth/sign-in";
+    private static final int MAX_BODY_BYTES = 4096; // 로그인 요청 본문 상한 (초과 시 413)
+
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final KeyedRateLimiter ipLimiter;
+    private final KeyedRateLimiter loginIdLimiter;
+
+    public SignInRateLimitFilter(
+            ObjectMapper objectMapper,
+            @Value("${security.sign-in-limit.enabled:true}") boolean enabled,
+            @Value("${security.sign-in-limit.ip.capacity:20}") int ipCapacity,
+            @Value("${security.sign-in-limit.ip.per-minute:20}") int ipPerMinute,
+            @Value("${security.sign-in-limit.login-id.capacity:5}") int loginIdCapacity,
+            @Value("${security.sign-in-limit.login-id.per-minute:5}") int loginIdPerMinute,
+            @Value("${security.sign-in-limit.max-keys:100000}") int maxKeys
+    ) {
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.ipLimiter = new KeyedRateLimiter(ipCapacity, ipPerMinute, maxKeys);
+        this.loginIdLimiter = new KeyedRateLimiter(loginIdCapacity, loginIdPerMinute, maxKeys);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled
+                || !HttpMethod.POST.matches(request.getMethod())
+                || !pathOf(request).startsWith(AUTH_PATH_PREFIX);
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain
+    ) throws ServletException, IOException {
+        // 1) IP 별 제한
+        long waitMs = ipLimiter.tryAcquire(request.getRemoteAddr());
+        if (waitMs > 0) {
+            tooManyRequests(response, waitMs);
+            return;
+        }
+
+        // 2) 로그인 요청이면 loginId 별 제한 (본문을 읽었으므로 다시 읽을 수 있도록 감싸서 전달)
+        if (SIGN_IN_PATH.equals(pathOf(request))) {
+            // 선언된 길이로 먼저 거르고, 없거나(chunked) 틀린 경우 실제로 읽은 길이로 한 번 더 확인
+            if (request.getContentLengthLong() > MAX_BODY_BYTES) {
+                payloadTooLarge(response);
+                return;
+            }
+            byte[] body = request.getInputStream().readNBytes(MAX_BODY_BYTES + 1);
+            if (body.length > MAX_BODY_BYTES) {
+                payloadTooLarge(response);
+                return;
+            }
+
+            String loginId = extractLoginId(body);
+
+            if (loginId != null) {
+                waitMs = loginIdLimiter.tryAcquire(loginId);
+                if (waitMs > 0) {
+                    tooManyRequests(response, waitMs);
+                    return;
+                }
+            }
+            request = new CachedBodyRequest(request, body);
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    // 컨텍스트 경로를 제외한 디코딩/정규화 경로 (컨트롤러 매핑과 같은 기준)
+    private static String pathOf(HttpServletRequest request) {
+        String pathInfo = request.getPathInfo();
+        return (pathInfo == null) ? request.getServletPath() : request.getServletPath() + pathInfo;
+    }
+
+    // 본문 JSON 의 loginId (대소문자/공백 정규화) - 형식이 잘못되면 null (검증은 컨트롤러에서)
+    private String extractLoginId(byte[] body) {
+        try {
+            JsonNode node = objectMapper.readTree(body).get("loginId");
+            if (node == null || !node.isTextual() || node.asText().isBlank()) return null;
+            return node.asText().trim().toLowerCase(Locale.ROOT);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /** 429 응답 헬퍼(JSON) */
+    private void tooManyRequests(HttpServletResponse response, long waitMs) throws IOException {
+        response.setStatus(429);
+        response.setHeader("Retry-After", String.valueOf(Math.max(1, (waitMs + 999) / 1000)));
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getWriter().write("""
+                {"result": "fail","message":"요청이 너무 많습니다. 잠시 후 다시 시도해주세요."}
+                """);
+    }
+
+    /** 413 응답 헬퍼(JSON) */
+    private void payloadTooLarge(HttpServletResponse response) throws IOException {
+        response.setStatus(HttpServletResponse.SC_REQUEST_ENTITY_TOO_LARGE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getWriter().write("""
+                {"result": "fail","message":"요청 본문이 너무 큽니다."}
+                """);
+    }
+
+    /* 이미 읽은 본문을 다시 제공하는 요청 래퍼 */
+    private static class CachedBodyRequest extends HttpServletRequestWrapper {
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override public boolean isFinished() { return in.available() == 0; }
+                @Override public boolean isReady() { return true; }
+                @Override public void setReadListener(ReadListener listener) { throw new UnsupportedOperationException(); }
+                @Override public int read() { return in.read(); }
+                @Override public int read(byte[] b, int off, int len) { return in.read(b, off, len); }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            return new BufferedReader(new InputStreamReader(getInputStream(), StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public int getContentLength() {
+            return body.length;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return body.length;
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.example.k5_iot_springboot.handler;
 
 import com.example.k5_iot_springboot.common.enums.ErrorCode;
+import com.example.k5_iot_springboot.common.errors.DuplicateFieldException;
 import com.example.k5_iot_springboot.common.errors.ErrorResponse;
 import com.example.k5_iot_springboot.common.errors.FieldErrorItem;
 import com.example.k5_iot_springboot.dto.ResponseDto;
@@ -17,7 +18,9 @@ import org.springframework.web.bind.annotation.RestControllerAdvice;
 import java.nio.file.AccessDeniedException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.RejectedExecutionException;
 
 // 보안 설정상의 예외를 처리할 수 없음
 
@@ -40,6 +43,13 @@ import java.util.Objects;
 // 로그 기록을 함에 있어서 다양한 형식의 틀을 제공함
 
 public class GlobalExceptionHandler {
+    // 유니크 제약명 -> 요청 필드명
+    private static final Map<String, String> UNIQUE_CONSTRAINT_FIELDS = Map.of(
+            "uk_users_login_id", "loginId",
+            "uk_users_email", "email",
+            "uk_users_nickname", "nickname"
+    );
+
     // == 공통 응답 생성 유틸 == //
     private ResponseEntity<ResponseDto<Object>> fail(
             ErrorCode code, String reason, List<FieldErrorItem> errors
@@ -115,11 +125,40 @@ public class GlobalExceptionHandler {
         return fail(ErrorCode.NOT_FOUND, null, null);
     }
 
+    // === 409 Conflict: 사전 중복 검사 실패 (충돌 필드명을 그대로 사용) === //
+    @ExceptionHandler(DuplicateFieldException.class)
+    public ResponseEntity<ResponseDto<Object>> handleDuplicateField(DuplicateFieldException e) {
+        log.warn("Conflict: {}", e.getMessage());
+        List<FieldErrorItem> errors = e.getFields().stream()
+                .map(field -> new FieldErrorItem(field, null, "이미 사용 중인 값입니다."))
+                .toList();
+        return fail(ErrorCode.CONFLICT, null, errors);
+    }
+
     // === 409 Conflict: 무결성 위반(중복/제약조건) === //
     @ExceptionHandler(DataIntegrityViolationException.class) //unique 키 충돌, FK 위반 등
     public ResponseEntity<ResponseDto<Object>> handleConflict(DataIntegrityViolationException e) {
         log.warn("Conflict: {}" , e.getMessage());
-        return fail(ErrorCode.CONFLICT, null, null);
+        List<FieldErrorItem> errors = toUniqueFieldErrors(e);
+        return fail(ErrorCode.CONFLICT, null, errors.isEmpty() ? null : errors);
+    }
+
+    // == 유니크 제약명 -> 필드 오류 변환 (실제 DB 제약 위반 - 메시지에 제약명이 포함된 경우만) == //
+    // EX) MySQL: Duplicate entry 'a@a.com' for key 'users.uk_users_email'
+    private List<FieldErrorItem> toUniqueFieldErrors(DataIntegrityViolationException e) {
+        String message = Objects.toString(e.getMostSpecificCause().getMessage(), "");
+        List<FieldErrorItem> list = new ArrayList<>();
+        UNIQUE_CONSTRAINT_FIELDS.forEach((constraint, field) -> {
+            if (message.contains(constraint)) list.add(new FieldErrorItem(field, null, "이미 사용 중인 값입니다."));
+        });
+        return list;
+    }
+
+    // === 429 Too Many Requests: 전용 작업 풀 포화 (BCrypt 등) === //
+    @ExceptionHandler(RejectedExecutionException.class)
+    public ResponseEntity<ResponseDto<Object>> handleTooManyRequests(RejectedExecutionException e) {
+        log.warn("Too Many Requests: {}", e.getMessage());
+        return fail(ErrorCode.TOO_MANY_REQUESTS, e.getMessage(), null);
     }
 
     // === 500 Internal Server Error: 그 밖의 모든 예외에 대한 최종 안정망 === //
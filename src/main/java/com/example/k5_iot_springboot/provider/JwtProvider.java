@@ -36,25 +36,36 @@ package com.example.k5_iot_springboot.provider;
 *       토큰을 전달 할 때마다 실행해야함
 *
 *   3) 토큰 검증/파싱                                  -> parseClaimsInternal
-*
+*       - 요청마다 1회만 검증/파싱: parse() >> ParsedToken (subject, roles, jti, iat, exp)
 *
 *   4) payload 에 저장된 데이터 추출 (username, roles)  -> getUsernameFromJwt, getRolesFromJwt
 *
 *   5) 만료까지 남은 시간 계산                          -> getRemainingMillis
+*
+*       - 검증에 성공한 결과는 VerifiedTokenCache 에 보관 (exp + clock-skew 까지)
+*           >> 같은 토큰의 재요청은 digest 조회만으로 처리
+*       - 캐시 hit/miss/size 는 jwt.cache.stats-log-interval-ms 마다 로그로 출력 (logCacheStats)
+*
+*   cf) 3) ~ 5) 의 개별 메서드는 호출할 때마다 검증/파싱을 반복함
+*       >> 같은 토큰에서 여러 값을 꺼내야 하면 parse() 결과(ParsedToken)를 사용
 * */
 
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.util.*;
+import java.util.function.Predicate;
 
 @Component
 // cf)  @Component(클래스 레벨 선언) -> 스프링 런타임 시 컴포넌트 스캔을 통해 자동으로 빈을 찾고 등록함 (의존성 주입)
 //      @Bean(메서드 레벨 선언) -> 반환되는 객체를 개발자가 수동으로 빈 등록해야함
+@Slf4j
 public class JwtProvider {
     // ==== 상수 필드 선언 ==== //
 
@@ -63,6 +74,7 @@ public class JwtProvider {
 
     /* 커스텀 클레임 키 */
     public static final String CLAIM_ROLES = "roles";
+    public static final String CLAIM_USER_ID = "uid";
 
 
     /* 서명용 비밀키, 액세스 토큰 만료시간(ms), 만료 직후 허용할 시계 오차(s) => application.properties에 선언함 */
@@ -75,6 +87,9 @@ public class JwtProvider {
     // 검증 / 파싱 파서 : 파서를 생성자에서 1회 구성하여 재사용할거임 -> 성능/일관성 보장됨 (JJWT의 파서 객체)
     private final JwtParser parser;
 
+    /* 검증 완료 토큰 캐시 (jwt.cache.enabled=false 이면 null) */
+    private final VerifiedTokenCache verifiedTokenCache;
+
 
 
     // === 생성자: 환경 변수로부터 설정을 주입 + 파서 준비 === //
@@ -84,7 +99,9 @@ public class JwtProvider {
             //          >> 데이터 타입을 자동 인식함
             @Value("${jwt.secert}") String secret,                      // cf) Base64 인코딩된 비밀키 문자열이어야한다는 전제조건이 붙음
             @Value("${jwt.expiration}") long jwtExpirationMs,
-            @Value("${jwt.clock-skew-seconds:0}") int clockSkewSeconds  // 기본값 = 0 - 옵션
+            @Value("${jwt.clock-skew-seconds:0}") int clockSkewSeconds, // 기본값 = 0 - 옵션
+            @Value("${jwt.cache.enabled:true}") boolean cacheEnabled,
+            @Value("${jwt.cache.max-size:10000}") int cacheMaxSize
     ) {
 
         // 키 강도 검증(Base64 디코딩 후 256비트 이상 권장)
@@ -103,6 +120,8 @@ public class JwtProvider {
         this.parser = Jwts.parser()
                 .verifyWith(this.key)                           // 해당 키로 서명 검증을 수행하는 파서(이후 파싱마다 반복 설정을 할 필요가 없음)
                 .build();
+
+        this.verifiedTokenCache = cacheEnabled ? new VerifiedTokenCache(cacheMaxSize, this.clockSkewSeconds) : null;
     }
 
     /*
@@ -111,12 +130,13 @@ public class JwtProvider {
 
     /*
      * 액세스 토큰 생성
+     * @Param userId        uid 에 저장할 사용자 PK (클레임만으로 UserPrincipal 구성 시 사용)
      * @Param username      sub(Subject) 에 저장할 사용자 식별자
      * @Param roles         권한 목록(중복 제거용 Set 권장) -> JSON은 Set을 인식하지 못함. 그래서 JSON 배열로 직렬화를 시켜야함
      *
      * subject=sub(username), roles는 커스텀 클레임 사용
      * */
-    public String generateJwtToken(String username, Set<String> roles) {
+    public String generateJwtToken(Long userId, String username, Set<String> roles) {
         long now = System.currentTimeMillis(); // 토큰이 생성되는 시간을 측정
         Date iat = new Date(now);
         Date exp = new Date(now + jwtExpirationMs);
@@ -130,6 +150,8 @@ public class JwtProvider {
         return Jwts.builder()
                 // 표준 클레임 sub(Subject)에 사용자 아이디 (또는 고유 식별자) 설정
                 .setSubject(username)                       // payload 저장
+                .setId(UUID.randomUUID().toString())        // jti: 토큰 고유 ID (토큰 단위 식별/폐기용)
+                .claim(CLAIM_USER_ID, userId)               // 커스텀 클레임: 사용자 PK
                 .claim(CLAIM_ROLES, roleList)               // 커스텀 클레임 키에 권한 목록 저장(payload 내용임)
                 .setIssuedAt(iat)                           // 표준 클레임의 현재 시간 설정 (발행 시간)
                 .setExpiration(exp)                         // 현재시간에 만료시간을 더한 설정 (만료시간)
@@ -198,6 +220,57 @@ public class JwtProvider {
 
     }
 
+    /*  검증 + 파싱 1회 - 서명/만료(clock-skew 허용) 검증 후 불변 ParsedToken 반환
+    *   @throws JwtException             서명 불일치, 변조, 포맷 이상, 만료(허용오차 초과)
+    *   @throws IllegalArgumentException 빈 토큰
+    * */
+    public ParsedToken parse(String tokenWithoutBearer) {
+        if (verifiedTokenCache == null) return parseAndVerify(tokenWithoutBearer);
+
+        ParsedToken cached = verifiedTokenCache.get(tokenWithoutBearer);
+        if (cached != null) return cached;
+
+        ParsedToken parsed = parseAndVerify(tokenWithoutBearer);
+        verifiedTokenCache.put(tokenWithoutBearer, parsed);
+        return parsed;
+    }
+
+    /* 캐시 무효화 - 토큰 폐기(로그아웃 등) 시 호출 */
+    public void invalidate(String tokenWithoutBearer) {
+        if (verifiedTokenCache != null) verifiedTokenCache.invalidate(tokenWithoutBearer);
+    }
+
+    /* 캐시 무효화 - 조건에 맞는 토큰 일괄 (ex. 특정 사용자의 모든 토큰) */
+    public void invalidateIf(Predicate<ParsedToken> predicate) {
+        if (verifiedTokenCache != null) verifiedTokenCache.invalidateIf(predicate);
+    }
+
+    /* 캐시 통계 (hit/miss/size) - 비활성화 시 null */
+    public VerifiedTokenCache.Stats getCacheStats() {
+        return verifiedTokenCache != null ? verifiedTokenCache.stats() : null;
+    }
+
+    /* 캐시 통계 주기 출력 (누적값) */
+    @Scheduled(fixedDelayString = "${jwt.cache.stats-log-interval-ms:60000}", initialDelayString = "${jwt.cache.stats-log-interval-ms:60000}")
+    public void logCacheStats() {
+        VerifiedTokenCache.Stats stats = getCacheStats();
+        if (stats == null) return;
+        log.info("Verified token cache: hits={}, misses={}, hitRate={}, size={}",
+                stats.hits(), stats.misses(), String.format("%.3f", stats.hitRate()), stats.size());
+    }
+
+    private ParsedToken parseAndVerify(String tokenWithoutBearer) {
+        Claims c = parseClaimsInternal(tokenWithoutBearer, true);
+        return new ParsedToken(
+                c.getSubject(),
+                c.get(CLAIM_USER_ID) instanceof Number n ? n.longValue() : null,
+                toRoleSet(c.get(CLAIM_ROLES)),
+                c.getId(),
+                c.getIssuedAt() != null ? c.getIssuedAt().toInstant() : null,
+                c.getExpiration().toInstant()
+        );
+    }
+
     /*  토큰 유효성 검사(서명/만료 포함)
     *   clock-skew 허용 적용
     *
@@ -235,11 +308,14 @@ public class JwtProvider {
     /* roles >> Set<String> 변환 작업
     *  List여도, Set이어도 변환 가능하게 만듬
     * */
-    @SuppressWarnings("unchecked") //제네릭 캐스팅 경고 억제 (런타임 타입 확인으로 보완)
     public Set<String> getRolesFromJwt(String tokenWithoutBearer) {
+        return toRoleSet(getClaims(tokenWithoutBearer).get(CLAIM_ROLES));
+    }
+
+    @SuppressWarnings("unchecked") //제네릭 캐스팅 경고 억제 (런타임 타입 확인으로 보완)
+    private Set<String> toRoleSet(Object raw) {
         // get("roles")로 커스텀 클레임을 가져오면, JSON 파싱 결과가 List로 반환이 일반적임
         //          >> 문자열 집합(Set<String>) 으로 표준화해서 반환함
-        Object raw = getClaims(tokenWithoutBearer).get(CLAIM_ROLES); // 보통은 List로 나오는게 일반적임
         if (raw == null) return Set.of(); // 권한 없음
 
         if (raw instanceof List<?> list) {
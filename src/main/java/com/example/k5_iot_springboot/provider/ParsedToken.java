@@ -0,0 +1,37 @@
+package com.example.k5_iot_springboot.provider;
+
+import java.time.Instant;
+import java.util.Set;
+
+/**
+ * 검증이 끝난 JWT 의 파싱 결과 (불변)
+ * : JwtProvider.parse() 에서 서명 검증 + 파싱을 1회만 수행하고, 이후에는 이 객체만 사용
+ *      >> 같은 토큰을 여러 번 검증/파싱(HMAC + JSON) 하지 않음
+ *
+ * @param subject   sub - 사용자 식별자 (loginId)
+ * @param userId    uid - 사용자 PK (구 토큰은 null)
+ * @param roles     roles 커스텀 클레임 ("ROLE_" 접두사 포함 여부는 발급 시점 그대로)
+ * @param id        jti - 토큰 고유 ID (구 토큰은 null)
+ * @param issuedAt  iat
+ * @param expiresAt exp
+ */
+public record ParsedToken(
+        String subject,
+        Long userId,
+        Set<String> roles,
+        String id,
+        Instant issuedAt,
+        Instant expiresAt
+) {
+    /** 요청 속성 키 - 필터에서 저장, 이후 컨트롤러/서비스에서 재사용 */
+    public static final String REQUEST_ATTRIBUTE = ParsedToken.class.getName();
+
+    public ParsedToken {
+        roles = (roles == null) ? Set.of() : Set.copyOf(roles);
+    }
+
+    /** 만료까지 남은 시간(ms) - 음수면 이미 만료 (clock-skew 구간) */
+    public long remainingMillis() {
+        return expiresAt.toEpochMilli() - System.currentTimeMillis();
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.k5_iot_springboot.provider;
+
+import com.example.k5_iot_springboot.common.utils.TtlCache;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+
+/*
+ * === VerifiedTokenCache ===
+ * : 서명/만료 검증을 통과한 토큰의 파싱 결과(ParsedToken) 캐시
+ * - 클라이언트는 같은 액세스 토큰으로 수백 번 요청 >> 매번 HMAC 검증 + JSON 디코딩 반복 X
+ * - key = 토큰 문자열의 SHA-256 digest (원문 토큰을 메모리에 보관하지 않음)
+ * - 항목 만료 시각 = exp + clock-skew (검증 시 허용 범위와 동일) >> 만료된 토큰은 캐시에서도 사라짐
+ * - 최대 크기 초과 시 만료 임박 순으로 제거 (TtlCache)
+ *
+ * # 주의 #
+ * - 검증에 성공한 토큰만 저장 (실패 결과는 캐시하지 않음)
+ * - 토큰 폐기 시 invalidate / invalidateIf 로 즉시 제거해야 함
+ * */
+public class VerifiedTokenCache {
+    private final TtlCache<String, ParsedToken> cache;
+    private final long clockSkewMillis;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /* 캐시 통계 */
+    public record Stats(long hits, long misses, int size) {
+        public double hitRate() {
+            long total = hits + misses;
+            return total == 0 ? 0.0 : (double) hits / total;
+        }
+    }
+
+    public VerifiedTokenCache(int maxSize, int clockSkewSeconds) {
+        // 기본 TTL 은 사용하지 않음 (항목마다 exp 기준 TTL 지정)
+        this.cache = new TtlCache<>(maxSize, Duration.ZERO);
+        this.clockSkewMillis = clockSkewSeconds * 1000L;
+    }
+
+    public ParsedToken get(String token) {
+        ParsedToken parsed = cache.get(digest(token));
+        if (parsed == null) misses.increment();
+        else hits.increment();
+        return parsed;
+    }
+
+    public void put(String token, ParsedToken parsed) {
+        long ttlMillis = parsed.expiresAt().toEpochMilli() + clockSkewMillis - System.currentTimeMillis();
+        cache.put(digest(token), parsed, Duration.ofMillis(ttlMillis)); // ttl <= 0 이면 저장하지 않음
+    }
+
+    public void invalidate(String token) {
+        cache.invalidate(digest(token));
+    }
+
+    // 조건에 맞는 토큰 일괄 제거 (ex. 특정 사용자의 모든 토큰)
+    public void invalidateIf(Predicate<ParsedToken> predicate) {
+        cache.invalidateIf((key, parsed) -> predicate.test(parsed));
+    }
+
+    public void clear() {
+        cache.clear();
+    }
+
+    public Stats stats() {
+        return new Stats(hits.sum(), misses.sum(), cache.size());
+    }
+
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 을 사용할 수 없습니다.", e); // JDK 기본 제공 - 발생하지 않음
+        }
+    }
+}
@@ -1,9 +1,33 @@
 package com.example.k5_iot_springboot.repository;
 
+import com.example.k5_iot_springboot.dto.D_Comment.response.CommentResponseDto;
 import com.example.k5_iot_springboot.entity.D_Comment;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
 public interface D_CommentRepository extends JpaRepository<D_Comment, Long> {
+
+    // 게시글 댓글 목록 - id 오름차순 keyset 페이징 (limit 은 Pageable 의 size)
+    // : 엔티티가 아닌 DTO 로 바로 조회 >> 영속성 컨텍스트에 댓글 엔티티 적재 X
+    // - c.post.id 는 FK 컬럼(post_id) 그대로 사용 (posts 조인 X)
+    // - idx_comment_post_id (post_id, +PK id) 인덱스 range scan, cursorId 가 null 이면 첫 페이지
+    @Query("""
+        select new com.example.k5_iot_springboot.dto.D_Comment.response.CommentResponseDto(
+            c.id, c.post.id, c.content, c.commenter)
+        from D_Comment c
+        where c.post.id = :postId
+            and (:cursorId is null or c.id > :cursorId)
+        order by c.id asc
+""")
+    List<CommentResponseDto> findPageByPostId(
+            @Param("postId") Long postId,
+            @Param("cursorId") Long cursorId,
+            Pageable pageable
+    );
 }
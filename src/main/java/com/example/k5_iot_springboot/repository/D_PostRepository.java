@@ -7,7 +7,6 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
-import java.util.Optional;
 
 /*
 * Post 와 Comment의 관계가 1:N 의 관계
@@ -41,25 +40,99 @@ import java.util.Optional;
 
 
 @Repository
-public interface D_PostRepository extends JpaRepository<D_Post, Long> {
-    // 게시글 조회 + 댓글까지 즉시 로딩
+public interface D_PostRepository extends JpaRepository<D_Post, Long>, D_PostRepositoryCustom {
+    // cf) 단건 조회는 findById + 댓글 keyset 페이지 조회 (D_CommentRepository.findPageByPostId)
+    //  : left join fetch p.comments 는 댓글 수만큼 전부 메모리에 적재되므로 사용하지 않음
+
+    /** 가장 큰 게시글 ID (게시글이 없으면 0) - 구간 단위 일괄 작업용 */
+    @Query("select coalesce(max(p.id), 0) from D_Post p")
+    long findMaxId();
+
+    // 목록 조회(댓글 제외) - id 내림차순 keyset 페이징
+    // : content(LONGTEXT) 전체 대신 앞부분만 잘라서 조회 >> 본문 크기/전체 게시글 수와 무관한 비용
+    // - cursorId 가 null 이면 첫 페이지, 아니면 해당 id 보다 작은 게시글부터 (PK 인덱스 range scan)
+    public interface PostSummaryProjection {
+        Long getId();
+        String getTitle();
+        String getAuthor();
+        String getPreview(); // SUBSTRING(content, 1, previewLength)
+    }
 
-    // 댓글까지 즉시 로딩
-    @Query("""
-        select distinct p
-        from D_Post p
-            left join fetch p.comments c
-        where p.id = :id
-""")
-    Optional<D_Post> findByIdWithComments(@Param("id") Long id);
+    @Query(value = """
+        select
+            p.id                                    as id,
+            p.title                                 as title,
+            p.author                                as author,
+            substring(p.content, 1, :previewLength) as preview
+        from posts p
+        where (:cursorId is null or p.id < :cursorId)
+        order by p.id desc
+        limit :limit
+""", nativeQuery = true)
+    List<PostSummaryProjection> findSummariesBefore(
+            @Param("cursorId") Long cursorId,
+            @Param("previewLength") int previewLength,
+            @Param("limit") int limit
+    );
 
-    // 전체 조회(댓글 제외)
-    @Query("""
-        select p
-        from D_Post p
-            order by p.id desc
-""")
-    List<D_Post> findAllOrderByIdDesc();
+    // 검색 색인(PostSearchIndex) 결과 id 목록 -> 목록 응답 (PK IN 조회)
+    @Query(value = """
+        select
+            p.id                                    as id,
+            p.title                                 as title,
+            p.author                                as author,
+            substring(p.content, 1, :previewLength) as preview
+        from posts p
+        where p.id in (:ids)
+        order by p.id desc
+""", nativeQuery = true)
+    List<PostSummaryProjection> findSummariesByIds(
+            @Param("ids") List<Long> ids,
+            @Param("previewLength") int previewLength
+    );
+
+    // 검색 색인 비활성화/구성 전 대체 경로 - 제목 LIKE 검색 (id 내림차순 keyset 페이징)
+    @Query(value = """
+        select
+            p.id                                    as id,
+            p.title                                 as title,
+            p.author                                as author,
+            substring(p.content, 1, :previewLength) as preview
+        from posts p
+        where p.title like concat('%', :keyword, '%')
+            and (:cursorId is null or p.id < :cursorId)
+        order by p.id desc
+        limit :limit
+""", nativeQuery = true)
+    List<PostSummaryProjection> findSummariesByTitleKeyword(
+            @Param("keyword") String keyword,
+            @Param("cursorId") Long cursorId,
+            @Param("previewLength") int previewLength,
+            @Param("limit") int limit
+    );
+
+    // 검색 색인 비활성화/구성 전 대체 경로 - 댓글 LIKE 검색 (GROUP BY 대신 EXISTS)
+    @Query(value = """
+        select
+            p.id                                    as id,
+            p.title                                 as title,
+            p.author                                as author,
+            substring(p.content, 1, :previewLength) as preview
+        from posts p
+        where exists (
+                select 1 from comments c
+                where c.post_id = p.id
+                    and c.content like concat('%', :keyword, '%'))
+            and (:cursorId is null or p.id < :cursorId)
+        order by p.id desc
+        limit :limit
+""", nativeQuery = true)
+    List<PostSummaryProjection> findSummariesByCommentKeyword(
+            @Param("keyword") String keyword,
+            @Param("cursorId") Long cursorId,
+            @Param("previewLength") int previewLength,
+            @Param("limit") int limit
+    );
 
 
     // === 1. 쿼리 메서드 === //
@@ -69,7 +142,6 @@ public interface D_PostRepository extends JpaRepository<D_Post, Long> {
     // EX2) findByTitleLikeIgnoreCaseOrderByIdDesc => where lower(title) like lower(?) + order by id desc
 
     List<D_Post> findByAuthorOrderByIdDesc(String author);
-    List<D_Post> findByTitleContainingIgnoreCaseOrderByIdDesc(String keyword);
 
     // 8) 댓글이 가장 많은 상위 N개
     //  : 쿼리 메서드만으로는 집계/정렬이 불가능함 -> JPQL 또는 Native Query 사용
@@ -111,43 +183,19 @@ public interface D_PostRepository extends JpaRepository<D_Post, Long> {
     """, nativeQuery = true)
     List<D_Post> findByAuthorOrderByIdDesc_Native(@Param("author") String author);
 
-    // 7) 제목 검색 조회 (JPQL & Native SQL) //
-    /*
-    * SELECT * FROM posts
-    * WHERE
-    *   title LIKE %keyword%
-    * ORDER BY
-    *   id DESC;
-    * */
-
-    @Query("""
-        select P
-        from D_Post P
-        where lower(P.title) like lower(concat('%', :keyword, '%'))
-        order by P.id desc
-    """)
-    List<D_Post> searchByTitleKeyword_Jpql(@Param("keyword") String keyword);
-
-    @Query(value = """
-        select * from posts
-        where title like concat('%', :keyword, '%')
-        order by id desc 
-""", nativeQuery = true)
-    List<D_Post> searchByTitleKeyword_Native(@Param("keyword") String keyword);
+    // 7) 제목 검색 조회 >> PostSearchIndex (색인 비활성화 시 findSummariesByTitleKeyword)
 
     // 8) 댓글 많은 게시글 TOP N개 (JPQL & Native SQL) //
     /*
-    * SELECT * FROM
+    * SELECT * FROM posts ORDER BY comment_count DESC, id DESC LIMIT N
+    *   : comments 조인/GROUP BY 집계 대신 증분 유지되는 comment_count 컬럼 사용
+    *   - idx_posts_comment_count (comment_count, id) 인덱스를 역순으로 읽고 N건에서 멈춤
     * */
 
     @Query("""
-        select P as post, count(C.id) as cnt
-        from 
-            D_Post P
-                left join D_Comment C
-                on C.post = P
-        group by P
-        order by cnt desc, P.id desc
+        select P as post, P.commentCount as cnt
+        from D_Post P
+        order by P.commentCount desc, P.id desc
     """)
     List<Object[]> findTopPostsByCommentCount_Jpql();
     // Object[]
@@ -160,7 +208,7 @@ public interface D_PostRepository extends JpaRepository<D_Post, Long> {
         Long getPostId(); // posts.id
         String getTitle(); // posts.title
         String getAuthor(); // posts.author
-        Long getCommentCount(); // count(c.id)
+        Long getCommentCount(); // posts.comment_count
     }
 
     @Query(value = """
@@ -168,46 +216,17 @@ public interface D_PostRepository extends JpaRepository<D_Post, Long> {
             p.id as postId,
             p.title as title,
             p.author as author,
-            count(c.id) as commentCount
+            p.comment_count as commentCount
         FROM
             posts p 
-            LEFT JOIN comments c
-            ON c.post_id = p.id 
-        GROUP BY 
-            p.id, p.id, p.title, p.author
         ORDER BY 
-            commentCount DESC, p.id DESC
+            p.comment_count DESC, p.id DESC
         LIMIT :limit
     """, nativeQuery = true)
     List<PostWithCommentCountProjection> findTopPostsByCommentCount_Native(@Param("limit") int limit);
 
 
-    // 9) 특정 키워드 값을 가진 댓글이 포함된 게시글 찾기
-    // 인터페이스 프로젝션 사용
-    public interface PostListProjection {
-        Long getId();
-        String getTitle();
-        String getContent();
-        String getAuthor();
-
-    }
-
-    @Query(value = """
-        select
-            p.id        as id,
-            p.title     as title,
-            p.content   as content,
-            p.author    as author
-        from 
-            posts p
-            left join comments c
-            on c.post_id = p.id
-        where 
-            c.content like concat('%', :keyword, '%') 
-        group by p.id, p.title, p.content, p.author 
-        order by p.id desc
-""", nativeQuery = true)
-    List<PostListProjection> findByCommentKeyword(@Param("keyword") String keyword);
+    // 9) 특정 키워드 값을 가진 댓글이 포함된 게시글 찾기 >> PostSearchIndex (색인 비활성화 시 findSummariesByCommentKeyword)
 
 
     // 10) 특정 작성자의 게시글 중, 댓글 수가 minCount 이상인 게시글 조회
@@ -216,19 +235,14 @@ public interface D_PostRepository extends JpaRepository<D_Post, Long> {
             p.id as postId,
             p.title as title,
             p.author as author,
-            count(c.id) as commentCount
+            p.comment_count as commentCount
         from
             posts p
-            left join comments c
-            on c.post_id = p.id
         where
             p.author = :author
-        group by p.id, p.title, p.content, p.author
-        having count(c.id) >= :minCount
+            and p.comment_count >= :minCount
         order by p.id desc
 
 """, nativeQuery = true)
     List<PostWithCommentCountProjection> findAuthorPostsWithMinCount(@Param("author") String author, @Param("minCount") int minCount);
 }
-
-// EXISTS(select 1 from comments c where c.post_id = p.id and c.content like concat('%', :keyword, '%'))
\ No newline at end of file
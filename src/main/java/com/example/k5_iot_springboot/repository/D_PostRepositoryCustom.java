@@ -0,0 +1,20 @@
+package com.example.k5_iot_springboot.repository;
+
+import java.util.List;
+
+public interface D_PostRepositoryCustom {
+
+    /* 댓글 수 원자적 증감 - "comment_count = comment_count + delta" (delta 는 음수 가능)
+     * @return 영향 받은 행 수 (0 이면 게시글 없음) */
+    int increaseCommentCount(Long postId, int delta);
+
+    /* 현재 댓글 수 (게시글이 없으면 0) - 같은 트랜잭션에서 증감 직후 호출하면 증감이 반영된 값 */
+    int findCommentCount(Long postId);
+
+    /* 댓글 수 정합성 검사 - id 구간 [fromId, toId] 에서 저장된 comment_count 와 재집계 값이 다른 게시글 ID */
+    List<Long> findCommentCountMismatchIds(long fromId, long toId);
+
+    /* 댓글 수 재구성 - id 구간 [fromId, toId] 의 comment_count 를 comments 재집계 값으로 덮어씀
+     * @return 값이 바뀐 게시글 수 */
+    int rebuildCommentCounts(long fromId, long toId);
+}
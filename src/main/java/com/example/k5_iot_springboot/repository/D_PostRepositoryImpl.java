@@ -0,0 +1,60 @@
+package com.example.k5_iot_springboot.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/*
+ * === 게시글 댓글 수(posts.comment_count) 유지 ===
+ * - 댓글 생성/삭제 시 "UPDATE ... SET comment_count = comment_count ± 1" 한 문장으로 반영 (읽고-쓰기 경합 X)
+ * - 엔티티 필드는 insertable/updatable=false >> dirty checking 이 증분 값을 덮어쓰지 않음
+ * */
+@Repository
+@RequiredArgsConstructor
+public class D_PostRepositoryImpl implements D_PostRepositoryCustom {
+    private final JdbcTemplate jdbcTemplate;
+
+    // 게시글별 댓글 재집계 (댓글 없는 게시글은 0) - 정합성 검사/재구성 공용
+    private static final String RECOMPUTED_COUNTS_SQL =
+            "SELECT p.id AS post_id, COUNT(c.id) AS cnt " +
+            "FROM posts p " +
+                "LEFT JOIN comments c ON c.post_id = p.id " +
+            "WHERE p.id BETWEEN ? AND ? " +
+            "GROUP BY p.id";
+
+    @Override
+    public int increaseCommentCount(Long postId, int delta) {
+        return jdbcTemplate.update(
+                "UPDATE posts SET comment_count = comment_count + ? WHERE id = ?",
+                delta, postId);
+    }
+
+    @Override
+    public int findCommentCount(Long postId) {
+        List<Integer> counts = jdbcTemplate.queryForList(
+                "SELECT comment_count FROM posts WHERE id = ?", Integer.class, postId);
+        return counts.isEmpty() ? 0 : counts.get(0);
+    }
+
+    @Override
+    public List<Long> findCommentCountMismatchIds(long fromId, long toId) {
+        return jdbcTemplate.queryForList(
+                "SELECT p.id FROM posts p " +
+                    "JOIN (" + RECOMPUTED_COUNTS_SQL + ") t ON t.post_id = p.id " +
+                "WHERE p.comment_count <> t.cnt " +
+                "ORDER BY p.id",
+                Long.class, fromId, toId);
+    }
+
+    @Override
+    public int rebuildCommentCounts(long fromId, long toId) {
+        return jdbcTemplate.update(
+                "UPDATE posts p " +
+                    "JOIN (" + RECOMPUTED_COUNTS_SQL + ") t ON t.post_id = p.id " +
+                "SET p.comment_count = t.cnt " +
+                "WHERE p.comment_count <> t.cnt",
+                fromId, toId);
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.k5_iot_springboot.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.function.Consumer;
+
+/*
+ * === 게시글 검색 색인 원본 (posts.title / comments.content) ===
+ * - PostSearchIndex 재구성 전용: 영속성 컨텍스트를 거치지 않는 JDBC 커서로 한 행씩 순회
+ *      >> 게시글/댓글 수와 무관하게 메모리에는 현재 행만 존재 (posts.content(LONGTEXT) 는 읽지 않음)
+ * */
+@Repository
+@RequiredArgsConstructor
+public class D_PostSearchSourceRepository {
+    private final JdbcTemplate jdbcTemplate;
+
+    public record TitleRow(long postId, String title) {}
+    public record CommentRow(long commentId, long postId, String content) {}
+
+    public void forEachTitle(Consumer<TitleRow> consumer) {
+        stream("SELECT id, title FROM posts",
+                rs -> consumer.accept(new TitleRow(rs.getLong(1), rs.getString(2))));
+    }
+
+    public void forEachComment(Consumer<CommentRow> consumer) {
+        stream("SELECT id, post_id, content FROM comments",
+                rs -> consumer.accept(new CommentRow(rs.getLong(1), rs.getLong(2), rs.getString(3))));
+    }
+
+    // TYPE_FORWARD_ONLY + fetchSize=Integer.MIN_VALUE: MySQL 드라이버가 결과를 한 행씩 스트리밍
+    private void stream(String sql, RowCallbackHandler handler) {
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(Integer.MIN_VALUE);
+            return ps;
+        }, handler);
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.k5_iot_springboot.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/*
+ * === 리프레시 토큰 저장소 (refresh_tokens) ===
+ * - 원문 토큰은 저장하지 않고 SHA-256 해시만 저장 (uq token_hash)
+ * - family_id: 최초 로그인에서 시작된 회전(rotation) 체인 식별자
+ *      >> 이미 회전된(폐기된) 토큰이 다시 사용되면 같은 family 전체 폐기
+ * */
+@Repository
+@RequiredArgsConstructor
+public class G_RefreshTokenRepository {
+    private final JdbcTemplate jdbcTemplate;
+
+    /** 저장된 리프레시 토큰 */
+    public record StoredToken(Long id, Long userId, String familyId, LocalDateTime expiresAt, LocalDateTime revokedAt) {
+        public boolean isRevoked() {
+            return revokedAt != null;
+        }
+    }
+
+    public void insert(Long userId, String tokenHash, String familyId, LocalDateTime expiresAt) {
+        jdbcTemplate.update(
+                "INSERT INTO refresh_tokens (user_id, token_hash, family_id, expires_at, created_at) VALUES (?, ?, ?, ?, ?)",
+                userId, tokenHash, familyId, Timestamp.valueOf(expiresAt), Timestamp.valueOf(LocalDateTime.now()));
+    }
+
+    /* 잠금 조회(FOR UPDATE) - 같은 토큰의 동시 회전 요청을 직렬화 */
+    public Optional<StoredToken> findForUpdate(String tokenHash) {
+        return jdbcTemplate.query(
+                "SELECT id, user_id, family_id, expires_at, revoked_at FROM refresh_tokens WHERE token_hash = ? FOR UPDATE",
+                (rs, i) -> new StoredToken(
+                        rs.getLong(1),
+                        rs.getLong(2),
+                        rs.getString(3),
+                        rs.getTimestamp(4).toLocalDateTime(),
+                        rs.getTimestamp(5) != null ? rs.getTimestamp(5).toLocalDateTime() : null),
+                tokenHash).stream().findFirst();
+    }
+
+    public void revoke(Long id) {
+        jdbcTemplate.update(
+                "UPDATE refresh_tokens SET revoked_at = ? WHERE id = ? AND revoked_at IS NULL",
+                Timestamp.valueOf(LocalDateTime.now()), id);
+    }
+
+    public int revokeFamily(String familyId) {
+        return jdbcTemplate.update(
+                "UPDATE refresh_tokens SET revoked_at = ? WHERE family_id = ? AND revoked_at IS NULL",
+                Timestamp.valueOf(LocalDateTime.now()), familyId);
+    }
+
+    /* 사용자의 모든 family 폐기 (비밀번호/권한 변경) - fk_refresh_tokens_user 인덱스 사용 */
+    public int revokeAllForUser(Long userId) {
+        return jdbcTemplate.update(
+                "UPDATE refresh_tokens SET revoked_at = ? WHERE user_id = ? AND revoked_at IS NULL",
+                Timestamp.valueOf(LocalDateTime.now()), userId);
+    }
+
+    /* 만료 토큰 삭제 (최대 limit 건) */
+    public int deleteExpired(LocalDateTime now, int limit) {
+        return jdbcTemplate.update(
+                "DELETE FROM refresh_tokens WHERE expires_at < ? ORDER BY expires_at LIMIT ?",
+                Timestamp.valueOf(now), limit);
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.k5_iot_springboot.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+/*
+ * === 폐기된 액세스 토큰 저장소 (revoked_access_tokens) ===
+ * - 액세스 토큰은 stateless 라 서버에 남지 않음 >> 로그아웃 시 jti 만 만료 시각과 함께 기록
+ * - 요청마다 조회하지 않음: 기동 시/주기적으로 메모리(TokenRevocationList)에 적재
+ * */
+@Repository
+@RequiredArgsConstructor
+public class G_RevokedAccessTokenRepository {
+    private final JdbcTemplate jdbcTemplate;
+
+    public void insert(String jti, LocalDateTime expiresAt) {
+        jdbcTemplate.update(
+                "INSERT IGNORE INTO revoked_access_tokens (jti, expires_at, created_at) VALUES (?, ?, ?)",
+                jti, Timestamp.valueOf(expiresAt), Timestamp.valueOf(LocalDateTime.now()));
+    }
+
+    /* 아직 만료되지 않고, since 이후에 기록된 jti 순회 (jti, 만료 시각) */
+    public void forEachActive(LocalDateTime now, LocalDateTime since, RowCallbackHandler handler) {
+        jdbcTemplate.query(
+                "SELECT jti, expires_at FROM revoked_access_tokens WHERE expires_at >= ? AND created_at >= ?",
+                handler, Timestamp.valueOf(now), Timestamp.valueOf(since));
+    }
+
+    /* 만료된 기록 삭제 (최대 limit 건) - 만료된 토큰은 서명 검증에서 이미 거부됨 */
+    public int deleteExpired(LocalDateTime now, int limit) {
+        return jdbcTemplate.update(
+                "DELETE FROM revoked_access_tokens WHERE expires_at < ? ORDER BY expires_at LIMIT ?",
+                Timestamp.valueOf(now), limit);
+    }
+}
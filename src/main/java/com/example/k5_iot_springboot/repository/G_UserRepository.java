@@ -32,6 +32,26 @@ public interface G_UserRepository extends JpaRepository<G_User, Long> {
     //          - @EntityGraph: DATA JPA 에서 fetch 조인을 어노테이션으로 대신하는 기능
 
 
+    /** 회원가입 중복 검사 결과 (각 값 1 = 사용 중, 0 = 사용 가능) */
+    interface SignUpConflicts {
+        Long getLoginIdTaken();
+        Long getEmailTaken();
+        Long getNicknameTaken();
+    }
+
+    // 세 유니크 컬럼 중복 여부를 한 번에 조회 (각 EXISTS 는 유니크 인덱스 단건 조회)
+    @Query(value = """
+        select
+            exists(select 1 from users where login_id = :loginId) as loginIdTaken,
+            exists(select 1 from users where email = :email)       as emailTaken,
+            exists(select 1 from users where nickname = :nickname) as nicknameTaken
+    """, nativeQuery = true)
+    SignUpConflicts findSignUpConflicts(
+            @Param("loginId") String loginId,
+            @Param("email") String email,
+            @Param("nickname") String nickname
+    );
+
     boolean existsByLoginId(String loginId);
     boolean existsByEmail(String email);
     boolean existsByNickname(String nickname);
@@ -2,8 +2,16 @@ package com.example.k5_iot_springboot.repository;
 
 import com.example.k5_iot_springboot.entity.H_Article;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Optional;
+
 @Repository
 public interface H_ArticleRepository extends JpaRepository<H_Article, Long> {
+
+    /** 작성자 loginId 만 조회 (본문 LOB / 작성자 엔티티 로딩 X) - 인가 검사용 */
+    @Query("select a.author.loginId from H_Article a where a.id = :articleId")
+    Optional<String> findAuthorLoginIdById(@Param("articleId") Long articleId);
 }
@@ -0,0 +1,71 @@
+package com.example.k5_iot_springboot.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/*
+ * === 주문 멱등키 저장소 (order_idempotency_keys) ===
+ * - uq (user_id, idem_key) 유니크 제약으로 같은 키의 동시 요청을 직렬화
+ *      : 먼저 INSERT 한 트랜잭션이 커밋/롤백할 때까지 두 번째 INSERT 는 대기
+ *        >> 커밋되면 DuplicateKey, 롤백되면 두 번째 요청이 키를 가져감
+ * */
+@Repository
+@RequiredArgsConstructor
+public class I_OrderIdempotencyRepository {
+    private final JdbcTemplate jdbcTemplate;
+
+    /** 저장된 멱등키 */
+    public record StoredKey(String requestHash, Long orderId, String responseBody, LocalDateTime expiresAt) {}
+
+    /* 키 선점 - 이미 있으면 false */
+    public boolean tryClaim(Long userId, String key, String requestHash, LocalDateTime expiresAt) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        try {
+            jdbcTemplate.update(
+                    "INSERT INTO order_idempotency_keys (user_id, idem_key, request_hash, expires_at, created_at, updated_at) " +
+                    "VALUES (?, ?, ?, ?, ?, ?)",
+                    userId, key, requestHash, Timestamp.valueOf(expiresAt), now, now);
+            return true;
+        } catch (DuplicateKeyException e) {
+            return false;
+        }
+    }
+
+    /* 잠금 읽기(FOR SHARE) - 트랜잭션 스냅샷이 아닌 최신 커밋 값 조회 */
+    public Optional<StoredKey> findForShare(Long userId, String key) {
+        return jdbcTemplate.query(
+                "SELECT request_hash, order_id, response_body, expires_at FROM order_idempotency_keys " +
+                "WHERE user_id = ? AND idem_key = ? FOR SHARE",
+                (rs, i) -> new StoredKey(
+                        rs.getString(1),
+                        rs.getObject(2, Long.class),
+                        rs.getString(3),
+                        rs.getTimestamp(4).toLocalDateTime()),
+                userId, key).stream().findFirst();
+    }
+
+    /* 처리 완료 - 주문 ID 와 응답 본문 저장 */
+    public void complete(Long userId, String key, Long orderId, String responseBody) {
+        jdbcTemplate.update(
+                "UPDATE order_idempotency_keys SET order_id = ?, response_body = ?, updated_at = ? " +
+                "WHERE user_id = ? AND idem_key = ?",
+                orderId, responseBody, Timestamp.valueOf(LocalDateTime.now()), userId, key);
+    }
+
+    public void delete(Long userId, String key) {
+        jdbcTemplate.update("DELETE FROM order_idempotency_keys WHERE user_id = ? AND idem_key = ?", userId, key);
+    }
+
+    /* 만료 키 삭제 (최대 limit 건) */
+    public int deleteExpired(LocalDateTime now, int limit) {
+        return jdbcTemplate.update(
+                "DELETE FROM order_idempotency_keys WHERE expires_at < ? ORDER BY expires_at LIMIT ?",
+                Timestamp.valueOf(now), limit);
+    }
+}
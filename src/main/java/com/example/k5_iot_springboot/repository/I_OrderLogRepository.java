@@ -0,0 +1,40 @@
+package com.example.k5_iot_springboot.repository;
+
+import com.example.k5_iot_springboot.entity.I_OrderLog;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface I_OrderLogRepository extends JpaRepository<I_OrderLog, Long>, I_OrderLogRepositoryCustom {
+
+    /** 주문 로그 목록 projection (엔티티/주문 로딩 X) */
+    interface OrderLogRow {
+        Long getId();
+        Long getOrderId();
+        String getMessage();
+        LocalDateTime getCreatedAt();
+    }
+
+    /** 특정 주문 로그 - 최신순 (idx_order_logs_order 범위 스캔) */
+    @Query("""
+        select l.id as id, l.order.id as orderId, l.message as message, l.createdAt as createdAt
+        from I_OrderLog l
+        where l.order.id = :orderId
+        order by l.id desc
+    """)
+    Slice<OrderLogRow> findRowsByOrderId(@Param("orderId") Long orderId, Pageable pageable);
+
+    /** 전체 주문 로그 - 최신순 */
+    @Query("""
+        select l.id as id, l.order.id as orderId, l.message as message, l.createdAt as createdAt
+        from I_OrderLog l
+        order by l.id desc
+    """)
+    Slice<OrderLogRow> findAllRows(Pageable pageable);
+}
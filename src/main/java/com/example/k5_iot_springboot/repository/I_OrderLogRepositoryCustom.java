@@ -0,0 +1,20 @@
+package com.example.k5_iot_springboot.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface I_OrderLogRepositoryCustom {
+
+    /* 주문 로그 일괄 저장 (JDBC batch insert >> multi-row INSERT) */
+    void batchInsert(List<OrderLogEntry> entries);
+
+    /* outbox 일괄 저장 - 비즈니스 트랜잭션 안에서 호출 (주문 상태와 함께 커밋) */
+    void batchInsertOutbox(List<OrderLogEntry> entries);
+
+    /* outbox >> order_logs 이관 (최대 limit 건, 오래된 순)
+     * @return 이관한 outbox 행 수 */
+    int relayOutbox(int limit);
+
+    /** 주문 로그 1건 */
+    record OrderLogEntry(Long orderId, String message, LocalDateTime createdAt) {}
+}
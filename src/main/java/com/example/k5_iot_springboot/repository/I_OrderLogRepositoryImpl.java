@@ -0,0 +1,68 @@
+package com.example.k5_iot_springboot.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+@Repository
+@RequiredArgsConstructor
+public class I_OrderLogRepositoryImpl implements I_OrderLogRepositoryCustom {
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void batchInsert(List<OrderLogEntry> entries) {
+        if (entries.isEmpty()) return;
+
+        List<Object[]> batchArgs = new ArrayList<>(entries.size());
+        for (OrderLogEntry e : entries) {
+            Timestamp at = Timestamp.valueOf(e.createdAt());
+            batchArgs.add(new Object[]{ e.orderId(), e.message(), at, at });
+        }
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO order_logs (order_id, message, created_at, updated_at) VALUES (?, ?, ?, ?)",
+                batchArgs);
+    }
+
+    @Override
+    public void batchInsertOutbox(List<OrderLogEntry> entries) {
+        if (entries.isEmpty()) return;
+
+        List<Object[]> batchArgs = new ArrayList<>(entries.size());
+        for (OrderLogEntry e : entries) {
+            batchArgs.add(new Object[]{ e.orderId(), e.message(), Timestamp.valueOf(e.createdAt()) });
+        }
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO order_log_outbox (order_id, message, created_at) VALUES (?, ?, ?)",
+                batchArgs);
+    }
+
+    @Override
+    public int relayOutbox(int limit) {
+        // SKIP LOCKED: 다른 인스턴스가 처리 중인 행은 건너뜀 (중복 이관 방지)
+        List<Long> ids = jdbcTemplate.queryForList(
+                "SELECT id FROM order_log_outbox ORDER BY id LIMIT ? FOR UPDATE SKIP LOCKED",
+                Long.class, limit);
+        if (ids.isEmpty()) return 0;
+
+        String in = String.join(",", Collections.nCopies(ids.size(), "?"));
+        Object[] args = ids.toArray();
+
+        // 그 사이 삭제된 주문의 로그는 JOIN 에서 제외 (FK 위반 방지)
+        jdbcTemplate.update(
+                "INSERT INTO order_logs (order_id, message, created_at, updated_at) " +
+                "SELECT ob.order_id, ob.message, ob.created_at, ob.created_at " +
+                "FROM order_log_outbox ob " +
+                    "JOIN orders o ON o.id = ob.order_id " +
+                "WHERE ob.id IN (" + in + ") " +
+                "ORDER BY ob.id",
+                args);
+        jdbcTemplate.update("DELETE FROM order_log_outbox WHERE id IN (" + in + ")", args);
+
+        return ids.size();
+    }
+}
@@ -8,6 +8,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -24,5 +25,32 @@ public interface I_OrderRepository extends JpaRepository<I_Order,Long>, I_OrderR
     """)
     Optional<I_Order> findDetailById(@Param("orderId") Long orderId);
 
+    /** 주문 상세 (주문 - 항목 - 상품) fetch join 다건 조회 - 일괄 승인/취소용 */
+    @Query("""
+        select distinct o from I_Order o
+            left join fetch o.items oi
+            left join fetch oi.product p
+        where o.id in :orderIds
+        order by o.id
+    """)
+    List<I_Order> findDetailsByIdIn(@Param("orderIds") Collection<Long> orderIds);
+
+    /** 주문자/상태 projection - 인가 검사용 (엔티티 로딩 X) */
+    interface OrderOwnerStatus {
+        Long getUserId();
+        OrderStatus getOrderStatus();
+    }
+
+    @Query("select o.user.id as userId, o.orderStatus as orderStatus from I_Order o where o.id = :orderId")
+    Optional<OrderOwnerStatus> findOwnerStatusById(@Param("orderId") Long orderId);
+
+    /** 주문자 ID 만 조회 */
+    @Query("select o.user.id from I_Order o where o.id = :orderId")
+    Optional<Long> findUserIdById(@Param("orderId") Long orderId);
+
+    /** 가장 큰 주문 ID (주문이 없으면 0) - 구간 단위 일괄 작업용 */
+    @Query("select coalesce(max(o.id), 0) from I_Order o")
+    long findMaxId();
+
 
 }
@@ -1,13 +1,47 @@
 package com.example.k5_iot_springboot.repository;
 
 import com.example.k5_iot_springboot.common.enums.OrderStatus;
-import com.example.k5_iot_springboot.entity.I_Order;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
 public interface I_OrderRepositoryCustom {
 
-    /* 유저/상태/기간 조건에 따른 주문 목록 조회 */
-    List<I_Order> searchOrders(Long userId, OrderStatus status, LocalDateTime from, LocalDateTime to);
+    /* 유저/상태/기간 조건에 따른 주문 목록 조회 - keyset (createdAt desc, id desc)
+     * : 커서(cursorCreatedAt, cursorId) 보다 오래된 주문을 limit 건까지 조회 (첫 페이지는 커서 null)
+     * - 엔티티가 아닌 평면 projection 으로 반환 (영속성 컨텍스트에 적재 X) */
+    List<OrderRow> searchOrders(Long userId, OrderStatus status, LocalDateTime from, LocalDateTime to,
+                                LocalDateTime cursorCreatedAt, Long cursorId, int limit);
+
+    /* 주문 ID 목록에 해당하는 주문 항목 조회 (상품 정보 포함) - 검색 결과 한 페이지 분량만 */
+    List<OrderItemRow> findItemRowsByOrderIds(Collection<Long> orderIds);
+
+    /* 주문 내보내기 - 조건에 맞는 주문 항목 행을 DB 커서로 한 행씩 흘려보냄 (전체 결과를 메모리에 적재 X)
+     * : createdAt desc, id desc 순, 항목 없는 주문은 상품 컬럼 null 로 1행 */
+    void streamOrderLines(Long userId, OrderStatus status, LocalDateTime from, LocalDateTime to,
+                          Consumer<OrderLineRow> consumer);
+
+    /* 주문 합계 정합성 검사 - id 구간 [fromId, toId] 에서 저장된 합계와 재집계 값(order_items.unit_price 기준)이 다른 주문 ID */
+    List<Long> findTotalsMismatchIds(long fromId, long toId);
+
+    /* 주문 합계 재구성 - id 구간 [fromId, toId] 의 합계를 order_items 재집계 값(주문 시점 단가)으로 덮어씀
+     * @return 값이 바뀐 주문 수 */
+    int rebuildTotals(long fromId, long toId);
+
+    /* 주문 항목 일괄 저장 (JDBC batch insert) - key=productId, value=수량 / 주문 시점 단가 */
+    void batchInsertItems(Long orderId, Map<Long, Integer> quantityByProductId, Map<Long, Integer> unitPriceByProductId);
+
+    /** 주문 검색 projection - 주문 1건 */
+    record OrderRow(Long orderId, Long userId, OrderStatus status, LocalDateTime createdAt,
+                    Long totalAmount, Integer totalQuantity) {}
+
+    /** 주문 내보내기 projection - 주문 x 항목 1행 */
+    record OrderLineRow(Long orderId, Long userId, OrderStatus status, LocalDateTime createdAt,
+                        Long productId, String productName, Integer price, Integer quantity) {}
+
+    /** 주문 검색 projection - 주문 항목 1건 */
+    record OrderItemRow(Long orderId, Long productId, String productName, Integer price, Integer quantity) {}
 }
@@ -2,37 +2,51 @@ package com.example.k5_iot_springboot.repository;
 
 
 import com.example.k5_iot_springboot.common.enums.OrderStatus;
-import com.example.k5_iot_springboot.entity.I_Order;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
 import jakarta.persistence.TypedQuery;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.stereotype.Repository;
 
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 @Repository
+@RequiredArgsConstructor
 public class I_OrderRepositoryImpl implements I_OrderRepositoryCustom{
     @PersistenceContext
     private EntityManager em;
 
+    // IDENTITY 전략은 Hibernate 의 insert 배치를 끄기 때문에, 대량 insert 는 JDBC 로 직접 처리
+    private final JdbcTemplate jdbcTemplate;
+
     @Override
-    public List<I_Order> searchOrders(Long userId, OrderStatus status, LocalDateTime from, LocalDateTime to
+    public List<OrderRow> searchOrders(Long userId, OrderStatus status, LocalDateTime from, LocalDateTime to,
+                                       LocalDateTime cursorCreatedAt, Long cursorId, int limit
     ) {
+        // 1단계: 주문 컬럼만 조회 (items fetch join X >> 행 중복/DISTINCT/메모리 페이징 없음)
         StringBuilder jpql = new StringBuilder(
-                "SELECT DISTINCT o "+
+                "SELECT o.id, u.id, o.orderStatus, o.createdAt, o.totalAmount, o.totalQuantity "+
                 "FROM I_Order o " +
-                    "LEFT JOIN FETCH o.items oi "+
-                    "LEFT JOIN FETCH oi.product p "+
+                    "JOIN o.user u "+
                 "WHERE 1 = 1" // 항상 참이 되는 조건 사실상 SELECT * FROM orders 와 동일한 결과
         );
 
         Map<String, Object> params = new HashMap<>();
 
         if(userId != null) {
-            jpql.append(" and o.user = :userId");
+            jpql.append(" and u.id = :userId");
             params.put("userId",userId);
         }
 
@@ -51,19 +65,143 @@ public class I_OrderRepositoryImpl implements I_OrderRepositoryCustom{
             params.put("to",to);
         }
 
+        // keyset: 정렬 키 (createdAt desc, id desc) 기준 커서 이후 행만 >> OFFSET 없이 인덱스 범위 스캔
+        if(cursorCreatedAt != null && cursorId != null){
+            jpql.append(" and (o.createdAt < :cursorCreatedAt or (o.createdAt = :cursorCreatedAt and o.id < :cursorId))");
+            params.put("cursorCreatedAt",cursorCreatedAt);
+            params.put("cursorId",cursorId);
+        }
+
         jpql.append(" order by o.createdAt desc, o.id desc");
 
         // 명시적 타입 사용: TypedQuery
-        TypedQuery<I_Order> query = em.createQuery(jpql.toString(), I_Order.class);
+        TypedQuery<Tuple> query = em.createQuery(jpql.toString(), Tuple.class);
         // >> @Query 쓰일 쿼리문
         for (Map.Entry<String, Object> entry : params.entrySet()){
             query.setParameter(entry.getKey(), entry.getValue());
         }
+        query.setMaxResults(limit);
+
+        return query.getResultList().stream()
+                .map(t -> new OrderRow(
+                        t.get(0, Long.class),
+                        t.get(1, Long.class),
+                        t.get(2, OrderStatus.class),
+                        t.get(3, LocalDateTime.class),
+                        t.get(4, Long.class),
+                        t.get(5, Integer.class)))
+                .toList();
+    }
+
+    @Override
+    public List<OrderItemRow> findItemRowsByOrderIds(Collection<Long> orderIds) {
+        if (orderIds == null || orderIds.isEmpty()) return List.of();
+
+        // 2단계: 해당 페이지 주문들의 항목만 조회
+        return em.createQuery(
+                        "SELECT oi.order.id, p.id, p.name, oi.unitPrice, oi.quantity " +
+                        "FROM I_OrderItem oi " +
+                            "JOIN oi.product p " +
+                        "WHERE oi.order.id in :orderIds " +
+                        "order by oi.order.id, oi.id", Tuple.class)
+                .setParameter("orderIds", orderIds)
+                .getResultList().stream()
+                .map(t -> new OrderItemRow(
+                        t.get(0, Long.class),
+                        t.get(1, Long.class),
+                        t.get(2, String.class),
+                        t.get(3, Integer.class),
+                        t.get(4, Integer.class)))
+                .toList();
+    }
+
+    @Override
+    public void streamOrderLines(Long userId, OrderStatus status, LocalDateTime from, LocalDateTime to,
+                                 Consumer<OrderLineRow> consumer
+    ) {
+        StringBuilder sql = new StringBuilder(
+                "SELECT o.id, o.user_id, o.order_status, o.created_at, p.id, p.name, oi.unit_price, oi.quantity " +
+                "FROM orders o " +
+                    "LEFT JOIN order_items oi ON oi.order_id = o.id " +
+                    "LEFT JOIN products p ON p.id = oi.product_id " +
+                "WHERE 1 = 1"
+        );
+        List<Object> args = new ArrayList<>();
+
+        if (userId != null) { sql.append(" AND o.user_id = ?"); args.add(userId); }
+        if (status != null) { sql.append(" AND o.order_status = ?"); args.add(status.name()); }
+        if (from != null)   { sql.append(" AND o.created_at >= ?"); args.add(Timestamp.valueOf(from)); }
+        if (to != null)     { sql.append(" AND o.created_at <= ?"); args.add(Timestamp.valueOf(to)); }
+
+        sql.append(" ORDER BY o.created_at DESC, o.id DESC, oi.id");
+
+        // 영속성 컨텍스트를 거치지 않는 JDBC 커서 (엔티티 적재/1차 캐시 누적 없음)
+        // - TYPE_FORWARD_ONLY + fetchSize=Integer.MIN_VALUE: MySQL 드라이버가 결과를 한 행씩 스트리밍
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(sql.toString(), ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(Integer.MIN_VALUE);
+            for (int i = 0; i < args.size(); i++) ps.setObject(i + 1, args.get(i));
+            return ps;
+        }, (RowCallbackHandler) rs -> consumer.accept(new OrderLineRow(
+                rs.getLong(1),
+                rs.getLong(2),
+                OrderStatus.valueOf(rs.getString(3)),
+                rs.getTimestamp(4).toLocalDateTime(),
+                rs.getObject(5, Long.class),
+                rs.getString(6),
+                rs.getObject(7, Integer.class),
+                rs.getObject(8, Integer.class)
+        )));
+    }
 
-        List<I_Order> results = query.getResultList();
+    // 주문별 재집계 (항목 없는 주문은 0) - 정합성 검사/재구성 공용
+    // : 현재 products.price 가 아닌 주문 시점 단가(order_items.unit_price) 기준 >> 가격 변경이 과거 주문 합계를 바꾸지 않음
+    private static final String RECOMPUTED_TOTALS_SQL =
+            "SELECT o.id AS order_id, " +
+                    "COALESCE(SUM(oi.quantity * oi.unit_price), 0) AS amount, " +
+                    "COALESCE(SUM(oi.quantity), 0) AS quantity " +
+            "FROM orders o " +
+                "LEFT JOIN order_items oi ON oi.order_id = o.id " +
+            "WHERE o.id BETWEEN ? AND ? " +
+            "GROUP BY o.id";
 
+    @Override
+    public List<Long> findTotalsMismatchIds(long fromId, long toId) {
+        return jdbcTemplate.queryForList(
+                "SELECT o.id FROM orders o " +
+                    "JOIN (" + RECOMPUTED_TOTALS_SQL + ") t ON t.order_id = o.id " +
+                "WHERE o.total_amount <> t.amount OR o.total_quantity <> t.quantity " +
+                "ORDER BY o.id",
+                Long.class, fromId, toId);
+    }
 
-        return results;
+    @Override
+    public int rebuildTotals(long fromId, long toId) {
+        // 합계만 보정하는 작업이므로 updated_at 은 그대로 둠
+        return jdbcTemplate.update(
+                "UPDATE orders o " +
+                    "JOIN (" + RECOMPUTED_TOTALS_SQL + ") t ON t.order_id = o.id " +
+                "SET o.total_amount = t.amount, o.total_quantity = t.quantity " +
+                "WHERE o.total_amount <> t.amount OR o.total_quantity <> t.quantity",
+                fromId, toId);
+    }
 
+    @Override
+    public void batchInsertItems(Long orderId, Map<Long, Integer> quantityByProductId, Map<Long, Integer> unitPriceByProductId) {
+        if (quantityByProductId == null || quantityByProductId.isEmpty()) return;
+
+        // JDBC 직접 insert 는 Auditing 이 동작하지 않으므로 생성/수정 시각을 직접 채움 (기본 타임존 UTC - TimeConfig)
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        List<Object[]> batchArgs = new ArrayList<>(quantityByProductId.size());
+        for (Map.Entry<Long, Integer> e : quantityByProductId.entrySet()) {
+            batchArgs.add(new Object[]{ orderId, e.getKey(), e.getValue(), unitPriceByProductId.get(e.getKey()), now, now });
+        }
+
+        // rewriteBatchedStatements=true (datasource url) 설정 시 multi-row INSERT 한 번으로 전송됨
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO order_items (order_id, product_id, quantity, unit_price, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?)",
+                batchArgs
+        );
     }
 }
@@ -0,0 +1,202 @@
+package com.example.k5_iot_springboot.repository;
+
+import com.example.k5_iot_springboot.common.enums.OrderStatus;
+import com.example.k5_iot_springboot.dto.I_Order.response.OrderReportResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/*
+ * === 주문 매출 집계(rollup) 저장소 ===
+ * - daily_order_status_rollups : 일자 x 주문 상태별 주문 수/금액/수량
+ * - daily_product_sales_rollups: 일자 x 상품별 판매 수량/금액 (APPROVED 주문만)
+ *
+ * - sales_rollup_outbox  : 주문 트랜잭션 안에서 INSERT 만 하는 증분 행 (집계 행 잠금 X)
+ *
+ * - 쓰기는 증분 UPSERT (INSERT ... ON DUPLICATE KEY UPDATE += delta)
+ *      >> 주문 트랜잭션이 아닌 outbox relay(SalesRollupRecorder.relay) 트랜잭션에서 반영
+ * - 읽기는 일자 범위만 스캔 >> 대시보드 조회 비용이 주문 수가 아닌 일수에 비례
+ * - 일자(sales_date)는 주문 생성 시각의 KST 날짜 (백필로 언제든 같은 값 재현 가능)
+ * */
+@Repository
+@RequiredArgsConstructor
+public class I_SalesRollupRepository {
+    private final JdbcTemplate jdbcTemplate;
+
+    // orders.created_at(UTC) >> KST 날짜 (KST 는 서머타임 없음, 고정 오프셋)
+    private static final String KST_DATE = "DATE(CONVERT_TZ(o.created_at, '+00:00', '+09:00'))";
+
+    private static final String UPSERT_STATUS_SQL =
+            "INSERT INTO daily_order_status_rollups (sales_date, order_status, order_count, total_amount, total_quantity) " +
+            "VALUES (?, ?, ?, ?, ?) AS d " +
+            "ON DUPLICATE KEY UPDATE " +
+                "order_count = order_count + d.order_count, " +
+                "total_amount = total_amount + d.total_amount, " +
+                "total_quantity = total_quantity + d.total_quantity";
+
+    private static final String UPSERT_PRODUCT_SQL =
+            "INSERT INTO daily_product_sales_rollups (sales_date, product_id, quantity, amount) " +
+            "VALUES (?, ?, ?, ?) AS d " +
+            "ON DUPLICATE KEY UPDATE " +
+                "quantity = quantity + d.quantity, " +
+                "amount = amount + d.amount";
+
+    /** 일자 x 상태 증분 */
+    public record StatusDelta(LocalDate date, OrderStatus status, long orderCount, long amount, long quantity) {}
+
+    /** 일자 x 상품 증분 */
+    public record ProductDelta(LocalDate date, Long productId, long quantity, long amount) {}
+
+    /** outbox 1행 - status 가 있으면 상태 증분, 없으면 상품 증분 (productId) */
+    public record OutboxRow(long id, LocalDate date, OrderStatus status, Long productId,
+                            long orderCount, long amount, long quantity) {}
+
+    //===== outbox =====//
+    // 주문 트랜잭션 안에서 호출 - 매번 새 행 INSERT 이므로 주문끼리 같은 행을 잠그지 않음
+    public void insertOutbox(List<StatusDelta> statusDeltas, List<ProductDelta> productDeltas) {
+        if (statusDeltas.isEmpty() && productDeltas.isEmpty()) return;
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> batchArgs = new ArrayList<>(statusDeltas.size() + productDeltas.size());
+        statusDeltas.forEach(d -> batchArgs.add(new Object[]{
+                Date.valueOf(d.date()), d.status().name(), null, d.orderCount(), d.amount(), d.quantity(), now }));
+        productDeltas.forEach(d -> batchArgs.add(new Object[]{
+                Date.valueOf(d.date()), null, d.productId(), 0L, d.amount(), d.quantity(), now }));
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO sales_rollup_outbox (sales_date, order_status, product_id, order_count, amount, quantity, created_at) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?)",
+                batchArgs);
+    }
+
+    // SKIP LOCKED: 다른 인스턴스가 처리 중인 행은 건너뜀 (중복 반영 방지)
+    public List<OutboxRow> lockOutbox(int limit) {
+        return jdbcTemplate.query(
+                "SELECT id, sales_date, order_status, product_id, order_count, amount, quantity " +
+                "FROM sales_rollup_outbox ORDER BY id LIMIT ? FOR UPDATE SKIP LOCKED",
+                (rs, i) -> new OutboxRow(
+                        rs.getLong(1),
+                        rs.getDate(2).toLocalDate(),
+                        rs.getString(3) == null ? null : OrderStatus.valueOf(rs.getString(3)),
+                        rs.getObject(4, Long.class),
+                        rs.getLong(5),
+                        rs.getLong(6),
+                        rs.getLong(7)),
+                limit);
+    }
+
+    public void deleteOutbox(List<Long> ids) {
+        if (ids.isEmpty()) return;
+        String in = String.join(",", Collections.nCopies(ids.size(), "?"));
+        jdbcTemplate.update("DELETE FROM sales_rollup_outbox WHERE id IN (" + in + ")", ids.toArray());
+    }
+
+    //===== 증분 반영 (relay) =====//
+    // 호출 측에서 (일자, 키) 순으로 정렬해서 전달 >> 트랜잭션 간 잠금 순서 고정 (데드락 방지)
+    public void upsertStatusDeltas(List<StatusDelta> deltas) {
+        if (deltas.isEmpty()) return;
+
+        List<Object[]> batchArgs = new ArrayList<>(deltas.size());
+        deltas.forEach(d -> batchArgs.add(new Object[]{
+                Date.valueOf(d.date()), d.status().name(), d.orderCount(), d.amount(), d.quantity() }));
+        jdbcTemplate.batchUpdate(UPSERT_STATUS_SQL, batchArgs);
+    }
+
+    public void upsertProductDeltas(List<ProductDelta> deltas) {
+        if (deltas.isEmpty()) return;
+
+        List<Object[]> batchArgs = new ArrayList<>(deltas.size());
+        deltas.forEach(d -> batchArgs.add(new Object[]{
+                Date.valueOf(d.date()), d.productId(), d.quantity(), d.amount() }));
+        jdbcTemplate.batchUpdate(UPSERT_PRODUCT_SQL, batchArgs);
+    }
+
+    //===== 조회 =====//
+    public List<OrderReportResponse.DailySales> findDailySales(LocalDate from, LocalDate to) {
+        return jdbcTemplate.query(
+                "SELECT sales_date, order_count, total_amount, total_quantity " +
+                "FROM daily_order_status_rollups " +
+                "WHERE order_status = 'APPROVED' AND sales_date BETWEEN ? AND ? " +
+                "ORDER BY sales_date",
+                (rs, i) -> new OrderReportResponse.DailySales(
+                        rs.getDate(1).toLocalDate(), rs.getLong(2), rs.getLong(3), rs.getLong(4)),
+                Date.valueOf(from), Date.valueOf(to));
+    }
+
+    public List<OrderReportResponse.StatusSales> findStatusSales(LocalDate from, LocalDate to) {
+        return jdbcTemplate.query(
+                "SELECT order_status, SUM(order_count), SUM(total_amount), SUM(total_quantity) " +
+                "FROM daily_order_status_rollups " +
+                "WHERE sales_date BETWEEN ? AND ? " +
+                "GROUP BY order_status " +
+                "ORDER BY order_status",
+                (rs, i) -> new OrderReportResponse.StatusSales(
+                        OrderStatus.valueOf(rs.getString(1)), rs.getLong(2), rs.getLong(3), rs.getLong(4)),
+                Date.valueOf(from), Date.valueOf(to));
+    }
+
+    /* 상품별 매출 - 금액 내림차순, limit 건 (전체는 Integer.MAX_VALUE) */
+    public List<OrderReportResponse.ProductSales> findProductSales(LocalDate from, LocalDate to, int limit) {
+        return jdbcTemplate.query(
+                "SELECT r.product_id, p.name, r.quantity, r.amount " +
+                "FROM (" +
+                    "SELECT product_id, SUM(quantity) AS quantity, SUM(amount) AS amount " +
+                    "FROM daily_product_sales_rollups " +
+                    "WHERE sales_date BETWEEN ? AND ? " +
+                    "GROUP BY product_id " +
+                    "HAVING SUM(quantity) <> 0 " +
+                    "ORDER BY amount DESC, product_id " +
+                    "LIMIT ?" +
+                ") r " +
+                "JOIN products p ON p.id = r.product_id " +
+                "ORDER BY r.amount DESC, r.product_id",
+                (rs, i) -> new OrderReportResponse.ProductSales(
+                        rs.getLong(1), rs.getString(2), rs.getLong(3), rs.getLong(4)),
+                Date.valueOf(from), Date.valueOf(to), limit);
+    }
+
+    //===== 백필 =====//
+    // [from, to] 일자 집계를 지우고 orders/order_items 원본에서 다시 집계
+    // : utcFrom/utcTo 는 KST 일자 범위를 UTC 로 바꾼 값 (created_at 인덱스 범위 스캔)
+    // - 아직 반영되지 않은 같은 구간의 outbox 행도 삭제 (원본 재집계에 이미 포함 >> 이중 반영 방지)
+    public int deleteRange(LocalDate from, LocalDate to) {
+        jdbcTemplate.update(
+                "DELETE FROM sales_rollup_outbox WHERE sales_date BETWEEN ? AND ?",
+                Date.valueOf(from), Date.valueOf(to));
+        int deleted = jdbcTemplate.update(
+                "DELETE FROM daily_order_status_rollups WHERE sales_date BETWEEN ? AND ?",
+                Date.valueOf(from), Date.valueOf(to));
+        deleted += jdbcTemplate.update(
+                "DELETE FROM daily_product_sales_rollups WHERE sales_date BETWEEN ? AND ?",
+                Date.valueOf(from), Date.valueOf(to));
+        return deleted;
+    }
+
+    public int rebuildStatusRollups(LocalDateTime utcFrom, LocalDateTime utcTo) {
+        return jdbcTemplate.update(
+                "INSERT INTO daily_order_status_rollups (sales_date, order_status, order_count, total_amount, total_quantity) " +
+                "SELECT " + KST_DATE + ", o.order_status, COUNT(*), SUM(o.total_amount), SUM(o.total_quantity) " +
+                "FROM orders o " +
+                "WHERE o.created_at >= ? AND o.created_at < ? " +
+                "GROUP BY " + KST_DATE + ", o.order_status",
+                Timestamp.valueOf(utcFrom), Timestamp.valueOf(utcTo));
+    }
+
+    public int rebuildProductRollups(LocalDateTime utcFrom, LocalDateTime utcTo) {
+        return jdbcTemplate.update(
+                "INSERT INTO daily_product_sales_rollups (sales_date, product_id, quantity, amount) " +
+                "SELECT " + KST_DATE + ", oi.product_id, SUM(oi.quantity), SUM(oi.quantity * oi.unit_price) " +
+                "FROM orders o " +
+                    "JOIN order_items oi ON oi.order_id = o.id " +
+                "WHERE o.order_status = 'APPROVED' AND o.created_at >= ? AND o.created_at < ? " +
+                "GROUP BY " + KST_DATE + ", oi.product_id",
+                Timestamp.valueOf(utcFrom), Timestamp.valueOf(utcTo));
+    }
+}
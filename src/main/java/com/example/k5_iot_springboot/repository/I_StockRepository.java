@@ -9,10 +9,12 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface I_StockRepository extends JpaRepository<I_Stock, Long> { //탸입을 제네릭으로
+public interface I_StockRepository extends JpaRepository<I_Stock, Long>, I_StockRepositoryCustom { //탸입을 제네릭으로
 
     // === 락킹 기법 (Locking) ===
     // 1. 락킹
@@ -39,4 +41,20 @@ public interface I_StockRepository extends JpaRepository<I_Stock, Long> { //탸
     Optional<I_Stock> findByProductIdForUpdate(@Param("productId") Long productId);
 
     Optional<I_Stock> findByProductId(Long productId);
-}
\ No newline at end of file
+
+    // === 수량 조회 (재고 원장 적재, 일괄 승인 시 부족 재고 배분) === //
+    // : 엔티티/상품 프록시 없이 수량만 읽어옴
+    interface StockQuantityProjection {
+        Long getProductId();
+        Integer getQuantity();
+    }
+
+    @Query("select s.product.id as productId, s.quantity as quantity from I_Stock s")
+    List<StockQuantityProjection> findAllQuantities();
+
+    @Query("select s.product.id as productId, s.quantity as quantity from I_Stock s where s.product.id in :productIds")
+    List<StockQuantityProjection> findQuantitiesByProductIdIn(@Param("productIds") Collection<Long> productIds);
+
+    @Query("select s.quantity from I_Stock s where s.product.id = :productId")
+    Optional<Integer> findQuantityByProductId(@Param("productId") Long productId);
+}
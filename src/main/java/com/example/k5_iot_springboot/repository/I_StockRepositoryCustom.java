@@ -0,0 +1,16 @@
+package com.example.k5_iot_springboot.repository;
+
+import java.util.Map;
+
+public interface I_StockRepositoryCustom {
+
+    /* 재고 일괄 차감 - 조건부 UPDATE (quantity >= 필요수량 인 행만 차감)
+     * : key=productId, value=차감 수량
+     * @return key=productId, value=영향 받은 행 수 (0 이면 재고 부족 또는 재고 정보 없음) */
+    Map<Long, Integer> decreaseAll(Map<Long, Integer> needMap);
+
+    /* 재고 일괄 복원 - 원자적 증가 UPDATE
+     * : key=productId, value=복원 수량
+     * @return key=productId, value=영향 받은 행 수 (0 이면 재고 정보 없음) */
+    Map<Long, Integer> increaseAll(Map<Long, Integer> restoreMap);
+}
@@ -0,0 +1,69 @@
+package com.example.k5_iot_springboot.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/*
+ * === 재고 차감 엔진 ===
+ * : SELECT(비관적 락) + 자바 검사 + UPDATE 대신
+ *   "UPDATE ... WHERE quantity >= :n" 한 문장으로 검사와 차감을 원자적으로 처리
+ * - 행 잠금은 UPDATE 순간에만 잡히고 커밋 시 해제 >> 락 대기 시간 최소화
+ * - 여러 상품은 JDBC batch 한 번으로 전송
+ * - productId 오름차순으로 갱신 >> 트랜잭션 간 잠금 순서가 같아 데드락 방지
+ * */
+@Repository
+@RequiredArgsConstructor
+public class I_StockRepositoryImpl implements I_StockRepositoryCustom {
+    private final JdbcTemplate jdbcTemplate;
+
+    private static final String DECREASE_SQL =
+            "UPDATE stocks SET quantity = quantity - ?, updated_at = ? WHERE product_id = ? AND quantity >= ?";
+
+    private static final String INCREASE_SQL =
+            "UPDATE stocks SET quantity = quantity + ?, updated_at = ? WHERE product_id = ?";
+
+    @Override
+    public Map<Long, Integer> decreaseAll(Map<Long, Integer> needMap) {
+        if (needMap == null || needMap.isEmpty()) return Map.of();
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        Map<Long, Integer> sorted = new TreeMap<>(needMap);
+
+        List<Object[]> batchArgs = new ArrayList<>(sorted.size());
+        sorted.forEach((productId, need) -> batchArgs.add(new Object[]{ need, now, productId, need }));
+
+        return toResultMap(sorted, jdbcTemplate.batchUpdate(DECREASE_SQL, batchArgs));
+    }
+
+    @Override
+    public Map<Long, Integer> increaseAll(Map<Long, Integer> restoreMap) {
+        if (restoreMap == null || restoreMap.isEmpty()) return Map.of();
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        Map<Long, Integer> sorted = new TreeMap<>(restoreMap);
+
+        List<Object[]> batchArgs = new ArrayList<>(sorted.size());
+        sorted.forEach((productId, quantity) -> batchArgs.add(new Object[]{ quantity, now, productId }));
+
+        return toResultMap(sorted, jdbcTemplate.batchUpdate(INCREASE_SQL, batchArgs));
+    }
+
+    // batch 결과(int[])를 요청 순서(productId 오름차순) 그대로 productId 와 짝지음
+    private Map<Long, Integer> toResultMap(Map<Long, Integer> sorted, int[] counts) {
+        Map<Long, Integer> result = new LinkedHashMap<>();
+        int i = 0;
+        for (Long productId : sorted.keySet()) {
+            result.put(productId, counts[i++]);
+        }
+        return result;
+    }
+}
@@ -1,7 +1,5 @@
 package com.example.k5_iot_springboot.security;
 
-import com.example.k5_iot_springboot.entity.G_User;
-import com.example.k5_iot_springboot.repository.G_UserRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
@@ -29,11 +27,8 @@ import org.springframework.stereotype.Service;
 @Service
 @RequiredArgsConstructor
 public class CustomUserDetailsService implements UserDetailsService {
-    // 데이터 접근 계층(사용자 조회 담당)
-    private final G_UserRepository userRepository;
-
-    // 변환 계층 (보안 모델로 변환)
-    private final UserPrincipalMapper principalMapper;
+    // 사용자 조회 + 보안 모델 변환 (로그인은 캐시를 거치지 않고 항상 DB 조회)
+    private final UserPrincipalCache principalCache;
 
     /**
      * loadUserByUsername 메서드
@@ -52,11 +47,9 @@ public class CustomUserDetailsService implements UserDetailsService {
 
         // 현재는 loginId를 username 으로 사용하는 정책임 -- 8/27
         // +) 이메일 로그인 정책 시 userRepository.findByEmail(username) 형태로 변경
-        G_User user = userRepository.findByLoginId(username)
-                .orElseThrow( () -> new UsernameNotFoundException("사용자를 찾을 수 없습니다: " + username));
-
-        // 도메인 엔티티를 보안 VO 객체로 변환하여 반환
-        return principalMapper.map(user);
+        // 도메인 엔티티를 보안 VO 객체로 변환하여 반환 (UserPrincipalCache 에서 변환)
+        // : 비밀번호 해시를 비교하는 경로이므로 캐시된 값(이전 비밀번호 해시일 수 있음)은 사용하지 않음
+        return principalCache.loadForAuthentication(loginId);
     }
 
 
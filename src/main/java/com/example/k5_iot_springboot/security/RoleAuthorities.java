@@ -0,0 +1,83 @@
+package com.example.k5_iot_springboot.security;
+
+import com.example.k5_iot_springboot.common.enums.RoleType;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/*
+ * === RoleAuthorities ===
+ * : RoleType -> GrantedAuthority 사전 계산 테이블 (불변, 클래스 로딩 시 1회 생성)
+ * - 역할 조합(비트마스크)별 권한 목록도 미리 만들어 공유 >> principal 구성 시 "ROLE_" 문자열 / 권한 객체 생성 X
+ * - 역할이 하나도 없으면 기본 ROLE_USER (UserPrincipalMapper 정책과 동일)
+ *
+ * cf) "ROLE_" 접두사: hasRole("ADMIN") 은 내부적으로 "ROLE_ADMIN" 권한 문자열을 찾음
+ * cf) RoleType 이 늘어나면 조합 수가 2^n 으로 증가 - 현재 3개(8개 조합)
+ * */
+public final class RoleAuthorities {
+    private static final RoleType[] TYPES = RoleType.values();
+
+    /* 비트마스크(ordinal 비트) -> 권한 목록 */
+    private static final List<GrantedAuthority>[] BY_MASK;
+
+    /* "USER" / "ROLE_USER" -> RoleType */
+    private static final Map<String, RoleType> BY_NAME = new HashMap<>();
+
+    static {
+        GrantedAuthority[] single = new GrantedAuthority[TYPES.length];
+        for (RoleType type : TYPES) {
+            single[type.ordinal()] = new SimpleGrantedAuthority("ROLE_" + type.name());
+            BY_NAME.put(type.name(), type);
+            BY_NAME.put("ROLE_" + type.name(), type);
+        }
+
+        @SuppressWarnings("unchecked")
+        List<GrantedAuthority>[] table = new List[1 << TYPES.length];
+        for (int mask = 0; mask < table.length; mask++) {
+            List<GrantedAuthority> list = new ArrayList<>();
+            for (RoleType type : TYPES) {
+                if ((mask & bit(type)) != 0) list.add(single[type.ordinal()]);
+            }
+            table[mask] = List.copyOf(list);
+        }
+        table[0] = table[bit(RoleType.USER)]; // 역할 없음 >> 기본 ROLE_USER
+        BY_MASK = table;
+    }
+
+    private RoleAuthorities() {}
+
+    public static int bit(RoleType type) {
+        return 1 << type.ordinal();
+    }
+
+    /* 역할 조합(비트마스크)의 공유 권한 목록 */
+    public static List<GrantedAuthority> ofMask(int mask) {
+        return BY_MASK[mask];
+    }
+
+    /* 역할 이름("USER" 또는 "ROLE_USER") 목록 -> 권한 목록
+     * : 알 수 없는 이름이 섞여 있으면(커스텀 권한 등) 그 경우에만 새 목록 생성 */
+    public static List<GrantedAuthority> fromNames(Collection<String> names) {
+        int mask = 0;
+        List<String> unknown = null;
+        for (String name : names) {
+            RoleType type = BY_NAME.get(name);
+            if (type != null) {
+                mask |= bit(type);
+            } else {
+                if (unknown == null) unknown = new ArrayList<>();
+                unknown.add(name.startsWith("ROLE_") ? name : "ROLE_" + name);
+            }
+        }
+        if (unknown == null) return BY_MASK[mask];
+
+        List<GrantedAuthority> list = new ArrayList<>(mask == 0 ? List.of() : BY_MASK[mask]);
+        unknown.forEach(name -> list.add(new SimpleGrantedAuthority(name)));
+        return List.copyOf(list);
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.k5_iot_springboot.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/*
+ * === RoleChangeRegistry ===
+ * : 사용자별 "마지막 권한 변경 시각" 기록 - 클레임 기반(stateless) principal 의 폐기 검사용
+ * - 토큰의 iat 가 마지막 권한 변경 시각 이전이면 토큰의 roles 를 신뢰하지 않음 (stale)
+ *      >> 필터는 DB 재조회로 최신 권한을 반영 (재로그인 강제 X)
+ * - 권한 변경 트랜잭션 안에서 호출되면 지금 + 커밋 직후 두 번 기록
+ *      >> 변경 ~ 커밋 사이에 (이전 권한으로) 발급된 토큰도 stale
+ * - 기동 시각 이전에 발급된 토큰도 stale 로 간주
+ *      >> 재기동으로 변경 기록이 사라져도 이전 권한이 부활하지 않음
+ *
+ * # 주의 #
+ * - 기록은 인스턴스 메모리에만 존재 >> 다중 인스턴스에서는 권한 변경이 다른 인스턴스에 전파되지 않음
+ *      >> jwt.stateless-principal 기본값은 false (DB 조회 모드), 단일 인스턴스에서만 true 로 활성화
+ * - 토큰 최대 수명(expiration + clock-skew)이 지난 기록은 더 이상 필요 없으므로 주기적으로 정리
+ * */
+@Component
+public class RoleChangeRegistry {
+    private final long bootMillis = System.currentTimeMillis();
+    private final long retentionMillis;
+
+    /* userId -> 마지막 권한 변경 시각(ms) */
+    private final Map<Long, Long> changedAt = new ConcurrentHashMap<>();
+
+    public RoleChangeRegistry(
+            @Value("${jwt.expiration}") long jwtExpirationMs,
+            @Value("${jwt.clock-skew-seconds:0}") int clockSkewSeconds
+    ) {
+        this.retentionMillis = jwtExpirationMs + Math.max(clockSkewSeconds, 0) * 1000L;
+    }
+
+    /* 권한 변경 기록 - 이 시각(트랜잭션 안이면 커밋 시각) 이전에 발급된 해당 사용자의 토큰은 stale */
+    public void markChanged(Long userId) {
+        record(userId);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) return;
+
+        // 커밋 전에는 로그인/refresh 가 이전 권한을 읽어 토큰을 발급할 수 있음 >> 커밋 시각으로 다시 기록
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                record(userId);
+            }
+        });
+    }
+
+    /* 토큰의 roles 를 그대로 믿을 수 없는지 여부 */
+    public boolean isStale(Long userId, Instant issuedAt) {
+        if (userId == null || issuedAt == null) return true;
+
+        // iat 는 초 단위(밀리초 절삭) >> 같은 초에 발급/변경된 경우도 stale 로 처리 (보수적)
+        long iat = issuedAt.toEpochMilli();
+        if (iat < bootMillis) return true;
+
+        Long changed = changedAt.get(userId);
+        return changed != null && iat < changed;
+    }
+
+    private void record(Long userId) {
+        changedAt.merge(userId, System.currentTimeMillis(), Math::max);
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.role-change.cleanup-interval-ms:600000}")
+    public void purgeExpired() {
+        long threshold = System.currentTimeMillis() - retentionMillis;
+        changedAt.values().removeIf(changed -> changed < threshold);
+    }
+}
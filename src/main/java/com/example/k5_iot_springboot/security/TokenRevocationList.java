@@ -0,0 +1,94 @@
+package com.example.k5_iot_springboot.security;
+
+import com.example.k5_iot_springboot.provider.ParsedToken;
+import com.example.k5_iot_springboot.repository.G_RevokedAccessTokenRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/*
+ * === TokenRevocationList ===
+ * : 폐기된 액세스 토큰 jti 집합 (메모리) - 필터의 폐기 검사는 해시 조회 1회 (DB 조회 X)
+ * - 기동 시(ApplicationReadyEvent) 만료되지 않은 폐기 기록을 DB 에서 적재
+ * - sync-interval-ms 마다 최근 기록만 추가 적재 >> 다른 인스턴스에서 폐기된 토큰도 반영
+ * - 만료 시각이 지난 jti 는 제거 (만료 토큰은 서명 검증 단계에서 이미 거부)
+ *
+ * cf) 블룸 필터 대신 정확한 해시 집합 사용
+ *      - 항목 수 = "수명이 남은 폐기 토큰 수" 로 작고, 오탐(정상 토큰 거부)이 없음
+ * */
+@Component
+@Slf4j
+public class TokenRevocationList {
+    private static final int CLEANUP_BATCH = 1000;
+    private static final long SYNC_OVERLAP_SECONDS = 5; // 인스턴스 간 시계 오차/커밋 지연 보정
+
+    private final G_RevokedAccessTokenRepository revokedRepository;
+    private final long clockSkewMillis;
+
+    /* jti -> 만료 시각(ms) */
+    private final Map<String, Long> revoked = new ConcurrentHashMap<>();
+    private volatile LocalDateTime lastSyncedAt;
+
+    public TokenRevocationList(
+            G_RevokedAccessTokenRepository revokedRepository,
+            @Value("${jwt.clock-skew-seconds:0}") int clockSkewSeconds
+    ) {
+        this.revokedRepository = revokedRepository;
+        this.clockSkewMillis = Math.max(clockSkewSeconds, 0) * 1000L;
+    }
+
+    public boolean isRevoked(String jti) {
+        return jti != null && revoked.containsKey(jti);
+    }
+
+    /* 토큰 폐기 - DB 기록 + 메모리 반영 (jti 없는 구 토큰은 폐기 불가) */
+    public void revoke(ParsedToken token) {
+        if (token.id() == null) return;
+
+        // 허용 오차 구간까지는 유효하므로 exp + clock-skew 까지 보관
+        long keepUntil = token.expiresAt().toEpochMilli() + clockSkewMillis;
+        revokedRepository.insert(token.id(), LocalDateTime.ofInstant(Instant.ofEpochMilli(keepUntil), ZoneId.systemDefault()));
+        revoked.put(token.id(), keepUntil);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        revoked.clear();
+        lastSyncedAt = null;
+        sync();
+        log.info("Token revocation list loaded: {} tokens", revoked.size());
+    }
+
+    /* 최근 기록 추가 적재 (다중 인스턴스) */
+    @Scheduled(fixedDelayString = "${jwt.revocation.sync-interval-ms:5000}")
+    public void sync() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime since = (lastSyncedAt == null) ? LocalDateTime.of(1970, 1, 1, 0, 0) : lastSyncedAt.minusSeconds(SYNC_OVERLAP_SECONDS);
+
+        revokedRepository.forEachActive(now, since, rs -> revoked.put(
+                rs.getString(1),
+                rs.getTimestamp(2).toLocalDateTime().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli()));
+        lastSyncedAt = now;
+    }
+
+    /* 만료된 jti 정리 (메모리 + DB) */
+    @Scheduled(fixedDelayString = "${jwt.revocation.cleanup-interval-ms:600000}")
+    public void cleanup() {
+        long nowMillis = System.currentTimeMillis();
+        revoked.values().removeIf(keepUntil -> keepUntil < nowMillis);
+
+        int deleted;
+        do {
+            deleted = revokedRepository.deleteExpired(LocalDateTime.now(), CLEANUP_BATCH);
+        } while (deleted == CLEANUP_BATCH);
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.k5_iot_springboot.security;
+
+import com.example.k5_iot_springboot.common.utils.TtlCache;
+import com.example.k5_iot_springboot.entity.G_User;
+import com.example.k5_iot_springboot.repository.G_UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+
+/*
+ * === UserPrincipalCache ===
+ * : loginId -> UserPrincipal 공유 캐시 (JwtAuthenticationFilter, CustomUserDetailsService 공용)
+ * - 요청마다 users ⋈ user_roles 조인 조회를 반복하지 않음
+ * - 최대 크기 + TTL 로 제한 (TtlCache)
+ * - 권한/프로필 변경 시 UserPrincipalChangedEvent 를 발행하면 커밋 후 해당 항목 제거
+ *      >> 다음 요청은 DB 에서 최신 값으로 다시 적재 (read-your-writes)
+ *
+ * - 로그인(비밀번호 검증)은 캐시를 거치지 않음 (loadForAuthentication) >> 항상 최신 비밀번호 해시로 비교
+ *
+ * # 무효화와 적재의 경합 #
+ * - 커밋 전에 읽은 이전 값을 커밋 후 제거(evict) 뒤에 다시 넣는 경우 방지
+ *      >> 무효화마다 generation 증가, DB 조회 전에 읽은 generation 이 그대로일 때만 저장
+ *
+ * # 주의 #
+ * - 이벤트 없이 DB 를 직접 수정한 경우 TTL 이 지날 때까지 이전 값이 보일 수 있음
+ * */
+@Component
+public class UserPrincipalCache {
+    private final G_UserRepository userRepository;
+    private final UserPrincipalMapper principalMapper;
+    private final TtlCache<String, UserPrincipal> cache;
+    private final AtomicLong generation = new AtomicLong(); // 무효화 횟수
+
+    public UserPrincipalCache(
+            G_UserRepository userRepository,
+            UserPrincipalMapper principalMapper,
+            @Value("${security.principal-cache.max-size:10000}") int maxSize,
+            @Value("${security.principal-cache.ttl-seconds:300}") long ttlSeconds
+    ) {
+        this.userRepository = userRepository;
+        this.principalMapper = principalMapper;
+        this.cache = new TtlCache<>(maxSize, Duration.ofSeconds(ttlSeconds));
+    }
+
+    /* 캐시 조회 - 없으면 DB 에서 적재 후 보관 */
+    public UserPrincipal load(String loginId) {
+        UserPrincipal cached = cache.get(loginId);
+        if (cached != null) return cached;
+
+        long observed = generation.get(); // 조회 전에 읽어야 함
+        UserPrincipal principal = loadFromDb(loginId);
+
+        // 조회 중 무효화가 있었으면 저장하지 않음 (이전 값일 수 있음)
+        if (generation.get() == observed) cache.put(loginId, principal);
+        return principal;
+    }
+
+    /* 로그인 전용 - 캐시를 거치지 않고 항상 DB 조회 (비밀번호 변경 직후 이전 해시로 인증되는 것 방지) */
+    public UserPrincipal loadForAuthentication(String loginId) {
+        return loadFromDb(loginId);
+    }
+
+    public void evict(String loginId) {
+        generation.incrementAndGet();
+        cache.invalidate(loginId);
+    }
+
+    // 변경 트랜잭션 커밋 후 제거 (트랜잭션 밖에서 발행되면 즉시 제거)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onChanged(UserPrincipalChangedEvent event) {
+        generation.incrementAndGet();
+        if (event.loginId() != null) {
+            cache.invalidate(event.loginId());
+        }
+        if (event.userId() != null) {
+            cache.invalidateIf((loginId, principal) -> Objects.equals(principal.getId(), event.userId()));
+        }
+    }
+
+    private UserPrincipal loadFromDb(String loginId) {
+        G_User user = userRepository.findByLoginId(loginId)
+                .orElseThrow(() -> new UsernameNotFoundException("사용자를 찾을 수 없습니다: " + loginId));
+        return principalMapper.map(user);
+    }
+}
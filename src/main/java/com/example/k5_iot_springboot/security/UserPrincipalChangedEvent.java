@@ -0,0 +1,10 @@
+package com.example.k5_iot_springboot.security;
+
+/**
+ * 사용자 보안 정보(권한/프로필 등) 변경 이벤트
+ * : 발행 트랜잭션이 커밋된 뒤 UserPrincipalCache 에서 해당 사용자 항목을 제거
+ *
+ * @param userId  변경된 사용자 PK
+ * @param loginId 변경된 사용자 로그인 아이디 (캐시 key)
+ */
+public record UserPrincipalChangedEvent(Long userId, String loginId) {}
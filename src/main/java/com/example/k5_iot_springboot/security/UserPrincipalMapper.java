@@ -1,13 +1,13 @@
 package com.example.k5_iot_springboot.security;
 
 import com.example.k5_iot_springboot.entity.G_User;
+import com.example.k5_iot_springboot.entity.G_UserRole;
+import com.example.k5_iot_springboot.provider.ParsedToken;
 import org.springframework.lang.NonNull;
 import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.stereotype.Component;
 
 import java.util.Collection;
-import java.util.List;
 
 /**
  * === UserPrincipalMapper ===
@@ -35,18 +35,15 @@ public class UserPrincipalMapper {
     public UserPrincipal map(@NonNull G_User user) {
 //        Collection<SimpleGrantedAuthority> authorities = List.of(new SimpleGrantedAuthority("ROLE_USER"));
 
-        Collection<? extends GrantedAuthority> authorities =
-                // 사용자 정보 내부의 권한이 비어져있거나 없는 경우
-                (user.getRoles() == null || user.getRoles().isEmpty())
-                        // 기본 권한 "ROLE_USER" 부여
-                    ? List.of(new SimpleGrantedAuthority("ROLE_USER"))
-                        // 해당 권한(들)을 GrantedAuthority 타입으로 변환하여 반환
-                    : user.getRoles().stream()
-                        .map(r -> {
-                            String name = r.getRole().toString();
-                            String role = name.startsWith("ROLE_") ? name : "ROLE_" + name;
-                            return new SimpleGrantedAuthority(role);
-                        }).toList();
+        // 보유 역할을 비트마스크로 모아 사전 계산된 권한 목록을 공유 (문자열/권한 객체 생성 X)
+        // : 권한이 비어져있거나 없는 경우 기본 권한 "ROLE_USER" (RoleAuthorities 정책)
+        int mask = 0;
+        if (user.getRoles() != null) {
+            for (G_UserRole userRole : user.getRoles()) {
+                mask |= RoleAuthorities.bit(userRole.getRole().getName());
+            }
+        }
+        Collection<? extends GrantedAuthority> authorities = RoleAuthorities.ofMask(mask);
 
         return UserPrincipal.builder()
                 .id(user.getId())
@@ -60,5 +57,26 @@ public class UserPrincipalMapper {
                 .build();
     }
 
+    /**
+     * 검증된 토큰 클레임 -> UserPrincipal (DB 조회 없음)
+     * - password 는 보관하지 않음 (토큰 인증 이후에는 사용하지 않음)
+     * - 계정 상태 플래그는 map(G_User) 과 동일하게 모두 true
+     * */
+    @NonNull
+    public UserPrincipal map(@NonNull ParsedToken token) {
+        Collection<? extends GrantedAuthority> authorities = RoleAuthorities.fromNames(token.roles());
+
+        return UserPrincipal.builder()
+                .id(token.userId())
+                .username(token.subject())
+                .password(null)
+                .authorities(authorities)
+                .accountNonExpired(true)
+                .accountNonLocked(true)
+                .credentialsNonExpired(true)
+                .enabled(true)
+                .build();
+    }
+
 
 }
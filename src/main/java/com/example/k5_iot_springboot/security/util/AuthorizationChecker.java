@@ -10,28 +10,48 @@ package com.example.k5_iot_springboot.security.util;
 //  : 컨트롤러/서비스에 비즈니스 로직을 섞지 않기 위해 빈(Bean) 으로 분리 권장
 
 import com.example.k5_iot_springboot.common.enums.OrderStatus;
-import com.example.k5_iot_springboot.entity.H_Article;
-import com.example.k5_iot_springboot.entity.I_Order;
+import com.example.k5_iot_springboot.common.utils.TtlCache;
 import com.example.k5_iot_springboot.repository.H_ArticleRepository;
 import com.example.k5_iot_springboot.repository.I_OrderRepository;
 import com.example.k5_iot_springboot.security.UserPrincipal;
-import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+// # 소유자 조회 #
+// - 엔티티 전체(본문 LOB, 연관 프록시)가 아닌 소유자 값만 projection 으로 조회
+// - 소유자는 생성 후 바뀌지 않으므로 짧은 TTL 캐시에 보관 >> 같은 대상에 대한 반복 수정/삭제는 검사 쿼리 0회
+//      (서비스 메서드는 엔티티를 1회만 조회 - 가드된 쓰기 1건 = 쿼리 1회)
+// - 상태(주문 status 등)처럼 바뀌는 값은 캐시하지 않음
 @Component("authz")
-@RequiredArgsConstructor
 public class AuthorizationChecker { //권한, 롤 만으로는 체크하기 힘든 사항을 검증해줌
     private final H_ArticleRepository articleRepository;
     private final I_OrderRepository orderRepository;
 
+    /* "article:{id}" -> 작성자 loginId, "order:{id}" -> 주문자 userId */
+    private final TtlCache<String, Object> ownerCache;
+
+    public AuthorizationChecker(
+            H_ArticleRepository articleRepository,
+            I_OrderRepository orderRepository,
+            @Value("${security.ownership-cache.max-size:10000}") int maxSize,
+            @Value("${security.ownership-cache.ttl-seconds:60}") long ttlSeconds
+    ) {
+        this.articleRepository = articleRepository;
+        this.orderRepository = orderRepository;
+        this.ownerCache = new TtlCache<>(maxSize, Duration.ofSeconds(ttlSeconds));
+    }
+
     /** principal(LoginId)이 해당 articledId의 작성자인지 검사 */
     public boolean isArticleAuthor(Long articleId, Authentication principal) {
         if (principal == null || articleId == null) return false;
         String loginId = principal.getName(); //JwtAuthenticationFilter에서 username으로 주입시키는 값임
-        H_Article article = articleRepository.findById(articleId).orElse(null);
-        if (article == null) return false;
-        return article.getAuthor().getLoginId().equals(loginId);
+        Object author = owner("article:" + articleId, () -> articleRepository.findAuthorLoginIdById(articleId));
+        return author != null && author.equals(loginId);
         // loginId와 article의 작성자가 일치하면 true 반환, 아닐 경우 false 반환
     }
 
@@ -49,12 +69,40 @@ public class AuthorizationChecker { //권한, 롤 만으로는 체크하기 힘
     public boolean canCancel(Long orderId, Authentication authentication) {
         Long me = extractuserId(authentication);
 
-        return orderRepository.findById(orderId)
-                .map(o -> o.getUser().getId().equals(me)
+        if (orderId == null || me == null) return false;
+
+        // 상태는 바뀌므로 캐시 없이 projection 조회
+        return orderRepository.findOwnerStatusById(orderId)
+                .map(o -> me.equals(o.getUserId())
                         && o.getOrderStatus() == OrderStatus.PENDING)
                 .orElse(false);
     }
 
+    /** 해당 주문의 주문자인지 확인 (주문 로그 조회 등) */
+    public boolean isOrderOwner(Long orderId, Authentication authentication) {
+        if (orderId == null) return false;
+        Long me = extractuserId(authentication);
+        if (me == null) return false;
+
+        Object owner = owner("order:" + orderId, () -> orderRepository.findUserIdById(orderId));
+        return me.equals(owner);
+    }
+
+    /** 삭제된 게시글의 소유자 캐시 제거 */
+    public void evictArticle(Long articleId) {
+        ownerCache.invalidate("article:" + articleId);
+    }
+
+    // == 소유자 캐시 조회 - 없으면 projection 조회 후 보관 (대상이 없으면 캐시하지 않음) == //
+    private Object owner(String key, Supplier<Optional<?>> loader) {
+        Object cached = ownerCache.get(key);
+        if (cached != null) return cached;
+
+        Object loaded = loader.get().orElse(null);
+        if (loaded != null) ownerCache.put(key, loaded);
+        return loaded;
+    }
+
     // == 프로젝트의 Principal 구조에 맞게 사용자 ID 추출 == //
     private  Long extractuserId (Authentication authentication) {
         if (authentication == null) return null;
@@ -4,6 +4,7 @@ import com.example.k5_iot_springboot.dto.D_Post.request.PostCreateRequestDto;
 import com.example.k5_iot_springboot.dto.D_Post.request.PostUpdateRequestDto;
 import com.example.k5_iot_springboot.dto.D_Post.response.PostDetailResponseDto;
 import com.example.k5_iot_springboot.dto.D_Post.response.PostListResponseDto;
+import com.example.k5_iot_springboot.dto.D_Post.response.PostSliceResponseDto;
 import com.example.k5_iot_springboot.dto.D_Post.response.PostWithCommentCountResponseDto;
 import com.example.k5_iot_springboot.dto.ResponseDto;
 import jakarta.validation.Valid;
@@ -17,7 +18,7 @@ public interface D_PostService {
 
     ResponseDto<PostDetailResponseDto> getPostById(Long id);
 
-    ResponseDto<List<PostListResponseDto>> getAllPosts();
+    ResponseDto<PostSliceResponseDto> getPosts(Long cursor, int size);
 
     ResponseDto<PostDetailResponseDto> updatePost(Long id, @Valid PostUpdateRequestDto dto);
 
@@ -25,11 +26,11 @@ public interface D_PostService {
 
     ResponseDto<List<PostListResponseDto>> getPostsByAuthor(String author);
 
-    ResponseDto<List<PostListResponseDto>> searchPostsByTitle(@NotBlank(message = "검색 키워드는 비워질 수 없습니다.") String keyword);
+    ResponseDto<PostSliceResponseDto> searchPostsByTitle(@NotBlank(message = "검색 키워드는 비워질 수 없습니다.") String keyword, Long cursor, int size);
 
-    ResponseDto<List<PostWithCommentCountResponseDto>> getTop5PostsByComments();
+    ResponseDto<List<PostWithCommentCountResponseDto>> getTopPostsByComments(int limit);
 
-    ResponseDto<List<PostListResponseDto>> searchPostsByCommentKeyword(String keyword);
+    ResponseDto<PostSliceResponseDto> searchPostsByCommentKeyword(String keyword, Long cursor, int size);
 
     ResponseDto<List<PostWithCommentCountResponseDto>> getAuthorPostsWithMinComments(@NotBlank(message = "작성자는 비워질 수 없습니다.") String author, @PositiveOrZero(message = "minCount는 0 이상이어야합니다.") int minCount);
 }
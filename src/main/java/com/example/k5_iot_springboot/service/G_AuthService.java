@@ -1,11 +1,13 @@
 package com.example.k5_iot_springboot.service;
 
 import com.example.k5_iot_springboot.dto.G_Auth.request.FindIdRequest;
+import com.example.k5_iot_springboot.dto.G_Auth.request.RefreshTokenRequest;
 import com.example.k5_iot_springboot.dto.G_Auth.request.SignInRequest;
 import com.example.k5_iot_springboot.dto.G_Auth.request.SignUpRequest;
 import com.example.k5_iot_springboot.dto.G_Auth.response.FindIdResponse;
 import com.example.k5_iot_springboot.dto.G_Auth.response.SignInResponse;
 import com.example.k5_iot_springboot.dto.ResponseDto;
+import com.example.k5_iot_springboot.provider.ParsedToken;
 import jakarta.validation.Valid;
 
 public interface G_AuthService {
@@ -14,4 +16,8 @@ public interface G_AuthService {
     ResponseDto<SignInResponse> signIn(@Valid SignInRequest req);
 
     ResponseDto<FindIdResponse> findId(@Valid FindIdRequest req);
+
+    ResponseDto<SignInResponse> refresh(@Valid RefreshTokenRequest req);
+
+    void signOut(ParsedToken accessToken, @Valid RefreshTokenRequest req);
 }
\ No newline at end of file
@@ -1,5 +1,6 @@
 package com.example.k5_iot_springboot.service;
 
+import com.example.k5_iot_springboot.dto.G_Auth.request.PasswordChangeRequest;
 import com.example.k5_iot_springboot.dto.G_User.request.UserProfileUpdateRequest;
 import com.example.k5_iot_springboot.dto.G_User.response.UserProfileResponse;
 import com.example.k5_iot_springboot.dto.ResponseDto;
@@ -13,4 +14,6 @@ public interface G_UserService {
     ResponseDto<UserProfileResponse.MyPageResponse> getMyInfo(UserPrincipal principal);
 
     ResponseDto<UserProfileResponse.MyPageResponse> updateMyInfo(UserPrincipal principal, @Valid UserProfileUpdateRequest request) ;
+
+    void changePassword(UserPrincipal principal, @Valid PasswordChangeRequest request);
 }
@@ -0,0 +1,8 @@
+package com.example.k5_iot_springboot.service;
+
+import com.example.k5_iot_springboot.dto.I_Order.response.OrderLogResponse;
+import com.example.k5_iot_springboot.dto.ResponseDto;
+
+public interface I_OrderLogService {
+    ResponseDto<OrderLogResponse.SliceResponse> getLogs(Long orderId, int page, int size);
+}
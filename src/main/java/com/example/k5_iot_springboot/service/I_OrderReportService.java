@@ -0,0 +1,15 @@
+package com.example.k5_iot_springboot.service;
+
+import com.example.k5_iot_springboot.dto.I_Order.response.OrderReportResponse;
+import com.example.k5_iot_springboot.dto.ResponseDto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface I_OrderReportService {
+    ResponseDto<List<OrderReportResponse.DailySales>> getDailySales(LocalDate from, LocalDate to);
+    ResponseDto<List<OrderReportResponse.StatusSales>> getStatusSales(LocalDate from, LocalDate to);
+    ResponseDto<List<OrderReportResponse.ProductSales>> getProductSales(LocalDate from, LocalDate to);
+    ResponseDto<List<OrderReportResponse.ProductSales>> getTopProducts(LocalDate from, LocalDate to, int limit);
+    ResponseDto<OrderReportResponse.BackfillResult> backfill(LocalDate from, LocalDate to);
+}
@@ -0,0 +1,147 @@
+package com.example.k5_iot_springboot.service.auth;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+ * === PasswordHashExecutor ===
+ * : BCrypt 해시/비교 전용 고정 크기 스레드 풀
+ * - 로그인 폭주 시 Tomcat 요청 스레드 전체가 BCrypt(CPU) 에 묶이지 않도록 동시 해시 수를 threads 로 제한
+ * - 대기열(queue-capacity)이 가득 차면 즉시 거부 >> RejectedExecutionException (GlobalExceptionHandler 에서 429)
+ * - 대기열 대기 시간 + 해시 수행 시간을 집계 (stats) >> stats-log-interval-ms 마다 로그로 출력
+ *
+ * # 주의 #
+ * - 호출 스레드는 결과를 기다리는 동안 블록됨 (CPU 는 사용하지 않음)
+ *      >> 트랜잭션(DB 커넥션)을 잡은 상태로 호출하지 않아야 함
+ * */
+@Component
+@Slf4j
+public class PasswordHashExecutor {
+    private final ThreadPoolExecutor executor;
+    private final long timeoutMs;
+
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder queueWaitNanos = new LongAdder();
+    private final LongAdder hashNanos = new LongAdder();
+    private final LongAccumulator maxQueueWaitNanos = new LongAccumulator(Math::max, 0);
+    private final LongAccumulator maxHashNanos = new LongAccumulator(Math::max, 0);
+
+    /* 실행 통계 (평균/최대 단위: ms) */
+    public record Stats(
+            long completed, long rejected, int queued, int active,
+            double avgQueueWaitMs, double maxQueueWaitMs,
+            double avgHashMs, double maxHashMs
+    ) {}
+
+    public PasswordHashExecutor(
+            @Value("${security.password-hash.threads:0}") int threads,
+            @Value("${security.password-hash.queue-capacity:64}") int queueCapacity,
+            @Value("${security.password-hash.timeout-ms:5000}") long timeoutMs
+    ) {
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        AtomicInteger seq = new AtomicInteger();
+
+        this.executor = new ThreadPoolExecutor(
+                poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(queueCapacity, 1)),
+                r -> {
+                    Thread t = new Thread(r, "password-hash-" + seq.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+        this.timeoutMs = timeoutMs;
+
+        log.info("Password hash executor: threads={}, queueCapacity={}", poolSize, queueCapacity);
+    }
+
+    /**
+     * 해시 작업 실행 후 결과 반환 (작업 예외는 그대로 전파)
+     * @throws RejectedExecutionException 대기열 포화 또는 timeout-ms 초과
+     * */
+    public <T> T execute(Callable<T> task) {
+        long submittedAt = System.nanoTime();
+
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                long startedAt = System.nanoTime();
+                record(queueWaitNanos, maxQueueWaitNanos, startedAt - submittedAt);
+                try {
+                    return task.call();
+                } finally {
+                    record(hashNanos, maxHashNanos, System.nanoTime() - startedAt);
+                    completed.increment();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new RejectedExecutionException("로그인 요청이 많습니다. 잠시 후 다시 시도해주세요.");
+        }
+
+        try {
+            return future.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            rejected.increment();
+            throw new RejectedExecutionException("로그인 처리가 지연되고 있습니다. 잠시 후 다시 시도해주세요.");
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("비밀번호 확인이 중단되었습니다.", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException re) throw re; // BadCredentialsException 등
+            throw new IllegalStateException("비밀번호 확인에 실패했습니다.", e.getCause());
+        }
+    }
+
+    public Stats stats() {
+        long n = Math.max(completed.sum(), 1);
+        return new Stats(
+                completed.sum(), rejected.sum(), executor.getQueue().size(), executor.getActiveCount(),
+                toMs(queueWaitNanos.sum()) / n, toMs(maxQueueWaitNanos.get()),
+                toMs(hashNanos.sum()) / n, toMs(maxHashNanos.get())
+        );
+    }
+
+    /* 실행 통계 주기 출력 (누적값) */
+    @Scheduled(fixedDelayString = "${security.password-hash.stats-log-interval-ms:60000}", initialDelayString = "${security.password-hash.stats-log-interval-ms:60000}")
+    public void logStats() {
+        Stats stats = stats();
+        log.info("Password hash executor: completed={}, rejected={}, queued={}, active={}, queueWait avg/max={}/{}ms, hash avg/max={}/{}ms",
+                stats.completed(), stats.rejected(), stats.queued(), stats.active(),
+                String.format("%.1f", stats.avgQueueWaitMs()), String.format("%.1f", stats.maxQueueWaitMs()),
+                String.format("%.1f", stats.avgHashMs()), String.format("%.1f", stats.maxHashMs()));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private void record(LongAdder sum, LongAccumulator max, long nanos) {
+        sum.add(nanos);
+        max.accumulate(nanos);
+    }
+
+    private double toMs(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
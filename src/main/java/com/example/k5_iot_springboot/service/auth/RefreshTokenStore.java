@@ -0,0 +1,119 @@
+package com.example.k5_iot_springboot.service.auth;
+
+import com.example.k5_iot_springboot.repository.G_RefreshTokenRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.UUID;
+
+/*
+ * === RefreshTokenStore ===
+ * : 회전(rotation) 방식 리프레시 토큰 발급/교환/폐기
+ * - 토큰 = 임의 256비트 (Base64URL) - JWT 아님, DB 에는 SHA-256 해시만 저장
+ * - 교환(rotate) 시 사용한 토큰은 즉시 폐기하고 같은 family 로 새 토큰 발급 (1회용)
+ * - 이미 폐기된 토큰이 다시 들어오면 탈취로 간주 >> family 전체 폐기 (재로그인 필요)
+ * - 비밀번호/권한 변경 시 사용자의 모든 family 폐기 (revokeAllForUser) >> 기존 세션은 재로그인 필요
+ *
+ * # 주의 #
+ * - rotate 는 호출 트랜잭션 안에서 실행되어야 함 (FOR UPDATE 로 동시 교환 직렬화)
+ * - 재사용 감지 시 family 폐기 후 예외를 던지므로, 호출부는 해당 예외로 롤백하지 않아야 함
+ * */
+@Component
+@Slf4j
+public class RefreshTokenStore {
+    private static final int TOKEN_BYTES = 32;
+    private static final int CLEANUP_BATCH = 1000;
+
+    private final G_RefreshTokenRepository refreshTokenRepository;
+    private final Duration tokenTtl;
+    private final SecureRandom random = new SecureRandom();
+
+    /** 발급된 리프레시 토큰 (원문은 응답으로만 전달) */
+    public record Issued(String token, long expiresAt) {}
+
+    /** 교환 결과 */
+    public record Rotated(Long userId, Issued next) {}
+
+    public RefreshTokenStore(
+            G_RefreshTokenRepository refreshTokenRepository,
+            @Value("${jwt.refresh-expiration-days:14}") long refreshExpirationDays
+    ) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.tokenTtl = Duration.ofDays(refreshExpirationDays);
+    }
+
+    /* 로그인 - 새 family 로 발급 */
+    public Issued issue(Long userId) {
+        return issue(userId, UUID.randomUUID().toString());
+    }
+
+    /* 교환 - 기존 토큰 폐기 + 같은 family 로 새 토큰 발급 */
+    public Rotated rotate(String rawToken) {
+        G_RefreshTokenRepository.StoredToken stored = refreshTokenRepository.findForUpdate(hash(rawToken))
+                .orElseThrow(() -> new IllegalArgumentException("유효하지 않은 리프레시 토큰입니다."));
+
+        if (stored.isRevoked()) {
+            int revoked = refreshTokenRepository.revokeFamily(stored.familyId());
+            log.warn("Refresh token reuse detected: userId={}, family={}, revoked={}", stored.userId(), stored.familyId(), revoked);
+            throw new IllegalArgumentException("이미 사용된 리프레시 토큰입니다. 다시 로그인해주세요.");
+        }
+        if (stored.expiresAt().isBefore(LocalDateTime.now())) {
+            throw new IllegalArgumentException("만료된 리프레시 토큰입니다. 다시 로그인해주세요.");
+        }
+
+        refreshTokenRepository.revoke(stored.id());
+        return new Rotated(stored.userId(), issue(stored.userId(), stored.familyId()));
+    }
+
+    /* 로그아웃 - 해당 토큰의 family 전체 폐기 (없는 토큰은 무시) */
+    public void revokeFamily(String rawToken) {
+        refreshTokenRepository.findForUpdate(hash(rawToken))
+                .ifPresent(stored -> refreshTokenRepository.revokeFamily(stored.familyId()));
+    }
+
+    /* 비밀번호/권한 변경 - 사용자의 모든 family 폐기 (호출 트랜잭션과 함께 커밋/롤백) */
+    public int revokeAllForUser(Long userId) {
+        return refreshTokenRepository.revokeAllForUser(userId);
+    }
+
+    /* 만료 토큰 정리 */
+    @Scheduled(fixedDelayString = "${jwt.refresh-cleanup-interval-ms:3600000}")
+    public void cleanup() {
+        int deleted;
+        do {
+            deleted = refreshTokenRepository.deleteExpired(LocalDateTime.now(), CLEANUP_BATCH);
+        } while (deleted == CLEANUP_BATCH);
+    }
+
+    // === 내부 유틸 === //
+
+    private Issued issue(Long userId, String familyId) {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        random.nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        LocalDateTime expiresAt = LocalDateTime.now().plus(tokenTtl);
+        refreshTokenRepository.insert(userId, hash(token), familyId, expiresAt);
+        return new Issued(token, expiresAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+    }
+
+    private String hash(String rawToken) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(rawToken.getBytes(StandardCharsets.US_ASCII));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("토큰 해시 계산에 실패했습니다.", e);
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.k5_iot_springboot.service.export;
+
+import com.example.k5_iot_springboot.common.enums.ExportFormat;
+import com.example.k5_iot_springboot.common.utils.DateUtils;
+import com.example.k5_iot_springboot.repository.I_OrderRepositoryCustom.OrderLineRow;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+
+/*
+ * === OrderExportWriter ===
+ * : 주문 내보내기 행을 CSV / NDJSON 으로 응답 스트림에 바로 기록
+ * - 행을 모으지 않고 받는 즉시 기록 >> 주문 수와 무관하게 일정한 메모리
+ * - FLUSH_ROWS 행마다 flush >> 클라이언트에 chunk 단위로 전송
+ * */
+@Component
+@RequiredArgsConstructor
+public class OrderExportWriter {
+    private static final int FLUSH_ROWS = 1000;
+    private static final String CSV_HEADER =
+            "order_id,user_id,status,created_at,product_id,product_name,price,quantity,line_total";
+
+    private final ObjectMapper objectMapper;
+
+    /**
+     * @param source 행 공급자 - 전달받은 Consumer 로 한 행씩 흘려보냄 (ex. DB 커서)
+     * */
+    public void write(ExportFormat format, OutputStream out, Consumer<Consumer<OrderLineRow>> source) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+
+        if (format == ExportFormat.CSV) {
+            writer.write('\uFEFF'); // UTF-8 BOM - 엑셀에서 한글 깨짐 방지
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+        }
+
+        int[] count = {0};
+        try {
+            source.accept(row -> {
+                try {
+                    writer.write(format == ExportFormat.CSV ? toCsvLine(row) : toJsonLine(row));
+                    writer.write('\n');
+                    if (++count[0] % FLUSH_ROWS == 0) writer.flush();
+                } catch (IOException e) {
+                    // 클라이언트 연결 끊김 등 >> 커서 순회 중단
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        writer.flush();
+    }
+
+    private String toCsvLine(OrderLineRow row) {
+        return String.join(",",
+                String.valueOf(row.orderId()),
+                String.valueOf(row.userId()),
+                row.status().name(),
+                DateUtils.toKstString(row.createdAt()),
+                toText(row.productId()),
+                escapeCsv(row.productName()),
+                toText(row.price()),
+                toText(row.quantity()),
+                toText(lineTotal(row))
+        );
+    }
+
+    private String toJsonLine(OrderLineRow row) throws IOException {
+        ObjectNode node = objectMapper.createObjectNode();
+        node.put("orderId", row.orderId());
+        node.put("userId", row.userId());
+        node.put("status", row.status().name());
+        node.put("createdAt", DateUtils.toKstString(row.createdAt()));
+        node.put("productId", row.productId());
+        node.put("productName", row.productName());
+        node.put("price", row.price());
+        node.put("quantity", row.quantity());
+        node.put("lineTotal", lineTotal(row));
+        return objectMapper.writeValueAsString(node);
+    }
+
+    // 항목 없는 주문은 null
+    private Integer lineTotal(OrderLineRow row) {
+        if (row.price() == null || row.quantity() == null) return null;
+        return row.price() * row.quantity();
+    }
+
+    private String toText(Object value) {
+        return value == null ? "" : value.toString();
+    }
+
+    // 쉼표/따옴표/줄바꿈이 있으면 큰따옴표로 감싸고, 내부 따옴표는 두 번
+    private String escapeCsv(String value) {
+        if (value == null) return "";
+        if (value.contains(",") || value.contains("\"") || value.contains("\n") || value.contains("\r")) {
+            return "\"" + value.replace("\"", "\"\"") + "\"";
+        }
+        return value;
+    }
+}
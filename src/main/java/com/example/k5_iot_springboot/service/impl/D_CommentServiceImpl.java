@@ -3,40 +3,71 @@ package com.example.k5_iot_springboot.service.impl;
 import com.example.k5_iot_springboot.dto.D_Comment.request.CommentCreateRequestDto;
 import com.example.k5_iot_springboot.dto.D_Comment.request.CommentUpdateRequestDto;
 import com.example.k5_iot_springboot.dto.D_Comment.response.CommentResponseDto;
+import com.example.k5_iot_springboot.dto.D_Comment.response.CommentSliceResponseDto;
 import com.example.k5_iot_springboot.dto.ResponseDto;
 import com.example.k5_iot_springboot.entity.D_Comment;
 import com.example.k5_iot_springboot.entity.D_Post;
 import com.example.k5_iot_springboot.repository.D_CommentRepository;
 import com.example.k5_iot_springboot.repository.D_PostRepository;
 import com.example.k5_iot_springboot.service.D_CommentService;
+import com.example.k5_iot_springboot.service.post.PostLeaderboard;
+import com.example.k5_iot_springboot.service.search.PostSearchIndex;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
+
 @Service
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
 public class D_CommentServiceImpl implements D_CommentService {
     private final D_CommentRepository commentRepository;
     private final D_PostRepository postRepository;
+    private final PostSearchIndex searchIndex;
+    private final PostLeaderboard leaderboard;
+
+    private static final int MAX_PAGE_SIZE = 100;   // 댓글 목록 1페이지 최대 건수
 
 
     @Override
     @Transactional
     public ResponseDto<CommentResponseDto> createComment(Long postId, CommentCreateRequestDto dto) {
-        D_Post post = postRepository.findById(postId)
-                .orElseThrow(() -> new EntityNotFoundException("해당 id의 게시글을 찾을 수 없습니다."));
-        D_Comment comment = D_Comment.create(dto.content(), dto.commenter());
+        // 댓글 수 증가 = 게시글 존재 확인 (없는 게시글이면 0건)
+        if (postRepository.increaseCommentCount(postId, 1) == 0)
+            throw new EntityNotFoundException("해당 id의 게시글을 찾을 수 없습니다.");
 
-        post.addComment(comment);// 연관관계 편의 메서드 호출
+        // 게시글은 프록시로만 참조 - post.comments 컬렉션(전체 댓글)을 로딩하지 않음
+        D_Post post = postRepository.getReferenceById(postId);
+        D_Comment comment = D_Comment.create(post, dto.content(), dto.commenter());
 
         D_Comment saved = commentRepository.save(comment);
+        updateLeaderboard(post);
+        searchIndex.putComment(saved.getId(), postId, saved.getContent());
 
         return ResponseDto.setSuccess("SUCCESS", CommentResponseDto.from(saved));
     }
 
 
+    // 게시글 댓글 목록 (id 오름차순, cursor = 이전 페이지 마지막 댓글 id)
+    @Override
+    public ResponseDto<CommentSliceResponseDto> getComments(Long postId, Long cursor, int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE)
+            throw new IllegalArgumentException("size 는 1 ~ " + MAX_PAGE_SIZE + " 사이여야 합니다.");
+
+        // size + 1 건 조회 (1건 더 가져와서 다음 페이지 존재 여부 판단)
+        List<CommentResponseDto> rows = commentRepository.findPageByPostId(postId, cursor, PageRequest.of(0, size + 1));
+
+        // 빈 결과일 때만 게시글 존재 여부 확인 (없는 게시글 vs 댓글 없음 구분)
+        if (rows.isEmpty() && !postRepository.existsById(postId))
+            throw new EntityNotFoundException("해당 id의 게시글을 찾을 수 없습니다.");
+
+        return ResponseDto.setSuccess("SUCCESS", CommentSliceResponseDto.of(rows, size));
+    }
+
+
     @Override
     @Transactional
     public ResponseDto<CommentResponseDto> updateComment(Long postId, Long commentId, CommentUpdateRequestDto dto) {
@@ -49,6 +80,7 @@ public class D_CommentServiceImpl implements D_CommentService {
         }
 
         comment.changeContent(dto.content());
+        searchIndex.putComment(commentId, postId, comment.getContent());
         return ResponseDto.setSuccess("SUCCESS", CommentResponseDto.from(comment));
     }
 
@@ -63,13 +95,19 @@ public class D_CommentServiceImpl implements D_CommentService {
             throw new IllegalArgumentException("해당 댓글이 게시글 내에 속해있지 않음");
         }
 
-        // 고아 객체 제거: 컬렉션에서 삭제할 경우 실제 DB에서도 삭제되어야함
+        // 직접 삭제 - post.removeComment 는 컬렉션(전체 댓글)을 로딩하므로 사용하지 않음
         D_Post post = comment.getPost();
-        post.removeComment(comment);
-
-        // 필요시 명시 가능 -> 근데 중복 방지를 위해서 생략함
-//        commentRepository.delete(comment);
+        commentRepository.delete(comment);
+        postRepository.increaseCommentCount(postId, -1);
+        updateLeaderboard(post);
+        searchIndex.removeComment(commentId);
 
         return ResponseDto.setSuccess("SUCCESS", null);
     }
+
+    // 댓글 수 변경 직후 DB 값으로 순위표 갱신 (커밋 후 반영)
+    private void updateLeaderboard(D_Post post) {
+        if (!leaderboard.isEnabled()) return;
+        leaderboard.update(post.getId(), post.getTitle(), post.getAuthor(), postRepository.findCommentCount(post.getId()));
+    }
 }
@@ -1,16 +1,23 @@
 package com.example.k5_iot_springboot.service.impl;
 
+import com.example.k5_iot_springboot.dto.D_Comment.response.CommentResponseDto;
+import com.example.k5_iot_springboot.dto.D_Comment.response.CommentSliceResponseDto;
 import com.example.k5_iot_springboot.dto.D_Post.request.PostCreateRequestDto;
 import com.example.k5_iot_springboot.dto.D_Post.request.PostUpdateRequestDto;
 import com.example.k5_iot_springboot.dto.D_Post.response.PostDetailResponseDto;
 import com.example.k5_iot_springboot.dto.D_Post.response.PostListResponseDto;
+import com.example.k5_iot_springboot.dto.D_Post.response.PostSliceResponseDto;
 import com.example.k5_iot_springboot.dto.D_Post.response.PostWithCommentCountResponseDto;
 import com.example.k5_iot_springboot.dto.ResponseDto;
 import com.example.k5_iot_springboot.entity.D_Post;
+import com.example.k5_iot_springboot.repository.D_CommentRepository;
 import com.example.k5_iot_springboot.repository.D_PostRepository;
 import com.example.k5_iot_springboot.service.D_PostService;
+import com.example.k5_iot_springboot.service.post.PostLeaderboard;
+import com.example.k5_iot_springboot.service.search.PostSearchIndex;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
@@ -23,6 +30,13 @@ import java.util.Objects;
 @Transactional(readOnly = true) //읽기 전용 모드 => 읽기 아닌 애들은 그 때가서 조건 변경하면 됨
 public class D_PostServiceImpl implements D_PostService {
     private final D_PostRepository postRepository;
+    private final D_CommentRepository commentRepository;
+    private final PostSearchIndex searchIndex;
+    private final PostLeaderboard leaderboard;
+
+    private static final int MAX_PAGE_SIZE = 100;   // 목록 1페이지 최대 건수
+    private static final int PREVIEW_LENGTH = 10;   // 목록 content 미리보기 글자 수
+    private static final int COMMENT_PAGE_SIZE = 20; // 단건 조회 시 포함할 댓글 수 (첫 페이지)
 
     // 1) 게시글 생성
     @Override
@@ -38,6 +52,7 @@ public class D_PostServiceImpl implements D_PostService {
 
         D_Post post = D_Post.create(title, content, author);
         D_Post saved = postRepository.save(post);
+        searchIndex.putPost(saved.getId(), saved.getTitle());
 
         return ResponseDto.setSuccess("SUCCESS", PostDetailResponseDto.from(saved));
     }
@@ -47,22 +62,27 @@ public class D_PostServiceImpl implements D_PostService {
     public ResponseDto<PostDetailResponseDto> getPostById(Long id) {
         Long pid = requirePositiveId(id);
 
-        D_Post post = postRepository.findByIdWithComments(pid)
+        D_Post post = postRepository.findById(pid)
                 .orElseThrow(() -> new EntityNotFoundException("해당 id의 게시글을 찾을 수 없습니다."));
 
-        return ResponseDto.setSuccess("SUCCESS", PostDetailResponseDto.from(post));
+        // 댓글은 첫 페이지만 (COMMENT_PAGE_SIZE + 1 건 조회로 다음 페이지 존재 여부 판단)
+        List<CommentResponseDto> rows =
+                commentRepository.findPageByPostId(pid, null, PageRequest.of(0, COMMENT_PAGE_SIZE + 1));
+
+        return ResponseDto.setSuccess("SUCCESS", PostDetailResponseDto.from(post, CommentSliceResponseDto.of(rows, COMMENT_PAGE_SIZE)));
     }
 
 
     @Override
-    public ResponseDto<List<PostListResponseDto>> getAllPosts() {
-        List<D_Post> posts = postRepository.findAllOrderByIdDesc(); //최신 순 반환
-        List<PostListResponseDto> result = posts.stream()
-                .map(PostListResponseDto::from)
-                .map(dto -> dto.summerize(10))
-                .toList();
+    public ResponseDto<PostSliceResponseDto> getPosts(Long cursor, int size) {
+        requireValidSize(size);
 
-        return ResponseDto.setSuccess("SUCCESS", result);
+        // size + 1 건 조회 (1건 더 가져와서 다음 페이지 존재 여부 판단)
+        // preview 는 PREVIEW_LENGTH + 1 자까지만 - 잘렸는지 여부 판단용
+        List<D_PostRepository.PostSummaryProjection> rows =
+                postRepository.findSummariesBefore(cursor, PREVIEW_LENGTH + 1, size + 1); //최신 순 반환
+
+        return ResponseDto.setSuccess("SUCCESS", toSlice(rows, size));
     }
 
 
@@ -73,11 +93,14 @@ public class D_PostServiceImpl implements D_PostService {
         Long pid = requirePositiveId(id);
 
 
-        D_Post post = postRepository.findByIdWithComments(id)
+        // 제목/내용만 수정 - 댓글은 로딩하지 않음
+        D_Post post = postRepository.findById(pid)
                 .orElseThrow(()-> new EntityNotFoundException("해당 id의 게시글을 찾을 수 없습니다."));
 
         post.changeTitle(dto.title().trim());
         post.changeContent(dto.content().trim());
+        searchIndex.putPost(pid, post.getTitle());
+        leaderboard.rename(pid, post.getTitle());
 
         // 자동 저장이 됨! (save가 없음)
         // Dirty Checking 으로 저장이 되어버림(영속성 컨텍스트에 담긴 엔티티의 상태 변화를 자동 감지)
@@ -93,6 +116,8 @@ public class D_PostServiceImpl implements D_PostService {
 
         //orphanRemoval & cascade 설정으로 댓글은 자동 정리됨
         postRepository.delete(post);
+        searchIndex.removePost(post.getId());
+        leaderboard.remove(post.getId());
         return ResponseDto.setSuccess("SUCCESS", null);
     }
 
@@ -111,23 +136,38 @@ public class D_PostServiceImpl implements D_PostService {
 
 
     // 7) 특정 키워드로 제목 검색
+    // : 검색 색인이 준비된 경우 색인에서 id 만 찾고 해당 페이지만 PK 로 조회 (LIKE 전체 스캔 X)
     @Override
-    public ResponseDto<List<PostListResponseDto>> searchPostsByTitle(String keyword) {
-        List<D_Post> posts = postRepository.findByTitleContainingIgnoreCaseOrderByIdDesc(keyword);
-        List<PostListResponseDto> result = posts.stream()
-                .map(PostListResponseDto::from)
-                .toList();
-        return ResponseDto.setSuccess("SUCCESS", result);
+    public ResponseDto<PostSliceResponseDto> searchPostsByTitle(String keyword, Long cursor, int size) {
+        String clean = requireNonBlank(keyword, "검색 키워드는").trim();
+        requireValidSize(size);
+
+        List<D_PostRepository.PostSummaryProjection> rows = searchIndex.isReady()
+                ? findSummariesByIds(searchIndex.searchTitles(clean, cursor, size + 1))
+                : postRepository.findSummariesByTitleKeyword(clean, cursor, PREVIEW_LENGTH + 1, size + 1);
+
+        return ResponseDto.setSuccess("SUCCESS", toSlice(rows, size));
     }
 
 
-    // 8) 댓글 상위 5개
+    // 8) 댓글 상위 N개
+    // : 메모리 순위표(PostLeaderboard)에서 조회 - 초기화 전/비활성화 시에만 DB 조회
     @Override
-    public ResponseDto<List<PostWithCommentCountResponseDto>> getTop5PostsByComments() {
+    public ResponseDto<List<PostWithCommentCountResponseDto>> getTopPostsByComments(int limit) {
+        if (limit < 1 || limit > leaderboard.getSize())
+            throw new IllegalArgumentException("limit 는 1 ~ " + leaderboard.getSize() + " 사이여야 합니다.");
+
+        if (leaderboard.isReady()) {
+            List<PostWithCommentCountResponseDto> result = leaderboard.top(limit).stream()
+                    .map(e -> new PostWithCommentCountResponseDto(e.postId(), e.title(), e.author(), (long) e.commentCount()))
+                    .toList();
+            return ResponseDto.setSuccess("SUCCESS", result);
+        }
+
         // var : 지역 변수 타입 추론을 담당하는 타입
         // 장점 - 반환 타입의 길이가 길 경우 간결한 작성을 통해 가독성 향상
         // 단점 - 타입을 숨겨버려 밑의 상세 내용을 읽지 않으면 가독성이 저하될 우려가 있음
-        var rows= postRepository.findTopPostsByCommentCount_Native(5); // 반환되는건 List임
+        var rows= postRepository.findTopPostsByCommentCount_Native(limit); // 반환되는건 List임
 
         List<PostWithCommentCountResponseDto> result = rows.stream()
                 .map(PostWithCommentCountResponseDto::from)
@@ -139,7 +179,7 @@ public class D_PostServiceImpl implements D_PostService {
 
     // 9) 댓글 포함 게시글 검색
     @Override
-    public ResponseDto<List<PostListResponseDto>> searchPostsByCommentKeyword(String keyword) {
+    public ResponseDto<PostSliceResponseDto> searchPostsByCommentKeyword(String keyword, Long cursor, int size) {
         // 1) 입력값 정제 / 검증
         String clean = (keyword == null) ? "" : keyword.trim();
 
@@ -150,10 +190,13 @@ public class D_PostServiceImpl implements D_PostService {
         if (clean.length() > 100){
             return ResponseDto.setFailed("키워드는 100자 이내로");
         }
-        var rows = postRepository.findByCommentKeyword(clean);
-        List<PostListResponseDto> result = rows.stream()
-                .map(PostListResponseDto::from).toList();
-        return ResponseDto.setSuccess("SUCCESS", result);
+        requireValidSize(size);
+
+        List<D_PostRepository.PostSummaryProjection> rows = searchIndex.isReady()
+                ? findSummariesByIds(searchIndex.searchCommentedPosts(clean, cursor, size + 1))
+                : postRepository.findSummariesByCommentKeyword(clean, cursor, PREVIEW_LENGTH + 1, size + 1);
+
+        return ResponseDto.setSuccess("SUCCESS", toSlice(rows, size));
     }
 
     // 10) 특정 작성자의 게시글 중, 댓글 수가 minCount 이상인 게시글 조회
@@ -176,6 +219,29 @@ public class D_PostServiceImpl implements D_PostService {
 
 
     // === 내부 유틸 메서드 === //
+    private void requireValidSize(int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE)
+            throw new IllegalArgumentException("size 는 1 ~ " + MAX_PAGE_SIZE + " 사이여야 합니다.");
+    }
+
+    private List<D_PostRepository.PostSummaryProjection> findSummariesByIds(List<Long> ids) {
+        if (ids.isEmpty()) return List.of();
+        return postRepository.findSummariesByIds(ids, PREVIEW_LENGTH + 1);
+    }
+
+    // size + 1 건 조회 결과 -> 1페이지 응답 (초과분이 있으면 hasNext, 마지막 id 가 다음 cursor)
+    private PostSliceResponseDto toSlice(List<D_PostRepository.PostSummaryProjection> rows, int size) {
+        boolean hasNext = rows.size() > size;
+        if (hasNext) rows = rows.subList(0, size);
+
+        List<PostListResponseDto> content = rows.stream()
+                .map(p -> PostListResponseDto.from(p, PREVIEW_LENGTH))
+                .toList();
+
+        Long nextCursor = hasNext ? rows.get(rows.size() - 1).getId() : null;
+        return new PostSliceResponseDto(content, hasNext, nextCursor);
+    }
+
     private Long requirePositiveId(Long id) {
         if (id == null || id <= 0) throw new IllegalArgumentException("id는 반드시 양수여야합니다.");
         return id;
@@ -9,11 +9,15 @@ import com.example.k5_iot_springboot.entity.G_User;
 import com.example.k5_iot_springboot.entity.G_UserRoleId;
 import com.example.k5_iot_springboot.repository.G_RoleRepository;
 import com.example.k5_iot_springboot.repository.G_UserRepository;
+import com.example.k5_iot_springboot.security.RoleChangeRegistry;
 import com.example.k5_iot_springboot.security.UserPrincipal;
+import com.example.k5_iot_springboot.security.UserPrincipalChangedEvent;
 import com.example.k5_iot_springboot.service.G_AdminService;
+import com.example.k5_iot_springboot.service.auth.RefreshTokenStore;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -26,6 +30,9 @@ import java.util.stream.Collectors;
 public class G_AdminServiceImpl implements G_AdminService {
     private final G_UserRepository userRepository;
     private final G_RoleRepository roleRepository;
+    private final RoleChangeRegistry roleChangeRegistry;
+    private final ApplicationEventPublisher eventPublisher;
+    private final RefreshTokenStore refreshTokenStore;
 
 
     @Override
@@ -41,6 +48,9 @@ public class G_AdminServiceImpl implements G_AdminService {
 //        req.roles().forEach(user::addRole);
 
         userRepository.flush();
+        roleChangeRegistry.markChanged(user.getId()); // 기존 토큰의 roles 클레임 무효화
+        refreshTokenStore.revokeAllForUser(user.getId()); // 이전 권한으로 시작된 리프레시 family 폐기
+        eventPublisher.publishEvent(new UserPrincipalChangedEvent(user.getId(), user.getLoginId())); // 커밋 후 principal 캐시 제거
 
         RoleManageResponse.UpdateRolesResponse data = new RoleManageResponse.UpdateRolesResponse(
                 user.getId(),
@@ -69,6 +79,9 @@ public class G_AdminServiceImpl implements G_AdminService {
 //        user.addRole(added);
 
         userRepository.flush(); //UpdatedAt 값이 바로 전달됨
+        roleChangeRegistry.markChanged(user.getId()); // 기존 토큰의 roles 클레임 무효화
+        refreshTokenStore.revokeAllForUser(user.getId()); // 이전 권한으로 시작된 리프레시 family 폐기
+        eventPublisher.publishEvent(new UserPrincipalChangedEvent(user.getId(), user.getLoginId())); // 커밋 후 principal 캐시 제거
 
         RoleManageResponse.AddRoleResponse data = new RoleManageResponse.AddRoleResponse(
                 user.getId(),
@@ -100,6 +113,9 @@ public class G_AdminServiceImpl implements G_AdminService {
         }
 
         userRepository.flush(); //UpdatedAt 값이 바로 전달됨
+        roleChangeRegistry.markChanged(user.getId()); // 기존 토큰의 roles 클레임 무효화
+        refreshTokenStore.revokeAllForUser(user.getId()); // 이전 권한으로 시작된 리프레시 family 폐기
+        eventPublisher.publishEvent(new UserPrincipalChangedEvent(user.getId(), user.getLoginId())); // 커밋 후 principal 캐시 제거
         // 비워지는 경우 기본 USER 권한은 유지해야함 (최소 1개 이상의 권한을 가질 것을 보장하는 정책)
 //        if (user.getRoles().isEmpty()) {
 //            user.addRole(RoleType.USER);
@@ -1,7 +1,9 @@
 package com.example.k5_iot_springboot.service.impl;
 
 import com.example.k5_iot_springboot.common.enums.RoleType;
+import com.example.k5_iot_springboot.common.errors.DuplicateFieldException;
 import com.example.k5_iot_springboot.dto.G_Auth.request.FindIdRequest;
+import com.example.k5_iot_springboot.dto.G_Auth.request.RefreshTokenRequest;
 import com.example.k5_iot_springboot.dto.G_Auth.request.SignInRequest;
 import com.example.k5_iot_springboot.dto.G_Auth.request.SignUpRequest;
 import com.example.k5_iot_springboot.dto.G_Auth.response.FindIdResponse;
@@ -10,19 +12,28 @@ import com.example.k5_iot_springboot.dto.ResponseDto;
 import com.example.k5_iot_springboot.entity.G_Role;
 import com.example.k5_iot_springboot.entity.G_User;
 import com.example.k5_iot_springboot.provider.JwtProvider;
+import com.example.k5_iot_springboot.provider.ParsedToken;
 import com.example.k5_iot_springboot.repository.G_RoleRepository;
 import com.example.k5_iot_springboot.repository.G_UserRepository;
+import com.example.k5_iot_springboot.security.TokenRevocationList;
+import com.example.k5_iot_springboot.security.UserPrincipal;
+import com.example.k5_iot_springboot.security.UserPrincipalMapper;
 import com.example.k5_iot_springboot.service.G_AuthService;
-import io.jsonwebtoken.Claims;
+import com.example.k5_iot_springboot.service.auth.PasswordHashExecutor;
+import com.example.k5_iot_springboot.service.auth.RefreshTokenStore;
+import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
@@ -40,21 +51,33 @@ public class G_AuthServiceImpl implements G_AuthService {
 
     private final AuthenticationManager authenticationManager;
     private final JwtProvider jwtProvider;
+    private final RefreshTokenStore refreshTokenStore;
+    private final TokenRevocationList tokenRevocationList;
+    private final UserPrincipalMapper principalMapper;
+    private final PasswordHashExecutor passwordHashExecutor;
+
+    /* true: 가입 전 중복 검사(1회 조회) / false: 검사 없이 INSERT - 유니크 제약 위반을 필드 오류로 변환 */
+    @Value("${auth.sign-up.precheck:true}")
+    private boolean signUpPrecheck;
 
     @Override
     @Transactional
     public void signUp(SignUpRequest req) {
         // 1) 유효성 검사 (중복체크 - 유니크 제약 검증)
-        if (userRepository.existsByLoginId(req.loginId())) {
-            throw new IllegalArgumentException("이미 사용 중인 로그인 아이디입니다.");
-        }
-
-        if (userRepository.existsByEmail(req.email())) {
-            throw new IllegalArgumentException("이미 사용 중인 이메일 입니다.");
-        }
-
-        if (userRepository.existsByNickname(req.nickname())) {
-            throw new IllegalArgumentException("이미 사용 중인 닉네임 입니다.");
+        // : 세 컬럼을 한 번에 조회, 충돌한 필드를 모두 알려줌 (GlobalExceptionHandler 에서 필드 오류로 변환)
+        // : precheck=false 이면 생략 - users INSERT 시 uk_users_* 위반이 같은 응답 형식으로 변환됨
+        if (signUpPrecheck) {
+            G_UserRepository.SignUpConflicts conflicts =
+                    userRepository.findSignUpConflicts(req.loginId(), req.email(), req.nickname());
+
+            List<String> duplicated = new ArrayList<>();
+            if (conflicts.getLoginIdTaken() > 0) duplicated.add("loginId");
+            if (conflicts.getEmailTaken() > 0) duplicated.add("email");
+            if (conflicts.getNicknameTaken() > 0) duplicated.add("nickname");
+
+            if (!duplicated.isEmpty()) {
+                throw new DuplicateFieldException(duplicated);
+            }
         }
 
         // 2) 비밀번호 해시 - BCrypt 패스워드 사용
@@ -77,11 +100,13 @@ public class G_AuthServiceImpl implements G_AuthService {
 
     }
 
-    @Override //읽기 전용임
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED) // BCrypt 대기 중 DB 커넥션 점유 X (리프레시 토큰 INSERT 는 단건 자동 커밋)
     public ResponseDto<SignInResponse> signIn(SignInRequest req) {
 
         // 스프링 시큐리티 표준 인증 흐름 (UserDetailsService + PasswordEncoder)
-        Authentication auth = authenticationManager.authenticate(
+        // >> BCrypt 비교는 CPU 비용이 크므로 요청 스레드가 아닌 전용 풀에서 실행 (포화 시 429)
+        Authentication auth = passwordHashExecutor.execute(() -> authenticationManager.authenticate(
                 // 내부에서 DaoAuthenticationProvider 가 CustomUserDetailsService.loadUserByUsername(loginId) 호출
                 // >> G_User 조회 >> UserPrincipalMapper.map() 으로 UserPrincipal 생성
                 // >> PasswordEncoder로 비밀번호를 비교함
@@ -94,7 +119,7 @@ public class G_AuthServiceImpl implements G_AuthService {
                                 req.loginId(),
                                 req.password() // 비밀번호 검증은 스프링 시큐리티가 알아서 해줌!
                         )
-                );
+                ));
 
         // 2) 권한 문자열 추출
         Set<String> roles = auth.getAuthorities().stream()
@@ -102,27 +127,38 @@ public class G_AuthServiceImpl implements G_AuthService {
                 .collect(Collectors.toSet());
 
 
-        // 3) JWT 발급 (username = loginId, roles 포함)
-        String accessToken = jwtProvider.generateJwtToken(req.loginId(), roles);
+        // 3) 리프레시 토큰 발급 (새 family)
+        UserPrincipal principal = (UserPrincipal) auth.getPrincipal();
+        RefreshTokenStore.Issued refreshToken = refreshTokenStore.issue(principal.getId());
 
-        // 4) 만료 시각 추출해 응답에 포함
-        // 클래임 가져와서
-        Claims claims = jwtProvider.getClaims(accessToken);
-        // 시간대 추출
-        long expiresAt = claims.getExpiration().getTime();
+        // 4) JWT 발급 (username = loginId, 사용자 PK/roles 포함) + 응답 DTO 구성
+        return ResponseDto.setSuccess("로그인 성공", toSignInResponse(principal.getId(), req.loginId(), roles, refreshToken));
 
+    }
 
-        // 5) 응답 DTO 구성
-        SignInResponse response = new SignInResponse(
-                "Bearer",
-                accessToken,
-                expiresAt,
-                req.loginId(),
-                roles
-        );
+    @Override
+    @Transactional(noRollbackFor = IllegalArgumentException.class) // 재사용 감지 시 family 폐기는 커밋되어야 함
+    public ResponseDto<SignInResponse> refresh(RefreshTokenRequest req) {
+        // 1) 리프레시 토큰 교환 (기존 토큰 폐기 + 새 토큰 발급)
+        RefreshTokenStore.Rotated rotated = refreshTokenStore.rotate(req.refreshToken());
+
+        // 2) 최신 권한으로 액세스 토큰 재발급
+        G_User user = userRepository.findWithRolesById(rotated.userId())
+                .orElseThrow(() -> new EntityNotFoundException("사용자를 찾을 수 없습니다."));
+        Set<String> roles = principalMapper.map(user).getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .collect(Collectors.toSet());
 
-        return ResponseDto.setSuccess("로그인 성공", response);
+        return ResponseDto.setSuccess("토큰 재발급 성공", toSignInResponse(user.getId(), user.getLoginId(), roles, rotated.next()));
+    }
 
+    @Override
+    @Transactional
+    public void signOut(ParsedToken accessToken, RefreshTokenRequest req) {
+        refreshTokenStore.revokeFamily(req.refreshToken());
+
+        // 남은 수명 동안 현재 액세스 토큰도 거부
+        if (accessToken != null) tokenRevocationList.revoke(accessToken);
     }
 
     @Override
@@ -142,4 +178,22 @@ public class G_AuthServiceImpl implements G_AuthService {
         return null;
     }
 
+    // 액세스 토큰 발급 + 응답 구성
+    private SignInResponse toSignInResponse(Long userId, String loginId, Set<String> roles, RefreshTokenStore.Issued refreshToken) {
+        String accessToken = jwtProvider.generateJwtToken(userId, loginId, roles);
+
+        // 만료 시각 추출해 응답에 포함 (검증 + 파싱 1회 결과)
+        long expiresAt = jwtProvider.parse(accessToken).expiresAt().toEpochMilli();
+
+        return new SignInResponse(
+                "Bearer",
+                accessToken,
+                expiresAt,
+                refreshToken.token(),
+                refreshToken.expiresAt(),
+                loginId,
+                roles
+        );
+    }
+
 }
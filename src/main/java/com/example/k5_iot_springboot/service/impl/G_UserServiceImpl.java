@@ -1,15 +1,20 @@
 package com.example.k5_iot_springboot.service.impl;
 
+import com.example.k5_iot_springboot.dto.G_Auth.request.PasswordChangeRequest;
 import com.example.k5_iot_springboot.dto.G_User.request.UserProfileUpdateRequest;
 import com.example.k5_iot_springboot.dto.G_User.response.UserProfileResponse;
 import com.example.k5_iot_springboot.dto.ResponseDto;
 import com.example.k5_iot_springboot.entity.G_User;
 import com.example.k5_iot_springboot.repository.G_UserRepository;
 import com.example.k5_iot_springboot.security.UserPrincipal;
+import com.example.k5_iot_springboot.security.UserPrincipalChangedEvent;
 import com.example.k5_iot_springboot.security.util.PrincipalUtils;
 import com.example.k5_iot_springboot.service.G_UserService;
+import com.example.k5_iot_springboot.service.auth.RefreshTokenStore;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -20,6 +25,9 @@ import java.nio.file.AccessDeniedException;
 @Transactional(readOnly = true)
 public class G_UserServiceImpl implements G_UserService {
     private final G_UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final PasswordEncoder passwordEncoder;
+    private final RefreshTokenStore refreshTokenStore;
 
 
     @Override
@@ -50,6 +58,7 @@ public class G_UserServiceImpl implements G_UserService {
 
         user.changeProfile(request.nickname(), request.gender());
         userRepository.flush();
+        eventPublisher.publishEvent(new UserPrincipalChangedEvent(user.getId(), user.getLoginId())); // 커밋 후 principal 캐시 제거
 
         UserProfileResponse.MyPageResponse data = new UserProfileResponse.MyPageResponse(
                 user.getId(),
@@ -61,4 +70,18 @@ public class G_UserServiceImpl implements G_UserService {
 
         return ResponseDto.setSuccess("SUCCESS", data);
     }
+
+    @Override
+    @Transactional
+    public void changePassword(UserPrincipal principal, PasswordChangeRequest request) {
+        PrincipalUtils.requiredActive(principal);
+
+        G_User user = userRepository.findByLoginId(principal.getUsername())
+                .orElseThrow(() -> new EntityNotFoundException("해당 username의 사용자가 없습니다: " + principal.getUsername()));
+
+        user.changePassword(passwordEncoder.encode(request.newPassword()));
+        userRepository.flush();
+        refreshTokenStore.revokeAllForUser(user.getId()); // 다른 기기의 세션 포함 전체 재로그인 필요
+        eventPublisher.publishEvent(new UserPrincipalChangedEvent(user.getId(), user.getLoginId())); // 커밋 후 principal 캐시 제거 (이전 비밀번호 해시)
+    }
 }
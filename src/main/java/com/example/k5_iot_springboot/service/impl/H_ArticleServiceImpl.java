@@ -10,6 +10,7 @@ import com.example.k5_iot_springboot.entity.H_Article;
 import com.example.k5_iot_springboot.repository.G_UserRepository;
 import com.example.k5_iot_springboot.repository.H_ArticleRepository;
 import com.example.k5_iot_springboot.security.UserPrincipal;
+import com.example.k5_iot_springboot.security.util.AuthorizationChecker;
 import com.example.k5_iot_springboot.service.H_ArticleService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -25,6 +26,7 @@ import java.util.List;
 public class H_ArticleServiceImpl implements H_ArticleService {
     private final H_ArticleRepository articleRepository;
     private final G_UserRepository userRepository;
+    private final AuthorizationChecker authorizationChecker;
 
     /** 게시글 생성: 인증된 사용자만 생성 가능 */
     @Override
@@ -136,6 +138,7 @@ public class H_ArticleServiceImpl implements H_ArticleService {
 
         // 리포지토리에서 지우기
         articleRepository.delete(article);
+        authorizationChecker.evictArticle(id); // 소유자 캐시 제거
 
         // 출력해주기
         return ResponseDto.setSuccess("SUCCESS", null);
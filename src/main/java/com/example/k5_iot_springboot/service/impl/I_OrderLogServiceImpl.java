@@ -0,0 +1,49 @@
+package com.example.k5_iot_springboot.service.impl;
+
+import com.example.k5_iot_springboot.common.utils.DateUtils;
+import com.example.k5_iot_springboot.dto.I_Order.response.OrderLogResponse;
+import com.example.k5_iot_springboot.dto.ResponseDto;
+import com.example.k5_iot_springboot.repository.I_OrderLogRepository;
+import com.example.k5_iot_springboot.service.I_OrderLogService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class I_OrderLogServiceImpl implements I_OrderLogService {
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private final I_OrderLogRepository orderLogRepository;
+
+    // orderId 없이 전체 조회는 MANAGER/ADMIN, 특정 주문 조회는 주문 당사자도 가능
+    @Override
+    @PreAuthorize("hasAnyRole('MANAGER','ADMIN') or (#orderId != null and @authz.isOrderOwner(#orderId, authentication))")
+    public ResponseDto<OrderLogResponse.SliceResponse> getLogs(Long orderId, int page, int size) {
+        if (page < 0) throw new IllegalArgumentException("page 는 0 이상이어야 합니다.");
+        if (size < 1 || size > MAX_PAGE_SIZE)
+            throw new IllegalArgumentException("size 는 1 ~ " + MAX_PAGE_SIZE + " 사이여야 합니다.");
+
+        PageRequest pageable = PageRequest.of(page, size);
+        Slice<I_OrderLogRepository.OrderLogRow> slice = (orderId != null)
+                ? orderLogRepository.findRowsByOrderId(orderId, pageable)
+                : orderLogRepository.findAllRows(pageable);
+
+        List<OrderLogResponse.Item> content = slice.getContent().stream()
+                .map(row -> new OrderLogResponse.Item(
+                        row.getId(),
+                        row.getOrderId(),
+                        row.getMessage(),
+                        DateUtils.toKstString(row.getCreatedAt())))
+                .toList();
+
+        OrderLogResponse.SliceResponse data = new OrderLogResponse.SliceResponse(content, page, size, slice.hasNext());
+        return ResponseDto.setSuccess("주문 로그 조회 결과입니다.", data);
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.k5_iot_springboot.service.impl;
+
+import com.example.k5_iot_springboot.common.utils.DateUtils;
+import com.example.k5_iot_springboot.dto.I_Order.response.OrderReportResponse;
+import com.example.k5_iot_springboot.dto.ResponseDto;
+import com.example.k5_iot_springboot.repository.I_SalesRollupRepository;
+import com.example.k5_iot_springboot.service.I_OrderReportService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+/*
+ * 주문 리포트 (대시보드)
+ * - 모든 조회는 일별 집계 테이블만 읽음 (orders/order_items 원본 스캔 X)
+ * - 집계는 주문 생성/승인/취소 시 SalesRollupRecorder 가 outbox 경유로 증분 반영, 과거 구간은 backfill 로 재생성
+ * */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+@PreAuthorize("hasAnyRole('MANAGER','ADMIN')")
+public class I_OrderReportServiceImpl implements I_OrderReportService {
+    private static final int MAX_RANGE_DAYS = 366;  // 1회 조회/백필 최대 일수
+    private static final int MAX_TOP_LIMIT = 100;
+
+    private final I_SalesRollupRepository rollupRepository;
+
+    @Override
+    public ResponseDto<List<OrderReportResponse.DailySales>> getDailySales(LocalDate from, LocalDate to) {
+        validateRange(from, to);
+        List<OrderReportResponse.DailySales> data = rollupRepository.findDailySales(from, to);
+        return ResponseDto.setSuccess("일별 매출 조회 결과입니다.", data);
+    }
+
+    @Override
+    public ResponseDto<List<OrderReportResponse.StatusSales>> getStatusSales(LocalDate from, LocalDate to) {
+        validateRange(from, to);
+        List<OrderReportResponse.StatusSales> data = rollupRepository.findStatusSales(from, to);
+        return ResponseDto.setSuccess("상태별 주문 집계 결과입니다.", data);
+    }
+
+    @Override
+    public ResponseDto<List<OrderReportResponse.ProductSales>> getProductSales(LocalDate from, LocalDate to) {
+        validateRange(from, to);
+        List<OrderReportResponse.ProductSales> data = rollupRepository.findProductSales(from, to, Integer.MAX_VALUE);
+        return ResponseDto.setSuccess("상품별 매출 조회 결과입니다.", data);
+    }
+
+    @Override
+    public ResponseDto<List<OrderReportResponse.ProductSales>> getTopProducts(LocalDate from, LocalDate to, int limit) {
+        validateRange(from, to);
+        if (limit < 1 || limit > MAX_TOP_LIMIT)
+            throw new IllegalArgumentException("limit 는 1 ~ " + MAX_TOP_LIMIT + " 사이여야 합니다.");
+
+        List<OrderReportResponse.ProductSales> data = rollupRepository.findProductSales(from, to, limit);
+        return ResponseDto.setSuccess("매출 상위 상품 조회 결과입니다.", data);
+    }
+
+    // 백필: 구간 집계를 지우고 원본에서 재생성 (한 트랜잭션)
+    // cf) 진행 중인 주문이 몰리는 당일 구간보다는 과거 구간에 사용 (재생성 중 들어온 증분과 겹칠 수 있음)
+    @Override
+    @Transactional
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseDto<OrderReportResponse.BackfillResult> backfill(LocalDate from, LocalDate to) {
+        validateRange(from, to);
+
+        // KST 일자 범위 >> UTC [시작, 다음날 시작)
+        LocalDateTime utcFrom = DateUtils.kstToUtc(from.atStartOfDay());
+        LocalDateTime utcTo = DateUtils.kstToUtc(to.plusDays(1).atStartOfDay());
+
+        rollupRepository.deleteRange(from, to);
+        int statusRows = rollupRepository.rebuildStatusRollups(utcFrom, utcTo);
+        int productRows = rollupRepository.rebuildProductRollups(utcFrom, utcTo);
+
+        OrderReportResponse.BackfillResult data = new OrderReportResponse.BackfillResult(from, to, statusRows, productRows);
+        return ResponseDto.setSuccess("주문 집계 백필이 완료되었습니다.", data);
+    }
+
+    private void validateRange(LocalDate from, LocalDate to) {
+        if (from == null || to == null)
+            throw new IllegalArgumentException("from, to 는 필수입니다.");
+        if (from.isAfter(to))
+            throw new IllegalArgumentException("from 은 to 보다 이후일 수 없습니다.");
+        if (ChronoUnit.DAYS.between(from, to) >= MAX_RANGE_DAYS)
+            throw new IllegalArgumentException("조회 기간은 최대 " + MAX_RANGE_DAYS + "일입니다.");
+    }
+}
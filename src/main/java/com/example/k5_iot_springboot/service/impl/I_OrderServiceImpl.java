@@ -1,5 +1,6 @@
 package com.example.k5_iot_springboot.service.impl;
 
+import com.example.k5_iot_springboot.common.enums.ExportFormat;
 import com.example.k5_iot_springboot.common.enums.OrderStatus;
 import com.example.k5_iot_springboot.common.utils.DateUtils;
 import com.example.k5_iot_springboot.dto.I_Order.request.OrderRequest;
@@ -7,10 +8,18 @@ import com.example.k5_iot_springboot.dto.I_Order.response.OrderResponse;
 import com.example.k5_iot_springboot.dto.ResponseDto;
 import com.example.k5_iot_springboot.entity.*;
 import com.example.k5_iot_springboot.repository.I_OrderRepository;
+import com.example.k5_iot_springboot.repository.I_OrderRepositoryCustom;
 import com.example.k5_iot_springboot.repository.I_ProductRepository;
 import com.example.k5_iot_springboot.repository.I_StockRepository;
 import com.example.k5_iot_springboot.security.UserPrincipal;
 import com.example.k5_iot_springboot.service.I_OrderService;
+import com.example.k5_iot_springboot.service.export.OrderExportWriter;
+import com.example.k5_iot_springboot.service.order.OrderIdempotencyStore;
+import com.example.k5_iot_springboot.service.order.OrderLogWriter;
+import com.example.k5_iot_springboot.service.order.OrderSearchCursor;
+import com.example.k5_iot_springboot.service.order.OrderTransition;
+import com.example.k5_iot_springboot.service.report.SalesRollupRecorder;
+import com.example.k5_iot_springboot.service.stock.StockReservationLedger;
 
 import jakarta.persistence.EntityExistsException;
 import jakarta.persistence.EntityManager;
@@ -20,27 +29,42 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 // 인터페이스의 추상메서드를 Impl 클래스 파일에서 "강제 구현"
 @Service
 @RequiredArgsConstructor // final 필드 OR @NonNull 필드만을 매개변수로 가지는 생성자
 @Transactional(readOnly = true)
 public class I_OrderServiceImpl implements I_OrderService {
+    private static final int MAX_BATCH_SIZE = 500;      // 일괄 승인/취소 1회 최대 주문 수
+    private static final int MAX_DEDUCT_ROUNDS = 3;     // 일괄 승인 재고 차감 재시도 횟수 (동시 차감 경합 대비)
+    private static final int MAX_SEARCH_SIZE = 100;     // 주문 검색 1페이지 최대 건수
+
     private final EntityManager em; // 사용자 참조 - getReference 등
     private final I_OrderRepository orderRepository;
     private final I_ProductRepository productRepository;
     private final I_StockRepository stockRepository;
+    private final StockReservationLedger stockLedger;
+    private final OrderExportWriter orderExportWriter;
+    private final SalesRollupRecorder salesRollupRecorder;
+    private final OrderLogWriter orderLogWriter;
+    private final OrderIdempotencyStore orderIdempotencyStore;
 
     @Override
     @Transactional
     @PreAuthorize("isAuthenticated()")
-    public ResponseDto<OrderResponse.Detail> create(UserPrincipal userPrincipal, OrderRequest.OrderCreateRequest req) {
+    public ResponseDto<OrderResponse.Detail> create(UserPrincipal userPrincipal, String idempotencyKey, OrderRequest.OrderCreateRequest req) {
         OrderResponse.Detail data = null;
 
         if(req.items() == null || req.items().isEmpty())
@@ -67,20 +91,53 @@ public class I_OrderServiceImpl implements I_OrderService {
                 .orderStatus(OrderStatus.PENDING) // 기본값 - PENDING
                 .build();
 
+        // 1) 요청 라인 검증 + 동일 상품 수량 합산
+        //      - 한 주문 안에 같은 상품이 두 번 들어오면 uq_order_product 제약 위반 >> 하나의 라인으로 합침
+        //      - LinkedHashMap: 요청 순서 유지
+        Map<Long, Integer> quantityMap = new LinkedHashMap<>();
         for (OrderRequest.OrderItemLine line: req.items()){  // List<OrderitemLine> items
+            if (line.productId() == null) throw new IllegalArgumentException("상품 ID는 필수입니다.");
             if (line.quantity() <= 0) throw new IllegalArgumentException("수량은 1 이상이어야 합니다.");
-            I_Product product = productRepository.findById(line.productId())
-                    .orElseThrow(() -> new EntityNotFoundException("상품을 찾을 수 없습니다. id="+ line.productId()));
-            I_OrderItem item = I_OrderItem.builder()
-                    .product(product)
-                    .quantity(line.quantity())
-                    .build();
-            order.addItem(item);
+            quantityMap.merge(line.productId(), line.quantity(), Integer::sum);
+        }
+
+        // +) Idempotency-Key: 이미 처리된 요청이면 저장된 응답 그대로 반환 (상품/재고 조회 X)
+        OrderIdempotencyStore.Claim claim = null;
+        if (idempotencyKey != null) {
+            claim = orderIdempotencyStore.claim(authUserId, idempotencyKey, req);
+            if (claim.isReplay()) return ResponseDto.setSuccess("이미 처리된 주문 요청입니다.", claim.replay());
         }
 
+        // 2) 상품 일괄 조회 - 라인마다 findById(N번) 대신 IN 쿼리 1번
+        Map<Long, I_Product> productMap = new HashMap<>();
+        productRepository.findAllById(quantityMap.keySet())
+                .forEach(p -> productMap.put(p.getId(), p));
+
+        // 존재하지 않는 상품 ID는 한 번에 모아서 응답
+        List<Long> missingIds = quantityMap.keySet().stream()
+                .filter(id -> !productMap.containsKey(id))
+                .toList();
+        if (!missingIds.isEmpty())
+            throw new EntityNotFoundException("상품을 찾을 수 없습니다. ids=" + missingIds);
+
+        // 3) 주문 합계 계산 - 항목은 JDBC 로 저장하므로 addItem 대신 합계를 직접 반영
+        List<OrderResponse.OrderItemList> items = new ArrayList<>(quantityMap.size());
+        quantityMap.forEach((productId, quantity) -> items.add(toItemLine(productMap.get(productId), quantity)));
+        items.forEach(item -> order.addTotals(item.lineTotal(), item.quantity()));
+
+        // 4) 주문 헤더 저장 (IDENTITY - 즉시 INSERT 되어 orderId 확보)
         I_Order saved = orderRepository.save(order);
 
-        data = toOrderResponse(saved);
+        // 5) 주문 항목 JDBC 배치 INSERT (단가는 현재 상품 가격을 주문 시점 값으로 저장)
+        Map<Long, Integer> unitPriceMap = new HashMap<>();
+        productMap.forEach((productId, product) -> unitPriceMap.put(productId, product.getPrice()));
+        orderRepository.batchInsertItems(saved.getId(), quantityMap, unitPriceMap);
+
+        // 6) 주문 생성 이벤트 (일별 집계 + 주문 로그)
+        publishTransitions(List.of(OrderTransition.created(saved)));
+
+        data = toOrderResponse(saved, items);
+        if (claim != null) orderIdempotencyStore.complete(claim, data);
 
         return ResponseDto.setSuccess("주문이 성공적으로 등록되었습니다.", data);
     }
@@ -108,20 +165,13 @@ public class I_OrderServiceImpl implements I_OrderService {
                 item.getQuantity(),             // value
                 Integer::sum));                 // key를 기준으로 동일한 Integer 값 합계
 
-        // 재고 확인 차감
-        for (Map.Entry<Long, Integer> e: needMap.entrySet()){
-            Long productId = e.getKey();
-            int need = e.getValue();
-            I_Stock stock = stockRepository.findByProductId(productId)
-                    .orElseThrow(() -> new IllegalArgumentException("재고 정보가 없습니다. id="+ productId));
-            if (stock.getQuantity() < need){
-                throw new IllegalStateException("재고 부족: productId=%d, 필요=%d, 보유=%d".formatted(productId, need,stock.getQuantity()));
-            }
-            stock.setQuantity(stock.getQuantity() - need);
-
+        // 재고 확인 차감 - 하나라도 부족하면 예외 (트랜잭션 전체 롤백)
+        List<Long> shortIds = deductStock(needMap);
+        if (!shortIds.isEmpty()){
+            throw new IllegalStateException("재고 부족 또는 재고 정보 없음: productIds=" + shortIds);
         }
         order.setOrderStatus(OrderStatus.APPROVED);
-        // 상태 변경 트리거가 order_logs 자동 기록
+        publishTransitions(List.of(new OrderTransition(order, OrderStatus.PENDING, OrderStatus.APPROVED)));
 
         data = toOrderResponse(order);
 
@@ -138,6 +188,8 @@ public class I_OrderServiceImpl implements I_OrderService {
         I_Order order = orderRepository.findDetailById(orderId)
                 .orElseThrow(() -> new EntityNotFoundException("주문을 찾을 수 없습니다. id="+ orderId));
 
+        OrderStatus before = order.getOrderStatus();
+
         // 이미 취소된 주문일 경우 그대로 반환
         if (order.getOrderStatus() == OrderStatus.CANCELLED){
             throw new IllegalStateException("이미 취소된 주문입니다.");
@@ -171,20 +223,12 @@ public class I_OrderServiceImpl implements I_OrderService {
             }
 
             // 중복없는 제품 구매 Id에 대해 재고를 복구 하는 것
-            for (Map.Entry<Long, Integer> e : restoreMap.entrySet()){
-                Long productId = e.getKey();
-                int quantity = e.getValue();
-
-                // 재고 레코드 행 단위 잠금
-                I_Stock stock = stockRepository.findByProductIdForUpdate(productId)
-                        .orElseThrow(()->new IllegalStateException("재고 정보가 없습니다. productId="+productId));
-
-                stock.setQuantity(stock.getQuantity()+quantity); // 변경 감지로 UPDATE
-            }
+            restoreStock(restoreMap);
             order.setOrderStatus(OrderStatus.CANCELLED);
         } else {
             throw new IllegalArgumentException("취소할 수 없는 주문 상태입니다. "+ order.getOrderStatus());
         }
+        publishTransitions(List.of(new OrderTransition(order, before, OrderStatus.CANCELLED)));
 
         // PENDING일 때만 취소 가능한 로직
 //       // PENDING이 아니면 취소 불가
@@ -194,69 +238,340 @@ public class I_OrderServiceImpl implements I_OrderService {
 //        order.setOrderStatus(OrderStatus.CANCELLED);
 
         // + 변경 정보 자동 저장
-        // + 변경 발생 시 DB 트리거에 의해 로그 기록 생성
+        // + 변경 로그는 publishTransitions 에서 주문 로그로 기록
 
         data = toOrderResponse(order);
         return ResponseDto.setSuccess("주문 취소가 정상적으로 취소되었습니다",data);
     }
 
+    // 주문 일괄 승인!
+    @Override
+    @Transactional
+    @PreAuthorize("hasAnyRole('MANAGER','ADMIN')")
+    public ResponseDto<OrderResponse.BatchResult> approveBatch(UserPrincipal userPrincipal, OrderRequest.OrderBatchRequest req) {
+        Set<Long> orderIds = requireBatchIds(req);
+
+        // 1) 요청 주문 전체를 fetch join 1회로 조회
+        Map<Long, I_Order> orderMap = loadOrders(orderIds);
+        Map<Long, OrderResponse.BatchItemResult> results = new HashMap<>();
+
+        // 2) 승인 대상(PENDING) 선별 - 주문 ID 오름차순 (먼저 들어온 주문부터 재고 배분)
+        List<I_Order> candidates = new ArrayList<>();
+        for (Long orderId : orderIds){
+            I_Order order = orderMap.get(orderId);
+            if (order == null){
+                results.put(orderId, failed(orderId, null, "주문을 찾을 수 없습니다."));
+            } else if (order.getOrderStatus() != OrderStatus.PENDING){
+                results.put(orderId, failed(orderId, order.getOrderStatus(), "PENDING 상태만 승인할 수 있습니다."));
+            } else {
+                candidates.add(order);
+            }
+        }
+        candidates.sort(Comparator.comparing(I_Order::getId));
+
+        // 3) 모든 주문의 상품 수요를 하나의 Map 으로 합산 >> productId 순으로 한 번에 차감
+        //      - 부족한 상품이 있으면 차감은 전부 취소되고, 현재 보유량 기준으로 주문을 배분한 뒤 다시 시도
+        for (int round = 0; round < MAX_DEDUCT_ROUNDS && !candidates.isEmpty(); round++){
+            List<Long> shortIds = deductStock(toNeedMap(candidates));
+            if (shortIds.isEmpty()){
+                List<OrderTransition> transitions = new ArrayList<>(candidates.size());
+                for (I_Order order : candidates){
+                    order.setOrderStatus(OrderStatus.APPROVED);
+                    transitions.add(new OrderTransition(order, OrderStatus.PENDING, OrderStatus.APPROVED));
+                    results.put(order.getId(), succeeded(order, "주문이 승인되었습니다."));
+                }
+                publishTransitions(transitions);
+                candidates = List.of();
+                break;
+            }
+            candidates = allocateShortStock(candidates, shortIds, results);
+        }
+
+        // 재시도 횟수를 넘긴 주문 (다른 트랜잭션과 재고 경합)
+        for (I_Order order : candidates){
+            results.put(order.getId(), failed(order.getId(), order.getOrderStatus(), "재고 경합으로 승인하지 못했습니다. 다시 시도해주세요."));
+        }
+
+        return ResponseDto.setSuccess("주문 일괄 승인 결과입니다.", toBatchResult(orderIds, results));
+    }
+
+    // 주문 일괄 취소!
+    @Override
+    @Transactional
+    @PreAuthorize("hasAnyRole('MANAGER','ADMIN')")
+    public ResponseDto<OrderResponse.BatchResult> cancelBatch(UserPrincipal userPrincipal, OrderRequest.OrderBatchRequest req) {
+        Set<Long> orderIds = requireBatchIds(req);
+
+        Map<Long, I_Order> orderMap = loadOrders(orderIds);
+        Map<Long, OrderResponse.BatchItemResult> results = new HashMap<>();
+
+        // 취소 대상 선별 + 승인(APPROVED) 주문의 복원 수량 합산
+        List<I_Order> targets = new ArrayList<>();
+        List<I_Order> approved = new ArrayList<>();
+        for (Long orderId : orderIds){
+            I_Order order = orderMap.get(orderId);
+            if (order == null){
+                results.put(orderId, failed(orderId, null, "주문을 찾을 수 없습니다."));
+            } else if (order.getOrderStatus() == OrderStatus.CANCELLED){
+                results.put(orderId, failed(orderId, order.getOrderStatus(), "이미 취소된 주문입니다."));
+            } else if (order.getOrderStatus() == OrderStatus.PENDING || order.getOrderStatus() == OrderStatus.APPROVED){
+                targets.add(order);
+                if (order.getOrderStatus() == OrderStatus.APPROVED) approved.add(order);
+            } else {
+                results.put(orderId, failed(orderId, order.getOrderStatus(), "취소할 수 없는 주문 상태입니다."));
+            }
+        }
+
+        // 승인된 주문들의 재고를 productId 순으로 한 번에 복원
+        restoreStock(toNeedMap(approved));
+
+        List<OrderTransition> transitions = new ArrayList<>(targets.size());
+        for (I_Order order : targets){
+            transitions.add(new OrderTransition(order, order.getOrderStatus(), OrderStatus.CANCELLED));
+            order.setOrderStatus(OrderStatus.CANCELLED);
+            results.put(order.getId(), succeeded(order, "주문이 취소되었습니다."));
+        }
+        publishTransitions(transitions);
+
+        return ResponseDto.setSuccess("주문 일괄 취소 결과입니다.", toBatchResult(orderIds, results));
+    }
+
     @Override
 //    @Transactional
     @PreAuthorize("hasAnyRole('MANAGER','ADMIN') or @authz.isSelf(#userId, authentication)")
-    public ResponseDto<List<OrderResponse.Detail>> search(UserPrincipal userPrincipal, Long userId, OrderStatus status, LocalDateTime from, LocalDateTime to) {
-        List<OrderResponse.Detail> data = null;
+    public ResponseDto<OrderResponse.SliceResponse> search(UserPrincipal userPrincipal, Long userId, OrderStatus status, LocalDateTime from, LocalDateTime to, String cursor, int size) {
+        if (size < 1 || size > MAX_SEARCH_SIZE)
+            throw new IllegalArgumentException("size 는 1 ~ " + MAX_SEARCH_SIZE + " 사이여야 합니다.");
 
         LocalDateTime fromUtc = DateUtils.kstToUtc(from);
         LocalDateTime toUtc = DateUtils.kstToUtc(to);
 
-        List<I_Order> orders = orderRepository.searchOrders(userId, status, fromUtc, toUtc);
-        // 수정 전 List<I_Order> orders = orderRepository.searchOrders(userId,status,from,to);
-        System.out.println(orders);
+        // 커서 = 이전 페이지 마지막 주문의 (createdAt, id)
+        LocalDateTime cursorCreatedAt = null;
+        Long cursorId = null;
+        if (cursor != null && !cursor.isBlank()){
+            OrderSearchCursor decoded = OrderSearchCursor.decode(cursor);
+            cursorCreatedAt = decoded.createdAt();
+            cursorId = decoded.orderId();
+        }
+
+        // 1) 주문 행만 size + 1 건 조회 (1건 더 가져와서 다음 페이지 존재 여부 판단)
+        List<I_OrderRepositoryCustom.OrderRow> rows =
+                orderRepository.searchOrders(userId, status, fromUtc, toUtc, cursorCreatedAt, cursorId, size + 1);
+
+        boolean hasNext = rows.size() > size;
+        if (hasNext) rows = rows.subList(0, size);
 
-        data = orders.stream()
-                .map(this::toOrderResponse)
+        // 2) 해당 페이지 주문들의 항목만 조회 >> 주문별로 묶기
+        Map<Long, List<OrderResponse.OrderItemList>> itemsByOrderId = new HashMap<>();
+        orderRepository.findItemRowsByOrderIds(rows.stream().map(I_OrderRepositoryCustom.OrderRow::orderId).toList())
+                .forEach(item -> itemsByOrderId
+                        .computeIfAbsent(item.orderId(), id -> new ArrayList<>())
+                        .add(toItemLine(item.productId(), item.productName(), item.price(), item.quantity())));
+
+        List<OrderResponse.Detail> content = rows.stream()
+                .map(row -> toOrderResponse(row, itemsByOrderId.getOrDefault(row.orderId(), List.of())))
                 .toList();
 
+        String nextCursor = null;
+        if (hasNext) {
+            I_OrderRepositoryCustom.OrderRow last = rows.get(rows.size() - 1);
+            nextCursor = new OrderSearchCursor(last.createdAt(), last.orderId()).encode();
+        }
+
+        OrderResponse.SliceResponse data = new OrderResponse.SliceResponse(content, hasNext, nextCursor);
         return ResponseDto.setSuccess("주문 검색 결과입니다.",data);
     }
 
+    // 주문 내보내기 (CSV / NDJSON)
+    // : 권한 검사는 여기서(요청 스레드) 끝내고, 실제 조회/기록은 응답 스트림에 쓰는 시점에 수행
+    @Override
+    @PreAuthorize("hasAnyRole('MANAGER','ADMIN') or @authz.isSelf(#userId, authentication)")
+    public StreamingResponseBody export(UserPrincipal userPrincipal, Long userId, OrderStatus status, LocalDateTime from, LocalDateTime to, ExportFormat format) {
+        LocalDateTime fromUtc = DateUtils.kstToUtc(from);
+        LocalDateTime toUtc = DateUtils.kstToUtc(to);
+
+        return out -> orderExportWriter.write(format, out,
+                sink -> orderRepository.streamOrderLines(userId, status, fromUtc, toUtc, sink));
+    }
+
+    //===== 주문 이벤트 =====//
+    // 상태 전이 >> 일별 집계(같은 트랜잭션) + 주문 로그(order.log.mode 에 따라 버퍼/outbox)
+    // cf) DB 트리거(trg_after_order_insert / trg_after_order_status_update) 대신 애플리케이션에서 기록
+    private void publishTransitions(List<OrderTransition> transitions){
+        if (transitions.isEmpty()) return;
+        salesRollupRecorder.recordAll(transitions);
+        orderLogWriter.recordAll(transitions);
+    }
+
     //===== 변환 유틸 =====//
     private OrderResponse.Detail toOrderResponse(I_Order order){
         // 각 주문 항복 변환
         List<OrderResponse.OrderItemList> items = order.getItems().stream()
-                .map(item->{
-                    int price = item.getProduct().getPrice();
-                    int quantity = item.getQuantity();
-                    int lineTotal = (int) price * quantity;
-
-                    return new OrderResponse.OrderItemList(
-                            item.getProduct().getId(),
-                            item.getProduct().getName(),
-                            price,
-                            quantity,
-                            lineTotal
-                    );
-                }).toList();
-        // 총액 계산 (int)
-        int totalAmount = items.stream()
-                .mapToInt(OrderResponse.OrderItemList::lineTotal)
-                .sum();
-        // 총 수량 계산
-        int totalQuantity = items.stream()
-                .mapToInt(OrderResponse.OrderItemList::quantity)
-                .sum();
+                .map(this::toItemLine)
+                .toList();
 
+        return toOrderResponse(order, items);
+    }
+
+    private OrderResponse.Detail toOrderResponse(I_Order order, List<OrderResponse.OrderItemList> items){
+        // 총액/총 수량은 주문에 저장된 합계 사용 (항목 재집계 X)
         return new OrderResponse.Detail(
                 order.getId(),
                 order.getUser().getId(),
                 order.getOrderStatus(),
-                totalAmount,
-                totalQuantity,
+                order.getTotalAmount(),
+                order.getTotalQuantity(),
                 DateUtils.toKstString(order.getCreatedAt()),
                 items
         );
     }
 
+    // 신규 주문 - 현재 상품 가격이 곧 주문 시점 단가
+    private OrderResponse.OrderItemList toItemLine(I_Product product, int quantity){
+        return toItemLine(product.getId(), product.getName(), product.getPrice(), quantity);
+    }
+
+    // 저장된 주문 항목 - 주문 시점 단가 스냅샷 사용 (현재 상품 가격 X)
+    private OrderResponse.OrderItemList toItemLine(I_OrderItem item){
+        return toItemLine(item.getProduct().getId(), item.getProduct().getName(), item.getUnitPrice(), item.getQuantity());
+    }
+
+    private OrderResponse.OrderItemList toItemLine(Long productId, String productName, int price, int quantity){
+        int lineTotal = price * quantity;
+
+        return new OrderResponse.OrderItemList(
+                productId,
+                productName,
+                price,
+                quantity,
+                lineTotal
+        );
+    }
+
+    // projection 기반 변환 (검색)
+    private OrderResponse.Detail toOrderResponse(I_OrderRepositoryCustom.OrderRow row, List<OrderResponse.OrderItemList> items){
+        return new OrderResponse.Detail(
+                row.orderId(),
+                row.userId(),
+                row.status(),
+                row.totalAmount(),
+                row.totalQuantity(),
+                DateUtils.toKstString(row.createdAt()),
+                items
+        );
+    }
+
+    //===== 재고 차감/복원 =====//
+    // stock.ledger.enabled=true  : 메모리 원장에서 즉시 판단 후 주기적으로 DB 반영
+    // stock.ledger.enabled=false : 조건부 UPDATE batch 로 DB 에 직접 반영
+
+    /** @return 재고가 부족한 productId 목록 (비어 있으면 전부 차감됨) */
+    private List<Long> deductStock(Map<Long, Integer> needMap){
+        if (stockLedger.isEnabled()) return stockLedger.decreaseAll(needMap);
+
+        // 영향 행이 0 인 상품 = 재고 부족 또는 재고 정보 없음
+        Map<Long, Integer> counts = stockRepository.decreaseAll(needMap);
+        List<Long> shortIds = counts.entrySet().stream()
+                .filter(e -> e.getValue() == 0)
+                .map(Map.Entry::getKey)
+                .toList();
+
+        // 부족한 상품이 있으면 이미 차감된 상품은 되돌림 (전부 차감 OR 전부 미차감)
+        if (!shortIds.isEmpty()){
+            Map<Long, Integer> applied = new HashMap<>();
+            counts.forEach((productId, count) -> {
+                if (count > 0) applied.put(productId, needMap.get(productId));
+            });
+            stockRepository.increaseAll(applied);
+        }
+        return shortIds;
+    }
+
+    private void restoreStock(Map<Long, Integer> restoreMap){
+        if (stockLedger.isEnabled()){
+            stockLedger.increaseAll(restoreMap);
+            return;
+        }
+
+        // 원자적 증가 UPDATE batch (행 단위 잠금은 UPDATE 순간에만)
+        stockRepository.increaseAll(restoreMap).forEach((productId, count) -> {
+            if (count == 0) throw new IllegalStateException("재고 정보가 없습니다. productId="+productId);
+        });
+    }
+
+    /** 현재 보유량 기준으로 먼저 들어온 주문부터 부족 상품을 배분, 배분받지 못한 주문은 실패 처리
+     *  @return 다시 차감을 시도할 주문 목록 */
+    private List<I_Order> allocateShortStock(List<I_Order> candidates, List<Long> shortIds,
+                                             Map<Long, OrderResponse.BatchItemResult> results){
+        // 부족 상품의 현재 보유량 (재고 행이 없으면 0)
+        Map<Long, Integer> remaining = new HashMap<>();
+        shortIds.forEach(productId -> remaining.put(productId, 0));
+        if (stockLedger.isEnabled()){
+            shortIds.forEach(productId -> stockLedger.findQuantity(productId).ifPresent(q -> remaining.put(productId, q)));
+        } else {
+            stockRepository.findQuantitiesByProductIdIn(shortIds)
+                    .forEach(row -> remaining.put(row.getProductId(), row.getQuantity()));
+        }
+
+        List<I_Order> fitted = new ArrayList<>();
+        for (I_Order order : candidates){
+            Map<Long, Integer> need = toNeedMap(List.of(order));
+            boolean fits = need.entrySet().stream()
+                    .allMatch(e -> !remaining.containsKey(e.getKey()) || remaining.get(e.getKey()) >= e.getValue());
+            if (fits){
+                need.forEach((productId, quantity) -> remaining.computeIfPresent(productId, (id, left) -> left - quantity));
+                fitted.add(order);
+            } else {
+                results.put(order.getId(), failed(order.getId(), order.getOrderStatus(), "재고가 부족하여 승인할 수 없습니다."));
+            }
+        }
+        return fitted;
+    }
+
+    //===== 일괄 처리 유틸 =====//
+    private Set<Long> requireBatchIds(OrderRequest.OrderBatchRequest req){
+        if (req == null || req.orderIds() == null || req.orderIds().isEmpty())
+            throw new IllegalArgumentException("주문 ID 목록이 비어있습니다.");
+        if (req.orderIds().contains(null))
+            throw new IllegalArgumentException("주문 ID는 null일 수 없습니다.");
+
+        Set<Long> orderIds = new LinkedHashSet<>(req.orderIds()); // 중복 제거 + 요청 순서 유지
+        if (orderIds.size() > MAX_BATCH_SIZE)
+            throw new IllegalArgumentException("한 번에 처리할 수 있는 주문은 최대 " + MAX_BATCH_SIZE + "건입니다.");
+        return orderIds;
+    }
+
+    private Map<Long, I_Order> loadOrders(Set<Long> orderIds){
+        Map<Long, I_Order> orderMap = new HashMap<>();
+        orderRepository.findDetailsByIdIn(orderIds).forEach(o -> orderMap.put(o.getId(), o));
+        return orderMap;
+    }
+
+    // 여러 주문의 항목을 key=productId, value=누적수량 으로 합산
+    private Map<Long, Integer> toNeedMap(Collection<I_Order> orders){
+        Map<Long, Integer> needMap = new HashMap<>();
+        for (I_Order order : orders){
+            order.getItems().forEach(item -> needMap.merge(item.getProduct().getId(), item.getQuantity(), Integer::sum));
+        }
+        return needMap;
+    }
+
+    private OrderResponse.BatchItemResult succeeded(I_Order order, String message){
+        return new OrderResponse.BatchItemResult(order.getId(), true, order.getOrderStatus(), message);
+    }
+
+    private OrderResponse.BatchItemResult failed(Long orderId, OrderStatus status, String message){
+        return new OrderResponse.BatchItemResult(orderId, false, status, message);
+    }
+
+    // 요청 순서대로 결과 정렬
+    private OrderResponse.BatchResult toBatchResult(Set<Long> orderIds, Map<Long, OrderResponse.BatchItemResult> results){
+        List<OrderResponse.BatchItemResult> list = orderIds.stream().map(results::get).toList();
+        int succeeded = (int) list.stream().filter(OrderResponse.BatchItemResult::success).count();
+        return new OrderResponse.BatchResult(list.size(), succeeded, list.size() - succeeded, list);
+    }
+
     // == 호출자 권한이 MANAGER/ADMIN인지 확인 == //
     private boolean hasManagerOrAdmin(UserPrincipal userPrincipal){
         if (userPrincipal == null || userPrincipal.getAuthorities() == null ) return false;
@@ -7,6 +7,7 @@ import com.example.k5_iot_springboot.entity.I_Stock;
 import com.example.k5_iot_springboot.repository.I_StockRepository;
 import com.example.k5_iot_springboot.security.UserPrincipal;
 import com.example.k5_iot_springboot.service.I_StockService;
+import com.example.k5_iot_springboot.service.stock.StockReservationLedger;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -14,11 +15,14 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Map;
+
 @Service
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
 public class I_StockServiceImpl implements I_StockService {
     private final I_StockRepository stockRepository;
+    private final StockReservationLedger stockLedger;
 
     @Override
     @Transactional
@@ -30,6 +34,19 @@ public class I_StockServiceImpl implements I_StockService {
 
         StockResponse.Response data = null; // 실제 ResponseDto 내부에서 전달될 data 타입을 초기화
 
+        // 원장 모드: 메모리에서 증감 후 주기적으로 DB 반영
+        if (stockLedger.isEnabled()) {
+            if (req.delta() < 0) {
+                if (!stockLedger.decreaseAll(Map.of(req.productId(), -req.delta())).isEmpty())
+                    throw new IllegalArgumentException("재고가 부족합니다.");
+            } else {
+                stockLedger.increaseAll(Map.of(req.productId(), req.delta()));
+            }
+
+            data = new StockResponse.Response(req.productId(), stockLedger.getQuantity(req.productId()));
+            return ResponseDto.setSuccess("재고가 성공적으로 증감되었습니다.", data);
+        }
+
         I_Stock stock = stockRepository.findByProductIdForUpdate(req.productId())
                 .orElseThrow(() -> new EntityNotFoundException("재고 정보를 찾을 수 없습니다. productId=" + req.productId()));
 
@@ -53,10 +70,18 @@ public class I_StockServiceImpl implements I_StockService {
     public ResponseDto<StockResponse.Response> set(UserPrincipal userPrincipal, StockRequest.@Valid StockSet req) {
         StockResponse.Response data = null;
 
+        if (req.quantity() < 0) throw new IllegalArgumentException("재고는 0이상이어야 합니다.");
+
+        if (stockLedger.isEnabled()) {
+            stockLedger.set(req.productId(), req.quantity());
+
+            data = new StockResponse.Response(req.productId(), stockLedger.getQuantity(req.productId()));
+            return ResponseDto.setSuccess("재고가 성공적으로 설정되었습니다.", data);
+        }
+
         I_Stock stock = stockRepository.findByProductIdForUpdate(req.productId())
                 .orElseThrow(() -> new EntityNotFoundException("재고 정보를 찾을 수 없습니다. productId=" + req.productId()));
 
-        if (req.quantity() < 0) throw new IllegalArgumentException("재고는 0이상이어야 합니다.");
         stock.setQuantity(req.quantity());
 
         data = new StockResponse.Response(
@@ -72,6 +97,11 @@ public class I_StockServiceImpl implements I_StockService {
     public ResponseDto<StockResponse.Response> get(Long productId) {
         StockResponse.Response data = null;
 
+        if (stockLedger.isEnabled()) {
+            data = new StockResponse.Response(productId, stockLedger.getQuantity(productId));
+            return ResponseDto.setSuccess("재고가 성공적으로 조회되었습니다.", data);
+        }
+
         I_Stock stock = stockRepository.findByProductId(productId)
                 .orElseThrow(() -> new EntityNotFoundException("재고 정보를 찾을 수 없습니다. productId=" + productId));
 
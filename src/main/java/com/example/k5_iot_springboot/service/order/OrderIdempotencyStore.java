@@ -0,0 +1,167 @@
+package com.example.k5_iot_springboot.service.order;
+
+import com.example.k5_iot_springboot.common.utils.TtlCache;
+import com.example.k5_iot_springboot.dto.I_Order.response.OrderResponse;
+import com.example.k5_iot_springboot.repository.I_OrderIdempotencyRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Optional;
+
+/*
+ * === OrderIdempotencyStore ===
+ * : Idempotency-Key 헤더 기반 주문 생성 중복 방지
+ * - 1차: 메모리 TtlCache (같은 인스턴스로 들어온 재시도 >> DB 조회 없이 바로 응답)
+ * - 2차: order_idempotency_keys 테이블 (재시작/다중 인스턴스에서도 유지)
+ *
+ * # 흐름 #
+ * 1) claim: 캐시 확인 >> 없으면 키 INSERT(선점) 시도 (주문 생성 트랜잭션 안에서)
+ *      - 선점 성공: 새 주문 처리
+ *      - 이미 있음: 저장된 응답 반환 (상품/재고 조회 X)
+ * 2) complete: 주문 ID + 응답 본문 저장, 커밋 후 캐시 적재
+ * - 같은 키로 다른 요청 본문이 오면 거부 (요청 본문 SHA-256 비교)
+ * */
+@Component
+@Slf4j
+public class OrderIdempotencyStore {
+    private static final int MAX_KEY_LENGTH = 64;
+    private static final int CLEANUP_BATCH = 1000;
+
+    private final I_OrderIdempotencyRepository idempotencyRepository;
+    private final ObjectMapper objectMapper;
+    private final Duration keyTtl;
+    private final TtlCache<String, Cached> cache;
+
+    private record Cached(String requestHash, OrderResponse.Detail response) {}
+
+    /** 선점 결과 - replay 가 있으면 이미 처리된 요청 */
+    public record Claim(Long userId, String key, String requestHash, OrderResponse.Detail replay) {
+        public boolean isReplay() {
+            return replay != null;
+        }
+    }
+
+    public OrderIdempotencyStore(
+            I_OrderIdempotencyRepository idempotencyRepository,
+            ObjectMapper objectMapper,
+            @Value("${order.idempotency.ttl-hours:24}") long ttlHours,
+            @Value("${order.idempotency.cache-size:10000}") int cacheSize,
+            @Value("${order.idempotency.cache-ttl-seconds:600}") long cacheTtlSeconds
+    ) {
+        this.idempotencyRepository = idempotencyRepository;
+        this.objectMapper = objectMapper;
+        this.keyTtl = Duration.ofHours(ttlHours);
+        this.cache = new TtlCache<>(cacheSize, Duration.ofSeconds(cacheTtlSeconds));
+    }
+
+    public Claim claim(Long userId, String key, Object request) {
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH)
+            throw new IllegalArgumentException("Idempotency-Key 는 1 ~ " + MAX_KEY_LENGTH + "자여야 합니다.");
+
+        String requestHash = hash(request);
+
+        // 1) 메모리 캐시
+        Cached cached = cache.get(cacheKey(userId, key));
+        if (cached != null) {
+            checkSameRequest(cached.requestHash(), requestHash);
+            return new Claim(userId, key, requestHash, cached.response());
+        }
+
+        // 2) DB 선점 - 같은 키로 처리 중인 트랜잭션이 있으면 커밋/롤백까지 대기
+        LocalDateTime now = LocalDateTime.now();
+        if (idempotencyRepository.tryClaim(userId, key, requestHash, now.plus(keyTtl))) {
+            return new Claim(userId, key, requestHash, null);
+        }
+
+        I_OrderIdempotencyRepository.StoredKey stored = idempotencyRepository.findForShare(userId, key).orElse(null);
+        if (stored == null || stored.expiresAt().isBefore(now)) {
+            // 만료(또는 그 사이 삭제)된 키 >> 새 요청으로 처리
+            if (stored != null) idempotencyRepository.delete(userId, key);
+            if (idempotencyRepository.tryClaim(userId, key, requestHash, now.plus(keyTtl))) {
+                return new Claim(userId, key, requestHash, null);
+            }
+            throw new IllegalStateException("같은 Idempotency-Key 요청이 처리 중입니다. 잠시 후 다시 시도해주세요.");
+        }
+
+        checkSameRequest(stored.requestHash(), requestHash);
+        if (stored.responseBody() == null)
+            throw new IllegalStateException("같은 Idempotency-Key 요청이 처리 중입니다. 잠시 후 다시 시도해주세요.");
+
+        OrderResponse.Detail response = fromJson(stored.responseBody());
+        cache.put(cacheKey(userId, key), new Cached(requestHash, response));
+        return new Claim(userId, key, requestHash, response);
+    }
+
+    public void complete(Claim claim, OrderResponse.Detail response) {
+        idempotencyRepository.complete(claim.userId(), claim.key(), response.orderId(), toJson(response));
+
+        // 롤백되면 키도 함께 사라지므로 커밋된 경우에만 캐시
+        Runnable cachePut = () -> cache.put(cacheKey(claim.userId(), claim.key()), new Cached(claim.requestHash(), response));
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cachePut.run();
+                }
+            });
+        } else {
+            cachePut.run();
+        }
+    }
+
+    /* 만료 키 정리 */
+    @Scheduled(fixedDelayString = "${order.idempotency.cleanup-interval-ms:600000}")
+    public void cleanup() {
+        int deleted;
+        do {
+            deleted = idempotencyRepository.deleteExpired(LocalDateTime.now(), CLEANUP_BATCH);
+        } while (deleted == CLEANUP_BATCH);
+    }
+
+    // === 내부 유틸 === //
+
+    private String cacheKey(Long userId, String key) {
+        return userId + ":" + key;
+    }
+
+    private void checkSameRequest(String storedHash, String requestHash) {
+        if (!storedHash.equals(requestHash))
+            throw new IllegalArgumentException("같은 Idempotency-Key 로 다른 주문 요청을 보낼 수 없습니다.");
+    }
+
+    private String hash(Object request) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(objectMapper.writeValueAsBytes(request));
+            return HexFormat.of().formatHex(digest);
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("요청 해시 계산에 실패했습니다.", e);
+        }
+    }
+
+    private String toJson(OrderResponse.Detail response) {
+        try {
+            return objectMapper.writeValueAsString(response);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("주문 응답 직렬화에 실패했습니다.", e);
+        }
+    }
+
+    private OrderResponse.Detail fromJson(String body) {
+        try {
+            return objectMapper.readValue(body, OrderResponse.Detail.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("저장된 주문 응답을 읽을 수 없습니다.", e);
+        }
+    }
+}
@@ -0,0 +1,225 @@
+package com.example.k5_iot_springboot.service.order;
+
+import com.example.k5_iot_springboot.repository.I_OrderLogRepository;
+import com.example.k5_iot_springboot.repository.I_OrderLogRepositoryCustom.OrderLogEntry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/*
+ * === OrderLogWriter ===
+ * : 주문 상태 전이를 order_logs 에 기록 (DB 트리거 대체)
+ * - 트리거는 상태 변경마다 비즈니스 트랜잭션 안에서 INSERT 1건씩 동기 실행
+ *      >> 로그를 모아서 multi-row INSERT 로 한 번에 기록
+ *
+ * # 모드 (order.log.mode) #
+ * 1) buffered (기본)
+ *      - 커밋된 전이만 메모리 큐(queue-capacity)에 적재, flush-interval-ms 마다 flush-size 단위로 batch INSERT
+ *      - 큐가 가득 차면 넘친 로그는 버리고(dropped 집계) 스케줄러 스레드에 즉시 flush 요청
+ *          (afterCommit 에서 호출되므로 호출 스레드에서 INSERT 하지 않음 - 이미 커밋된 트랜잭션에 합류 방지)
+ *      - INSERT 는 항상 별도 트랜잭션(REQUIRES_NEW)
+ *      - INSERT 실패(일시적 DB 오류) 시 chunk 를 재시도 목록에 되돌리고 지수 backoff 후 순서대로 재시도
+ *          (retry-backoff-ms ~ retry-max-backoff-ms, 재시도 목록이 queue-capacity 를 넘으면 오래된 chunk 부터 버림)
+ *      - 비정상 종료 시 큐에 남은 로그는 유실될 수 있음 (정상 종료 시 @PreDestroy 에서 backoff 무시하고 flush)
+ * 2) outbox
+ *      - 비즈니스 트랜잭션 안에서 order_log_outbox 에 batch INSERT >> 주문 상태와 함께 커밋 (유실 없음)
+ *      - flush-interval-ms 마다 outbox 를 order_logs 로 이관 (SKIP LOCKED - 다중 인스턴스 가능)
+ * */
+@Component
+@Slf4j
+public class OrderLogWriter {
+    public enum Mode { BUFFERED, OUTBOX }
+
+    private final I_OrderLogRepository orderLogRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Mode mode;
+    private final int flushSize;
+    private final BlockingQueue<OrderLogEntry> queue;
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+    private final int retryCapacity;
+    private final long retryBackoffMs;
+    private final long retryMaxBackoffMs;
+
+    // 실패한 chunk (flushBuffered 의 synchronized 안에서만 접근)
+    private final Deque<List<OrderLogEntry>> retry = new ArrayDeque<>();
+    private int retryEntries;
+    private int failures;
+    private long nextAttemptAt;
+
+    public OrderLogWriter(
+            I_OrderLogRepository orderLogRepository,
+            PlatformTransactionManager transactionManager,
+            @Value("${order.log.mode:buffered}") String mode,
+            @Value("${order.log.queue-capacity:10000}") int queueCapacity,
+            @Value("${order.log.flush-size:500}") int flushSize,
+            @Value("${order.log.retry-backoff-ms:1000}") long retryBackoffMs,
+            @Value("${order.log.retry-max-backoff-ms:60000}") long retryMaxBackoffMs
+    ) {
+        this.orderLogRepository = orderLogRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        // 호출 스레드에 바인딩된(커밋 완료된) 트랜잭션에 합류하지 않도록 항상 새 트랜잭션
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.mode = Mode.valueOf(mode.trim().toUpperCase(Locale.ROOT));
+        this.flushSize = flushSize;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.retryCapacity = queueCapacity;
+        this.retryBackoffMs = retryBackoffMs;
+        this.retryMaxBackoffMs = Math.max(retryMaxBackoffMs, retryBackoffMs);
+    }
+
+    public void recordAll(Collection<OrderTransition> transitions) {
+        LocalDateTime now = LocalDateTime.now();
+        List<OrderLogEntry> entries = new ArrayList<>(transitions.size());
+        for (OrderTransition t : transitions) {
+            if (t.from() == t.to()) continue;
+            entries.add(new OrderLogEntry(t.order().getId(), toMessage(t), now));
+        }
+        if (entries.isEmpty()) return;
+
+        if (mode == Mode.OUTBOX) {
+            orderLogRepository.batchInsertOutbox(entries);
+            return;
+        }
+
+        // 롤백된 전이는 기록하지 않음 >> 커밋 후 큐 적재
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    enqueue(entries);
+                }
+            });
+        } else {
+            enqueue(entries);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${order.log.flush-interval-ms:1000}")
+    public void flush() {
+        if (mode == Mode.OUTBOX) {
+            relayOutbox();
+            return;
+        }
+
+        flushBuffered(false);
+    }
+
+    /* 큐가 가득 찼을 때 enqueue 가 요청한 flush 를 주기보다 일찍 수행 */
+    @Scheduled(fixedDelayString = "${order.log.flush-request-check-ms:50}")
+    public void flushIfRequested() {
+        if (flushRequested.getAndSet(false)) flushBuffered(false);
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        if (mode == Mode.OUTBOX) {
+            relayOutbox();
+            return;
+        }
+        flushBuffered(true);
+    }
+
+    // === 내부 유틸 === //
+
+    // 재시도 목록 먼저(순서 유지) >> 큐 - 실패하면 chunk 를 되돌리고 backoff 동안 중단
+    private synchronized void flushBuffered(boolean ignoreBackoff) {
+        if (!ignoreBackoff && System.currentTimeMillis() < nextAttemptAt) return;
+
+        while (!retry.isEmpty()) {
+            if (!insert(retry.peekFirst())) return;
+            retryEntries -= retry.pollFirst().size();
+        }
+
+        List<OrderLogEntry> chunk = new ArrayList<>(flushSize);
+        while (queue.drainTo(chunk, flushSize) > 0) {
+            if (!insert(chunk)) {
+                requeue(chunk);
+                return;
+            }
+            chunk = new ArrayList<>(flushSize);
+        }
+    }
+
+    // chunk 단위 원자적 INSERT (부분 반영 후 재시도로 인한 중복 방지)
+    private boolean insert(List<OrderLogEntry> chunk) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> orderLogRepository.batchInsert(chunk));
+            failures = 0;
+            nextAttemptAt = 0;
+            return true;
+        } catch (Exception e) {
+            failures++;
+            long backoff = Math.min(retryBackoffMs << Math.min(failures - 1, 16), retryMaxBackoffMs);
+            nextAttemptAt = System.currentTimeMillis() + backoff;
+            log.warn("Order log flush failed, retry in {}ms ({} entries waiting): {}",
+                    backoff, retryEntries + chunk.size() + queue.size(), e.getMessage());
+            return false;
+        }
+    }
+
+    private void requeue(List<OrderLogEntry> chunk) {
+        retry.addLast(chunk);
+        retryEntries += chunk.size();
+
+        // 장애가 길어지면 메모리 보호를 위해 가장 오래된 chunk 부터 버림 (유실 방지가 필요하면 outbox 모드)
+        while (retryEntries > retryCapacity) {
+            List<OrderLogEntry> oldest = retry.pollFirst();
+            retryEntries -= oldest.size();
+            dropped.addAndGet(oldest.size());
+            log.warn("Order log retry backlog full, dropped {} entries (total dropped={})",
+                    oldest.size(), dropped.get());
+        }
+    }
+
+    private void enqueue(List<OrderLogEntry> entries) {
+        int overflow = 0;
+        for (OrderLogEntry entry : entries) {
+            if (!queue.offer(entry)) overflow++;
+        }
+        if (overflow == 0) return;
+
+        // 큐 가득 참 >> 넘친 로그는 버리고 스케줄러 스레드에 flush 요청 (호출 스레드는 INSERT 하지 않음)
+        flushRequested.set(true);
+        long total = dropped.addAndGet(overflow);
+        log.warn("Order log queue full, dropped {} entries (total dropped={})", overflow, total);
+    }
+
+    // flush-size 만큼씩, 남은 행이 없을 때까지 이관 (배치마다 별도 트랜잭션)
+    private void relayOutbox() {
+        try {
+            Integer relayed;
+            do {
+                relayed = transactionTemplate.execute(status -> orderLogRepository.relayOutbox(flushSize));
+            } while (relayed != null && relayed == flushSize);
+        } catch (Exception e) {
+            // outbox 에 남아 있으므로 다음 주기에 재시도
+            log.warn("Order log outbox relay failed, retry next cycle: {}", e.getMessage());
+        }
+    }
+
+    // 기존 트리거와 같은 메시지 형식
+    private String toMessage(OrderTransition t) {
+        if (t.from() == null) return "주문이 생성되었습니다. 주문 ID: " + t.order().getId();
+        return "주문 상태가 " + t.from() + " -> " + t.to() + "로 변경되었습니다.";
+    }
+}
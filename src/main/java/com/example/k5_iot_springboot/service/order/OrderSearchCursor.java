@@ -0,0 +1,29 @@
+package com.example.k5_iot_springboot.service.order;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/*
+ * === OrderSearchCursor ===
+ * : 주문 검색 keyset 커서 = 이전 페이지 마지막 주문의 (createdAt(UTC), id)
+ * - "createdAt(UTC ISO)|id" 를 Base64(URL-safe) 로 감싼 불투명 문자열로 주고받음
+ * */
+public record OrderSearchCursor(LocalDateTime createdAt, Long orderId) {
+
+    public String encode() {
+        String raw = createdAt + "|" + orderId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static OrderSearchCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|");
+            if (parts.length != 2) throw new IllegalArgumentException();
+            return new OrderSearchCursor(LocalDateTime.parse(parts[0]), Long.parseLong(parts[1]));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("유효하지 않은 cursor 입니다.");
+        }
+    }
+}
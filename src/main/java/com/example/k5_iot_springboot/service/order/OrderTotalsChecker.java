@@ -0,0 +1,80 @@
+package com.example.k5_iot_springboot.service.order;
+
+import com.example.k5_iot_springboot.repository.I_OrderRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/*
+ * === OrderTotalsChecker ===
+ * : orders.total_amount / total_quantity (증분 유지 합계) 정합성 검사 + 재구성 작업
+ * - 합계는 주문 생성/항목 추가 시 증분으로 반영 >> JDBC/콘솔 직접 수정 등으로 어긋날 수 있음
+ * - order_items 재집계 값(주문 시점 단가 unit_price 기준)과 비교하여 다르면 로그
+ *      - 기본은 보고만 함 (rebuild=false) >> rebuild=true 일 때만 재집계 값으로 덮어씀
+ *
+ * # 동작 #
+ * - id 구간(chunk-size) 단위로 나누어 구간마다 별도 트랜잭션 >> 긴 잠금/긴 트랜잭션 방지
+ * - order.totals.check.enabled=false 면 스케줄 실행 안 함 (run 직접 호출은 가능)
+ * */
+@Component
+@Slf4j
+public class OrderTotalsChecker {
+    private final I_OrderRepository orderRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final boolean rebuild;
+    private final int chunkSize;
+
+    public OrderTotalsChecker(
+            I_OrderRepository orderRepository,
+            PlatformTransactionManager transactionManager,
+            @Value("${order.totals.check.enabled:true}") boolean enabled,
+            @Value("${order.totals.check.rebuild:false}") boolean rebuild,
+            @Value("${order.totals.check.chunk-size:1000}") int chunkSize
+    ) {
+        this.orderRepository = orderRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.rebuild = rebuild;
+        this.chunkSize = chunkSize;
+    }
+
+    /* 검사 결과 - scannedToId: 검사한 마지막 주문 ID, mismatched: 불일치 주문 수, rebuilt: 재구성한 주문 수 */
+    public record Result(long scannedToId, int mismatched, int rebuilt) {}
+
+    @Scheduled(cron = "${order.totals.check.cron:0 30 3 * * *}", zone = "Asia/Seoul")
+    public void scheduledCheck() {
+        if (!enabled) return;
+        run(rebuild);
+    }
+
+    public Result run(boolean rebuild) {
+        long maxId = orderRepository.findMaxId();
+        int mismatched = 0;
+        int rebuilt = 0;
+
+        for (long fromId = 1; fromId <= maxId; fromId += chunkSize) {
+            long from = fromId;
+            long to = Math.min(fromId + chunkSize - 1, maxId);
+
+            List<Long> ids = orderRepository.findTotalsMismatchIds(from, to);
+            if (ids.isEmpty()) continue;
+
+            mismatched += ids.size();
+            log.warn("Order totals mismatch: ids={}", ids);
+
+            if (rebuild) {
+                Integer updated = transactionTemplate.execute(status -> orderRepository.rebuildTotals(from, to));
+                rebuilt += (updated != null) ? updated : 0;
+            }
+        }
+
+        log.info("Order totals check done: maxId={}, mismatched={}, rebuilt={}", maxId, mismatched, rebuilt);
+        return new Result(maxId, mismatched, rebuilt);
+    }
+}
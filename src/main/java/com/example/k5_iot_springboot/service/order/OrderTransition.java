@@ -0,0 +1,15 @@
+package com.example.k5_iot_springboot.service.order;
+
+import com.example.k5_iot_springboot.common.enums.OrderStatus;
+import com.example.k5_iot_springboot.entity.I_Order;
+
+/**
+ * 주문 상태 전이 (from == null 이면 신규 주문)
+ * - 일별 집계(SalesRollupRecorder), 주문 로그(OrderLogWriter) 공용 이벤트
+ * */
+public record OrderTransition(I_Order order, OrderStatus from, OrderStatus to) {
+
+    public static OrderTransition created(I_Order order) {
+        return new OrderTransition(order, null, OrderStatus.PENDING);
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.k5_iot_springboot.service.post;
+
+import com.example.k5_iot_springboot.repository.D_PostRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/*
+ * === PostCommentCountChecker ===
+ * : posts.comment_count (증분 유지 댓글 수) 정합성 검사 + 재구성 작업
+ * - 댓글 생성/삭제 시 증분으로 반영 >> JDBC/콘솔 직접 수정 등으로 어긋날 수 있음
+ * - comments 재집계 값과 비교하여 다르면 로그 (rebuild=true 면 재집계 값으로 덮어씀)
+ *
+ * # 동작 #
+ * - id 구간(chunk-size) 단위로 나누어 구간마다 별도 트랜잭션 >> 긴 잠금/긴 트랜잭션 방지
+ * - post.comment-count.check.enabled=false 면 스케줄 실행 안 함 (run 직접 호출은 가능)
+ * */
+@Component
+@Slf4j
+public class PostCommentCountChecker {
+    private final D_PostRepository postRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final boolean rebuild;
+    private final int chunkSize;
+
+    public PostCommentCountChecker(
+            D_PostRepository postRepository,
+            PlatformTransactionManager transactionManager,
+            @Value("${post.comment-count.check.enabled:true}") boolean enabled,
+            @Value("${post.comment-count.check.rebuild:true}") boolean rebuild,
+            @Value("${post.comment-count.check.chunk-size:1000}") int chunkSize
+    ) {
+        this.postRepository = postRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.rebuild = rebuild;
+        this.chunkSize = chunkSize;
+    }
+
+    /* 검사 결과 - scannedToId: 검사한 마지막 게시글 ID, mismatched: 불일치 게시글 수, rebuilt: 재구성한 게시글 수 */
+    public record Result(long scannedToId, int mismatched, int rebuilt) {}
+
+    @Scheduled(cron = "${post.comment-count.check.cron:0 0 4 * * *}", zone = "Asia/Seoul")
+    public void scheduledCheck() {
+        if (!enabled) return;
+        run(rebuild);
+    }
+
+    public Result run(boolean rebuild) {
+        long maxId = postRepository.findMaxId();
+        int mismatched = 0;
+        int rebuilt = 0;
+
+        for (long fromId = 1; fromId <= maxId; fromId += chunkSize) {
+            long from = fromId;
+            long to = Math.min(fromId + chunkSize - 1, maxId);
+
+            List<Long> ids = postRepository.findCommentCountMismatchIds(from, to);
+            if (ids.isEmpty()) continue;
+
+            mismatched += ids.size();
+            log.warn("Post comment count mismatch: ids={}", ids);
+
+            if (rebuild) {
+                Integer updated = transactionTemplate.execute(status -> postRepository.rebuildCommentCounts(from, to));
+                rebuilt += (updated != null) ? updated : 0;
+            }
+        }
+
+        log.info("Post comment count check done: maxId={}, mismatched={}, rebuilt={}", maxId, mismatched, rebuilt);
+        return new Result(maxId, mismatched, rebuilt);
+    }
+}
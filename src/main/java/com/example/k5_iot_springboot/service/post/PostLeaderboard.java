@@ -0,0 +1,177 @@
+package com.example.k5_iot_springboot.service.post;
+
+import com.example.k5_iot_springboot.repository.D_PostRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/*
+ * === PostLeaderboard ===
+ * : 댓글 많은 게시글 상위 K개를 메모리에 유지하는 순위표 - 조회 시 DB 접근 X
+ * - (commentCount desc, postId desc) 로 정렬된 TreeSet >> 상위 N개는 앞에서 N개 순회
+ *
+ * # 동작 #
+ * 1) 기동 시(ApplicationReadyEvent) DB 상위 capacity(= K x 2)개로 초기화
+ * 2) 댓글 생성/삭제 트랜잭션이 커밋되면 해당 게시글의 최신 댓글 수로 갱신
+ *      - 순위표 밖의 게시글도 마지막 순위보다 많아지면 편입, 넘치는 항목은 뒤에서부터 제거
+ * 3) refresh-interval-ms 마다 DB 에서 다시 초기화
+ *      - 감소로 순위가 내려간 항목 때문에 K 밖 게시글이 누락되는 경우 / 다른 인스턴스의 변경 / 커밋 순서 역전 보정
+ *
+ * cf) 쓰기(갱신)는 synchronized 로 직렬화, 쓰기마다 상위 N개의 불변 스냅샷(List)을 만들어 참조 교체
+ *      - 읽기(top)는 잠금 없이 스냅샷만 사용 >> 갱신 중간 상태(이전 항목 제거 ~ 새 항목 추가 사이)가 보이지 않음
+ *      - 재초기화도 새 집합으로 스냅샷을 만든 뒤 교체 >> 조회 중 빈 순위표가 보이지 않음
+ * */
+@Component
+@Slf4j
+public class PostLeaderboard {
+    private final D_PostRepository postRepository;
+    private final boolean enabled;
+    private final int size;         // 조회 가능한 최대 N (K)
+    private final int capacity;     // 실제 보관 개수 - 감소로 인한 누락 완화용 여유분 포함
+
+    public record Entry(long postId, String title, String author, int commentCount) {}
+
+    private static final Comparator<Entry> RANKING = Comparator
+            .comparingInt(Entry::commentCount).reversed()
+            .thenComparing(Comparator.comparingLong(Entry::postId).reversed());
+
+    private TreeSet<Entry> ranking = new TreeSet<>(RANKING);   // 쓰기 전용 (synchronized 안에서만 접근)
+    private Map<Long, Entry> byPostId = new HashMap<>();        // 쓰기 전용 (synchronized 안에서만 접근)
+    private volatile List<Entry> topView = List.of();           // 읽기 전용 스냅샷 (상위 size 개)
+    private volatile boolean loaded;
+
+    public PostLeaderboard(
+            D_PostRepository postRepository,
+            @Value("${post.leaderboard.enabled:true}") boolean enabled,
+            @Value("${post.leaderboard.size:100}") int size
+    ) {
+        this.postRepository = postRepository;
+        this.enabled = enabled;
+        this.size = Math.max(size, 1);
+        this.capacity = this.size * 2;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /* 순위표로 조회 가능한 상태 (비활성화 또는 초기화 전이면 false) */
+    public boolean isReady() {
+        return enabled && loaded;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    /* 상위 n개 (n <= size) */
+    public List<Entry> top(int n) {
+        List<Entry> view = topView;
+        return view.subList(0, Math.min(Math.max(n, 0), view.size()));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${post.leaderboard.refresh-interval-ms:60000}", initialDelayString = "${post.leaderboard.refresh-interval-ms:60000}")
+    public synchronized void reload() {
+        if (!enabled) return;
+
+        TreeSet<Entry> freshRanking = new TreeSet<>(RANKING);
+        Map<Long, Entry> freshByPostId = new HashMap<>();
+        postRepository.findTopPostsByCommentCount_Native(capacity).forEach(p -> {
+            Entry entry = new Entry(p.getPostId(), p.getTitle(), p.getAuthor(), p.getCommentCount().intValue());
+            freshRanking.add(entry);
+            freshByPostId.put(entry.postId(), entry);
+        });
+        byPostId = freshByPostId;
+        ranking = freshRanking;
+        publish();
+
+        if (!loaded) log.info("Post leaderboard loaded: {} posts", ranking.size());
+        loaded = true;
+    }
+
+    // === 갱신 (커밋 후) === //
+
+    /* 댓글 수 변경 - commentCount 는 변경 직후 DB 값 */
+    public void update(Long postId, String title, String author, int commentCount) {
+        afterCommit(() -> putInternal(new Entry(postId, title, author, commentCount)));
+    }
+
+    /* 제목 변경 - 순위표에 있는 게시글만 */
+    public void rename(Long postId, String title) {
+        afterCommit(() -> {
+            Entry old = byPostId.get(postId);
+            if (old != null) putInternal(new Entry(postId, title, old.author(), old.commentCount()));
+        });
+    }
+
+    public void remove(Long postId) {
+        afterCommit(() -> {
+            Entry old = byPostId.remove(postId);
+            if (old != null) ranking.remove(old);
+        });
+    }
+
+    // === 내부 유틸 === //
+
+    // 호출부는 synchronized (apply)
+    private void putInternal(Entry entry) {
+        Entry old = byPostId.remove(entry.postId());
+        if (old != null) ranking.remove(old);
+
+        // 가득 찬 상태에서 마지막 순위보다 낮으면 편입하지 않음
+        if (ranking.size() >= capacity && RANKING.compare(entry, ranking.last()) > 0) return;
+
+        ranking.add(entry);
+        byPostId.put(entry.postId(), entry);
+
+        while (ranking.size() > capacity) {
+            Entry last = ranking.pollLast();
+            if (last != null) byPostId.remove(last.postId());
+        }
+    }
+
+    // 커밋 시에만 반영 (트랜잭션 밖이면 즉시)
+    private void afterCommit(Runnable change) {
+        if (!enabled) return;
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply(change);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                apply(change);
+            }
+        });
+    }
+
+    private synchronized void apply(Runnable change) {
+        change.run();
+        publish();
+    }
+
+    // 상위 size 개 스냅샷 교체 (호출부는 synchronized)
+    private void publish() {
+        List<Entry> view = new ArrayList<>(Math.min(size, ranking.size()));
+        for (Entry entry : ranking) {
+            if (view.size() >= size) break;
+            view.add(entry);
+        }
+        topView = List.copyOf(view);
+    }
+}
@@ -0,0 +1,157 @@
+package com.example.k5_iot_springboot.service.report;
+
+import com.example.k5_iot_springboot.common.enums.OrderStatus;
+import com.example.k5_iot_springboot.common.utils.DateUtils;
+import com.example.k5_iot_springboot.entity.I_Order;
+import com.example.k5_iot_springboot.repository.I_SalesRollupRepository;
+import com.example.k5_iot_springboot.service.order.OrderTransition;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/*
+ * === SalesRollupRecorder ===
+ * : 주문 상태 전이(생성/승인/취소)를 일별 집계 테이블에 증분 반영
+ * - 주문 트랜잭션 안에서는 sales_rollup_outbox 에 증분 행을 INSERT 만 함 (주문 상태와 함께 커밋/롤백)
+ *      >> 모든 주문이 같은 (오늘, 상태) 집계 행을 UPSERT 하면 커밋까지 행 잠금을 잡아 주문 쓰기가 직렬화됨
+ * - relay-interval-ms 마다 outbox 를 (일자, 키) 단위로 합산해 집계 테이블에 UPSERT 후 삭제
+ *      >> 집계 행 잠금은 relay 트랜잭션에서만, 짧게 (SKIP LOCKED - 다중 인스턴스 가능)
+ * - 리포트 조회는 relay 주기만큼 늦게 반영될 수 있음
+ *
+ * # 반영 규칙 #
+ * - 상태 집계: 이전 상태 -1건, 새 상태 +1건 (주문 합계 금액/수량 포함)
+ * - 상품 집계: APPROVED 로 들어오면 +, APPROVED 에서 나가면 - (항목이 로딩된 주문이어야 함)
+ * */
+@Component
+@Slf4j
+public class SalesRollupRecorder {
+    private final I_SalesRollupRepository rollupRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int relayBatchSize;
+
+    private record StatusKey(LocalDate date, OrderStatus status) {}
+    private record ProductKey(LocalDate date, Long productId) {}
+
+    public SalesRollupRecorder(
+            I_SalesRollupRepository rollupRepository,
+            PlatformTransactionManager transactionManager,
+            @Value("${report.rollup.relay-batch-size:1000}") int relayBatchSize
+    ) {
+        this.rollupRepository = rollupRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.relayBatchSize = relayBatchSize;
+    }
+
+    /* 호출 트랜잭션 안에서 outbox 에 증분 기록 (집계 테이블은 건드리지 않음) */
+    public void recordAll(Collection<OrderTransition> transitions) {
+        Map<StatusKey, long[]> statusDeltas = newStatusDeltas();
+        Map<ProductKey, long[]> productDeltas = newProductDeltas();
+
+        for (OrderTransition t : transitions) {
+            if (t.from() == t.to()) continue;
+
+            I_Order order = t.order();
+            LocalDate date = DateUtils.toKstDate(order.getCreatedAt());
+
+            if (t.from() != null) addStatus(statusDeltas, new StatusKey(date, t.from()), -1, order.getTotalAmount(), order.getTotalQuantity());
+            addStatus(statusDeltas, new StatusKey(date, t.to()), 1, order.getTotalAmount(), order.getTotalQuantity());
+
+            int sign = (t.to() == OrderStatus.APPROVED) ? 1 : (t.from() == OrderStatus.APPROVED) ? -1 : 0;
+            if (sign == 0) continue;
+            order.getItems().forEach(item -> addProduct(productDeltas, new ProductKey(date, item.getProduct().getId()),
+                    (long) sign * item.getQuantity(),
+                    (long) sign * item.getQuantity() * item.getUnitPrice()));
+        }
+
+        rollupRepository.insertOutbox(toStatusRows(statusDeltas), toProductRows(productDeltas));
+    }
+
+    @Scheduled(fixedDelayString = "${report.rollup.relay-interval-ms:1000}")
+    public void relay() {
+        try {
+            Integer relayed;
+            do {
+                relayed = transactionTemplate.execute(status -> relayBatch());
+            } while (relayed != null && relayed == relayBatchSize);
+        } catch (Exception e) {
+            // outbox 에 남아 있으므로 다음 주기에 재시도
+            log.warn("Sales rollup relay failed, retry next cycle: {}", e.getMessage());
+        }
+    }
+
+    // outbox relayBatchSize 건 >> (일자, 키) 합산 >> 정렬된 순서로 UPSERT >> outbox 삭제 (한 트랜잭션)
+    private int relayBatch() {
+        List<I_SalesRollupRepository.OutboxRow> rows = rollupRepository.lockOutbox(relayBatchSize);
+        if (rows.isEmpty()) return 0;
+
+        Map<StatusKey, long[]> statusDeltas = newStatusDeltas();
+        Map<ProductKey, long[]> productDeltas = newProductDeltas();
+        List<Long> ids = new ArrayList<>(rows.size());
+
+        for (I_SalesRollupRepository.OutboxRow row : rows) {
+            ids.add(row.id());
+            if (row.status() != null) {
+                long[] d = statusDeltas.computeIfAbsent(new StatusKey(row.date(), row.status()), k -> new long[3]);
+                d[0] += row.orderCount();
+                d[1] += row.amount();
+                d[2] += row.quantity();
+            } else {
+                addProduct(productDeltas, new ProductKey(row.date(), row.productId()), row.quantity(), row.amount());
+            }
+        }
+
+        rollupRepository.upsertStatusDeltas(toStatusRows(statusDeltas));
+        rollupRepository.upsertProductDeltas(toProductRows(productDeltas));
+        rollupRepository.deleteOutbox(ids);
+        return rows.size();
+    }
+
+    // === 내부 유틸 === //
+
+    // (일자, 키) 순 정렬 >> 트랜잭션 간 잠금 순서 고정 (데드락 방지)
+    private static Map<StatusKey, long[]> newStatusDeltas() {
+        return new TreeMap<>(Comparator.comparing(StatusKey::date).thenComparing(StatusKey::status));
+    }
+
+    private static Map<ProductKey, long[]> newProductDeltas() {
+        return new TreeMap<>(Comparator.comparing(ProductKey::date).thenComparing(ProductKey::productId));
+    }
+
+    // [주문 수, 금액, 수량]
+    private void addStatus(Map<StatusKey, long[]> deltas, StatusKey key, int sign, long amount, int quantity) {
+        long[] d = deltas.computeIfAbsent(key, k -> new long[3]);
+        d[0] += sign;
+        d[1] += sign * amount;
+        d[2] += (long) sign * quantity;
+    }
+
+    // [수량, 금액]
+    private void addProduct(Map<ProductKey, long[]> deltas, ProductKey key, long quantity, long amount) {
+        long[] d = deltas.computeIfAbsent(key, k -> new long[2]);
+        d[0] += quantity;
+        d[1] += amount;
+    }
+
+    private List<I_SalesRollupRepository.StatusDelta> toStatusRows(Map<StatusKey, long[]> deltas) {
+        List<I_SalesRollupRepository.StatusDelta> rows = new ArrayList<>(deltas.size());
+        deltas.forEach((k, d) -> rows.add(new I_SalesRollupRepository.StatusDelta(k.date(), k.status(), d[0], d[1], d[2])));
+        return rows;
+    }
+
+    private List<I_SalesRollupRepository.ProductDelta> toProductRows(Map<ProductKey, long[]> deltas) {
+        List<I_SalesRollupRepository.ProductDelta> rows = new ArrayList<>(deltas.size());
+        deltas.forEach((k, d) -> rows.add(new I_SalesRollupRepository.ProductDelta(k.date(), k.productId(), d[0], d[1])));
+        return rows;
+    }
+}
@@ -0,0 +1,400 @@
+package com.example.k5_iot_springboot.service.search;
+
+import com.example.k5_iot_springboot.repository.D_PostSearchSourceRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.LongPredicate;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/*
+ * === PostSearchIndex ===
+ * : 게시글 제목 / 댓글 내용에 대한 메모리 n-gram 역색인
+ * - LIKE '%kw%' 는 인덱스를 탈 수 없어 검색마다 posts 전체 스캔 + posts ⋈ comments GROUP BY 발생
+ *      >> 1-gram/2-gram -> 문서 id 정렬 배열(long[]) 교집합 + 원문 포함 여부 검증으로 대체
+ *
+ * # 동작 #
+ * 1) 기동 시(ApplicationReadyEvent) posts.title / comments.content 를 스트리밍 조회해 색인 구성
+ *      - 구성 중 커밋된 변경은 즉시 반영 + 기록해 두었다가 스캔 후 순서대로 다시 적용
+ *          (스캔이 그보다 먼저 읽은 이전 행으로 덮어쓰거나, 삭제된 행을 되살리는 경우 방지)
+ * 2) 게시글/댓글 생성·수정·삭제 시 호출 트랜잭션이 커밋된 후 색인에 반영 (롤백 시 반영 X)
+ * 3) 검색: 키워드의 gram 별 posting 교집합 (가장 짧은 목록 기준) >> 원문 contains 검증 (오탐 제거)
+ *      - 대소문자 무시 (기존 IgnoreCase / MySQL 기본 collation 과 동일)
+ *      - 댓글 gram 은 게시글 id 단위로 색인 (gram 을 가진 댓글 수를 함께 보관)
+ *          >> 댓글 검색도 제목 검색처럼 게시글 id 내림차순으로 순회하다 limit 건이 차면 중단
+ *          >> 후보 게시글은 그 게시글의 댓글 원문만 검증 (postId -> commentIds)
+ *
+ * # 주의 #
+ * - search.index.enabled=false(기본값) 이거나 색인 구성 전이면 사용되지 않음 (DB LIKE 검색)
+ * - 색인은 인스턴스 메모리에만 존재 >> 단일 인스턴스가 posts/comments 쓰기를 독점할 때만 활성화
+ * - 검증용으로 제목/댓글 원문(소문자)을 보관 >> 메모리 사용량 ≒ 제목 + 댓글 전체 크기의 수 배
+ * */
+@Component
+@Slf4j
+public class PostSearchIndex {
+    private final D_PostSearchSourceRepository sourceRepository;
+    private final boolean enabled;
+
+    private final NgramIndex titles = new NgramIndex();             // 제목 gram -> postId
+    private final Map<Long, String> titleTexts = new HashMap<>();   // postId -> 소문자 제목 (후보 검증용)
+
+    private final NgramIndex commentGrams = new NgramIndex();       // 댓글 gram -> postId (해당 gram 을 가진 댓글 수)
+    private final Map<Long, String> commentTexts = new HashMap<>(); // commentId -> 소문자 댓글 내용 (후보 검증용)
+    private final Map<Long, Long> commentPost = new HashMap<>();    // commentId -> postId
+    private final Map<Long, Postings> postComments = new HashMap<>(); // postId -> commentIds
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile boolean loaded;
+    private List<Runnable> replay; // 구성 중 커밋된 변경 (write lock 안에서만 접근, null 이면 구성 중 아님)
+
+    public PostSearchIndex(
+            D_PostSearchSourceRepository sourceRepository,
+            @Value("${search.index.enabled:false}") boolean enabled
+    ) {
+        this.sourceRepository = sourceRepository;
+        this.enabled = enabled;
+    }
+
+    /* 색인으로 검색 가능한 상태 (비활성화 또는 구성 전이면 false) */
+    public boolean isReady() {
+        return enabled && loaded;
+    }
+
+    /* 기동 시 전체 재구성 - 구성 중 커밋된 변경은 스캔 후 다시 적용 */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        if (!enabled) return;
+
+        loaded = false;
+        write(() -> {
+            titles.clear(); titleTexts.clear();
+            commentGrams.clear(); commentTexts.clear(); commentPost.clear(); postComments.clear();
+            replay = new ArrayList<>();
+        });
+
+        try {
+            sourceRepository.forEachTitle(row -> write(() -> putTitleInternal(row.postId(), row.title())));
+            sourceRepository.forEachComment(row -> write(() -> putCommentInternal(row.commentId(), row.postId(), row.content())));
+        } finally {
+            // 스캔 행보다 나중에 커밋된 값이 최종 값 (put 은 교체, remove 는 멱등 >> 다시 적용해도 안전)
+            write(() -> {
+                replay.forEach(Runnable::run);
+                log.info("Post search index replayed {} changes committed during rebuild", replay.size());
+                replay = null;
+            });
+        }
+
+        loaded = true;
+        log.info("Post search index loaded: {} titles, {} comments", titleTexts.size(), commentTexts.size());
+    }
+
+    // === 검색 === //
+
+    /**
+     * 제목에 keyword 를 포함하는 게시글 id (id 내림차순)
+     * @param cursor 이전 페이지 마지막 게시글 id (null 이면 처음부터)
+     * @param limit  최대 건수
+     * */
+    public List<Long> searchTitles(String keyword, Long cursor, int limit) {
+        String kw = normalize(keyword);
+        lock.readLock().lock();
+        try {
+            return toList(titles.search(kw, upper(cursor), limit, postId -> titleTexts.get(postId).contains(kw)));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /* keyword 를 포함하는 댓글이 달린 게시글 id (중복 제거, id 내림차순) - 제목 검색과 같은 방식 */
+    public List<Long> searchCommentedPosts(String keyword, Long cursor, int limit) {
+        String kw = normalize(keyword);
+        lock.readLock().lock();
+        try {
+            return toList(commentGrams.search(kw, upper(cursor), limit, postId -> anyCommentContains(postId, kw)));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // === 색인 반영 (커밋 후) === //
+
+    public void putPost(Long postId, String title) {
+        afterCommit(() -> putTitleInternal(postId, title));
+    }
+
+    /* 게시글 삭제 - 달린 댓글(cascade 삭제)도 함께 제거 */
+    public void removePost(Long postId) {
+        afterCommit(() -> {
+            String old = titleTexts.remove(postId);
+            if (old != null) titles.remove(postId, old);
+
+            Postings commentIds = postComments.get(postId);
+            if (commentIds == null) return;
+            for (long commentId : commentIds.toArray()) removeCommentInternal(commentId);
+        });
+    }
+
+    public void putComment(Long commentId, Long postId, String content) {
+        afterCommit(() -> putCommentInternal(commentId, postId, content));
+    }
+
+    public void removeComment(Long commentId) {
+        afterCommit(() -> removeCommentInternal(commentId));
+    }
+
+    // === 내부 유틸 === //
+
+    // 같은 postId 가 있으면 교체 (수정)
+    private void putTitleInternal(long postId, String title) {
+        String norm = normalize(title);
+        String old = titleTexts.put(postId, norm);
+        if (old != null) titles.remove(postId, old);
+        titles.add(postId, norm);
+    }
+
+    // 같은 commentId 가 있으면 교체 (수정)
+    private void putCommentInternal(long commentId, long postId, String content) {
+        removeCommentInternal(commentId);
+
+        String norm = normalize(content);
+        commentTexts.put(commentId, norm);
+        commentPost.put(commentId, postId);
+        postComments.computeIfAbsent(postId, p -> new Postings()).add(commentId);
+        commentGrams.add(postId, norm);
+    }
+
+    private void removeCommentInternal(long commentId) {
+        String old = commentTexts.remove(commentId);
+        if (old == null) return;
+
+        long postId = commentPost.remove(commentId);
+        commentGrams.remove(postId, old);
+        Postings commentIds = postComments.get(postId);
+        if (commentIds != null && commentIds.remove(commentId) && commentIds.isEmpty()) postComments.remove(postId);
+    }
+
+    // 후보 게시글의 댓글 중 keyword 를 연속으로 포함하는 댓글이 있는지 (gram 이 여러 댓글에 흩어진 경우 제외)
+    private boolean anyCommentContains(long postId, String keyword) {
+        Postings commentIds = postComments.get(postId);
+        if (commentIds == null) return false;
+        for (int i = 0; i < commentIds.size; i++) {
+            if (commentTexts.get(commentIds.ids[i]).contains(keyword)) return true;
+        }
+        return false;
+    }
+
+    // 커밋 시에만 반영 (트랜잭션 밖이면 즉시)
+    private void afterCommit(Runnable change) {
+        if (!enabled) return;
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply(change);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                apply(change);
+            }
+        });
+    }
+
+    // 커밋된 변경 반영 - 재구성 중이면 스캔 후 다시 적용하도록 기록
+    private void apply(Runnable change) {
+        write(() -> {
+            change.run();
+            if (replay != null) replay.add(change);
+        });
+    }
+
+    private void write(Runnable change) {
+        lock.writeLock().lock();
+        try {
+            change.run();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static long upper(Long cursor) {
+        return cursor == null ? Long.MAX_VALUE : cursor;
+    }
+
+    private static List<Long> toList(long[] ids) {
+        List<Long> result = new ArrayList<>(ids.length);
+        for (long id : ids) result.add(id);
+        return result;
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : text.toLowerCase(Locale.ROOT);
+    }
+
+    /*
+     * n-gram 역색인 (외부 lock 으로 보호 - 자체 동기화 X)
+     * - gram: 1-gram = 문자 코드, 2-gram = (앞 문자 << 16) | 뒤 문자 (int 하나로 표현)
+     * - 1글자 키워드는 1-gram, 2글자 이상은 2-gram 교집합으로 후보 추출
+     * - 같은 docId 에 여러 텍스트를 더할 수 있음 (gram 별 횟수 보관 - 마지막 텍스트가 빠질 때 posting 에서 제거)
+     * - 원문은 보관하지 않음 >> 후보 검증은 호출부가 전달 (search 의 verify)
+     * */
+    private static final class NgramIndex {
+        private final Map<Integer, Postings> postings = new HashMap<>();
+
+        void clear() {
+            postings.clear();
+        }
+
+        // text: 소문자 정규화된 원문
+        void add(long docId, String text) {
+            for (int gram : docGrams(text)) {
+                postings.computeIfAbsent(gram, g -> new Postings()).add(docId);
+            }
+        }
+
+        // add 했던 것과 같은 text 로 호출해야 함
+        void remove(long docId, String text) {
+            for (int gram : docGrams(text)) {
+                Postings p = postings.get(gram);
+                if (p != null && p.remove(docId) && p.isEmpty()) postings.remove(gram);
+            }
+        }
+
+        // keyword(소문자)의 gram 을 모두 가진 docId 중 upperExclusive 미만, verify 통과한 것을 내림차순 최대 limit 건
+        long[] search(String keyword, long upperExclusive, int limit, LongPredicate verify) {
+            if (keyword.isEmpty() || limit <= 0) return new long[0];
+
+            int[] grams = queryGrams(keyword);
+            Postings[] lists = new Postings[grams.length];
+            for (int i = 0; i < grams.length; i++) {
+                lists[i] = postings.get(grams[i]);
+                if (lists[i] == null) return new long[0]; // 없는 gram 이 하나라도 있으면 결과 없음
+            }
+            // 가장 짧은 목록을 기준으로 나머지는 이진 탐색
+            Arrays.sort(lists, (a, b) -> Integer.compare(a.size, b.size));
+
+            Postings driver = lists[0];
+            long[] result = new long[Math.min(limit, driver.size)];
+            int n = 0;
+            for (int i = driver.indexBelow(upperExclusive); i >= 0 && n < result.length; i--) {
+                long docId = driver.ids[i];
+                if (!containsAll(lists, docId)) continue;
+                if (!verify.test(docId)) continue; // gram 은 모두 있지만 연속되지 않은 경우
+                result[n++] = docId;
+            }
+            return n == result.length ? result : Arrays.copyOf(result, n);
+        }
+
+        private static boolean containsAll(Postings[] lists, long docId) {
+            for (int i = 1; i < lists.length; i++) {
+                if (!lists[i].contains(docId)) return false;
+            }
+            return true;
+        }
+
+        // 문서: 1-gram + 2-gram 전체 (중복 제거)
+        private static int[] docGrams(String text) {
+            int len = text.length();
+            if (len == 0) return new int[0];
+
+            int[] grams = new int[len * 2 - 1];
+            int n = 0;
+            for (int i = 0; i < len; i++) {
+                grams[n++] = text.charAt(i);
+                if (i + 1 < len) grams[n++] = bigram(text.charAt(i), text.charAt(i + 1));
+            }
+            return distinct(grams, n);
+        }
+
+        // 키워드: 1글자면 1-gram, 그 외 2-gram 전체 (중복 제거)
+        private static int[] queryGrams(String keyword) {
+            if (keyword.length() == 1) return new int[]{ keyword.charAt(0) };
+
+            int[] grams = new int[keyword.length() - 1];
+            for (int i = 0; i + 1 < keyword.length(); i++) {
+                grams[i] = bigram(keyword.charAt(i), keyword.charAt(i + 1));
+            }
+            return distinct(grams, grams.length);
+        }
+
+        private static int bigram(char a, char b) {
+            return (a << 16) | b;
+        }
+
+        private static int[] distinct(int[] values, int length) {
+            Arrays.sort(values, 0, length);
+            int n = 0;
+            for (int i = 0; i < length; i++) {
+                if (n == 0 || values[n - 1] != values[i]) values[n++] = values[i];
+            }
+            return Arrays.copyOf(values, n);
+        }
+    }
+
+    /* 오름차순 정렬된 id 배열 + id 별 참조 횟수 (boxing 없는 posting list) */
+    private static final class Postings {
+        private long[] ids = new long[4];
+        private int[] counts = new int[4];
+        private int size;
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        // 이미 있으면 횟수만 증가 / id 는 대부분 증가하는 값으로 들어오므로 보통 배열 끝에 추가됨
+        void add(long id) {
+            int i = Arrays.binarySearch(ids, 0, size, id);
+            if (i >= 0) {
+                counts[i]++;
+                return;
+            }
+            i = -i - 1;
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+                counts = Arrays.copyOf(counts, size * 2);
+            }
+            System.arraycopy(ids, i, ids, i + 1, size - i);
+            System.arraycopy(counts, i, counts, i + 1, size - i);
+            ids[i] = id;
+            counts[i] = 1;
+            size++;
+        }
+
+        // 횟수 감소 - 0 이 되어 목록에서 빠졌으면 true
+        boolean remove(long id) {
+            int i = Arrays.binarySearch(ids, 0, size, id);
+            if (i < 0) return false;
+            if (--counts[i] > 0) return false;
+            System.arraycopy(ids, i + 1, ids, i, size - i - 1);
+            System.arraycopy(counts, i + 1, counts, i, size - i - 1);
+            size--;
+            return true;
+        }
+
+        boolean contains(long id) {
+            return Arrays.binarySearch(ids, 0, size, id) >= 0;
+        }
+
+        // upperExclusive 미만인 마지막 원소의 위치 (없으면 -1)
+        int indexBelow(long upperExclusive) {
+            int i = Arrays.binarySearch(ids, 0, size, upperExclusive);
+            return (i >= 0 ? i : -i - 1) - 1;
+        }
+
+        long[] toArray() {
+            return Arrays.copyOf(ids, size);
+        }
+    }
+}
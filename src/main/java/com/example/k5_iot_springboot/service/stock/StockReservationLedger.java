@@ -0,0 +1,224 @@
+package com.example.k5_iot_springboot.service.stock;
+
+import com.example.k5_iot_springboot.repository.I_StockRepository;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/*
+ * === StockReservationLedger ===
+ * : 상품별 재고를 메모리(CAS 카운터)에서 차감/복원하고, 순변화량만 주기적으로 stocks 에 반영하는 원장
+ * - 플래시 세일처럼 같은 stocks 행에 승인/취소가 몰리면 InnoDB 행 잠금에서 모두 직렬화됨
+ *      >> 차감 가능 여부는 메모리에서 즉시 판단하고, DB 는 batch UPDATE 로 묶어서 반영
+ *
+ * # 동작 #
+ * 1) 기동 시(ApplicationReadyEvent) stocks 전체 수량을 적재 (DB 가 기준값)
+ * 2) 차감/복원은 available 카운터에 즉시 반영 (부족하면 거부)
+ *      - 호출 트랜잭션이 커밋되면 pending(미반영 순변화량)에 누적
+ *      - 롤백되면 available 을 원래대로 되돌림
+ * 3) flush-interval-ms 마다 pending 을 비우고 "quantity = quantity + delta" batch UPDATE
+ *
+ * # 주의 #
+ * - stock.ledger.enabled=false(기본값) 이면 사용되지 않음 (순수 DB 모드)
+ * - 원장은 인스턴스 메모리에만 존재 >> 단일 인스턴스가 stocks 를 독점할 때만 활성화
+ * - 비정상 종료 시 마지막 flush 이후의 변화량은 유실될 수 있음 (정상 종료 시 @PreDestroy 에서 flush)
+ * */
+@Component
+@Slf4j
+public class StockReservationLedger {
+    private final I_StockRepository stockRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+
+    /* productId -> 현재 차감 가능 수량 */
+    private final Map<Long, AtomicInteger> available = new ConcurrentHashMap<>();
+
+    /* productId -> DB 미반영 순변화량 (커밋된 것만) */
+    private final Map<Long, AtomicInteger> pending = new ConcurrentHashMap<>();
+
+    public StockReservationLedger(
+            I_StockRepository stockRepository,
+            PlatformTransactionManager transactionManager,
+            @Value("${stock.ledger.enabled:false}") boolean enabled
+    ) {
+        this.stockRepository = stockRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /* 기동 시 DB 수량으로 원장 초기화 */
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconcile() {
+        if (!enabled) return;
+
+        available.clear();
+        stockRepository.findAllQuantities()
+                .forEach(row -> available.put(row.getProductId(), new AtomicInteger(row.getQuantity())));
+
+        log.info("Stock ledger loaded: {} products", available.size());
+    }
+
+    /* 현재 차감 가능 수량 */
+    public int getQuantity(Long productId) {
+        return counter(productId).get();
+    }
+
+    /* 현재 차감 가능 수량 (재고 행이 없으면 empty) */
+    public Optional<Integer> findQuantity(Long productId) {
+        return Optional.ofNullable(findCounter(productId)).map(AtomicInteger::get);
+    }
+
+    /**
+     * 전부 차감하거나, 하나도 차감하지 않음 (all-or-nothing)
+     * - 재고 행이 없는 상품도 부족으로 처리 (DB 경로와 동일)
+     * @return 재고가 부족한 productId 목록 (비어 있으면 성공)
+     * */
+    public List<Long> decreaseAll(Map<Long, Integer> needMap) {
+        Map<Long, Integer> applied = new TreeMap<>();
+        List<Long> shortIds = new ArrayList<>();
+
+        // 첫 차감 전에 카운터를 모두 확보 >> 적재 중 예외가 나도 이미 차감된 수량이 남지 않음
+        Map<Long, AtomicInteger> counters = new TreeMap<>();
+        needMap.forEach((productId, quantity) -> {
+            AtomicInteger c = findCounter(productId);
+            if (c != null) counters.put(productId, c);
+            else shortIds.add(productId);
+        });
+
+        for (Map.Entry<Long, AtomicInteger> e : counters.entrySet()) {
+            int quantity = needMap.get(e.getKey());
+            if (tryDecrease(e.getValue(), quantity)) {
+                applied.put(e.getKey(), -quantity);
+            } else {
+                shortIds.add(e.getKey());
+            }
+        }
+
+        if (!shortIds.isEmpty()) {
+            // 일부만 차감된 상품 원복
+            applied.forEach((productId, delta) -> counters.get(productId).addAndGet(-delta));
+            return shortIds;
+        }
+
+        afterCompletion(applied);
+        return shortIds;
+    }
+
+    /* 복원(증가) - 재고 행이 없는 상품이 있으면 아무것도 반영하지 않고 예외 */
+    public void increaseAll(Map<Long, Integer> restoreMap) {
+        Map<Long, AtomicInteger> counters = new TreeMap<>();
+        restoreMap.keySet().forEach(productId -> counters.put(productId, counter(productId)));
+
+        Map<Long, Integer> applied = new TreeMap<>();
+        counters.forEach((productId, c) -> {
+            int quantity = restoreMap.get(productId);
+            c.addAndGet(quantity);
+            applied.put(productId, quantity);
+        });
+        afterCompletion(applied);
+    }
+
+    /* 직접 설정 - 이전 값과의 차이만큼을 변화량으로 기록 */
+    public void set(Long productId, int quantity) {
+        int before = counter(productId).getAndSet(quantity);
+        afterCompletion(Map.of(productId, quantity - before));
+    }
+
+    /* 미반영 순변화량을 DB 에 batch 반영 */
+    @Scheduled(fixedDelayString = "${stock.ledger.flush-interval-ms:1000}")
+    public void flush() {
+        if (!enabled || pending.isEmpty()) return;
+
+        Map<Long, Integer> drained = new TreeMap<>();
+        pending.forEach((productId, delta) -> {
+            int d = delta.getAndSet(0);
+            if (d != 0) drained.put(productId, d);
+        });
+        if (drained.isEmpty()) return;
+
+        try {
+            // quantity = quantity + delta (delta 는 음수 가능)
+            transactionTemplate.executeWithoutResult(status -> stockRepository.increaseAll(drained));
+        } catch (Exception e) {
+            // 반영 실패 시 다음 주기에 재시도
+            log.warn("Stock ledger flush failed, retry next cycle: {}", e.getMessage());
+            drained.forEach(this::addPending);
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    // === 내부 유틸 === //
+
+    private AtomicInteger counter(Long productId) {
+        AtomicInteger c = findCounter(productId);
+        if (c == null) throw new EntityNotFoundException("재고 정보를 찾을 수 없습니다. productId=" + productId);
+        return c;
+    }
+
+    // 원장에 없는 상품(기동 이후 등록된 상품 등)은 DB 에서 1회 적재 (재고 행이 없으면 null)
+    private AtomicInteger findCounter(Long productId) {
+        AtomicInteger c = available.get(productId);
+        if (c != null) return c;
+
+        Integer quantity = stockRepository.findQuantityByProductId(productId).orElse(null);
+        if (quantity == null) return null;
+        return available.computeIfAbsent(productId, id -> new AtomicInteger(quantity));
+    }
+
+    // CAS 루프: 보유 수량 >= n 일 때만 차감
+    private boolean tryDecrease(AtomicInteger c, int n) {
+        while (true) {
+            int current = c.get();
+            if (current < n) return false;
+            if (c.compareAndSet(current, current - n)) return true;
+        }
+    }
+
+    // 커밋 시 pending 누적, 롤백 시 available 원복
+    private void afterCompletion(Map<Long, Integer> deltas) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            deltas.forEach(this::addPending);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    deltas.forEach(StockReservationLedger.this::addPending);
+                } else {
+                    deltas.forEach((productId, delta) -> counter(productId).addAndGet(-delta));
+                }
+            }
+        });
+    }
+
+    private void addPending(Long productId, int delta) {
+        pending.computeIfAbsent(productId, id -> new AtomicInteger()).addAndGet(delta);
+    }
+}
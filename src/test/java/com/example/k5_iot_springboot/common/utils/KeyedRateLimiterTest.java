@@ -0,0 +1,66 @@
+package com.example.k5_iot_springboot.common.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class KeyedRateLimiterTest {
+
+	private final AtomicLong now = new AtomicLong(1_000_000_000L);
+
+	// capacity 3, 분당 60개 (1초에 1개 회복)
+	private final KeyedRateLimiter limiter = new KeyedRateLimiter(3, 60, 100, now::get);
+
+	@Test
+	void burstUpToCapacityThenReject() {
+		assertThat(limiter.tryAcquire("ip")).isZero();
+		assertThat(limiter.tryAcquire("ip")).isZero();
+		assertThat(limiter.tryAcquire("ip")).isZero();
+
+		long waitMs = limiter.tryAcquire("ip");
+		assertThat(waitMs).isPositive().isLessThanOrEqualTo(1000);
+	}
+
+	@Test
+	void refillsOneTokenPerInterval() {
+		for (int i = 0; i < 3; i++) limiter.tryAcquire("ip");
+		assertThat(limiter.tryAcquire("ip")).isPositive();
+
+		now.addAndGet(TimeUnit.MILLISECONDS.toNanos(999));
+		assertThat(limiter.tryAcquire("ip")).isPositive();
+
+		now.addAndGet(TimeUnit.MILLISECONDS.toNanos(1));
+		assertThat(limiter.tryAcquire("ip")).isZero();
+		assertThat(limiter.tryAcquire("ip")).isPositive();
+	}
+
+	@Test
+	void idleBucketRefillsOnlyUpToCapacity() {
+		for (int i = 0; i < 3; i++) limiter.tryAcquire("ip");
+
+		now.addAndGet(TimeUnit.MINUTES.toNanos(10));
+
+		assertThat(limiter.tryAcquire("ip")).isZero();
+		assertThat(limiter.tryAcquire("ip")).isZero();
+		assertThat(limiter.tryAcquire("ip")).isZero();
+		assertThat(limiter.tryAcquire("ip")).isPositive();
+	}
+
+	@Test
+	void keysAreIndependent() {
+		for (int i = 0; i < 3; i++) limiter.tryAcquire("a");
+		assertThat(limiter.tryAcquire("a")).isPositive();
+
+		assertThat(limiter.tryAcquire("b")).isZero();
+	}
+
+	@Test
+	void rejectsInvalidSettings() {
+		assertThatThrownBy(() -> new KeyedRateLimiter(0, 60, 100))
+				.isInstanceOf(IllegalArgumentException.class);
+	}
+}
@@ -0,0 +1,145 @@
+package com.example.k5_iot_springboot.service.order;
+
+import com.example.k5_iot_springboot.common.enums.OrderStatus;
+import com.example.k5_iot_springboot.dto.I_Order.response.OrderResponse;
+import com.example.k5_iot_springboot.repository.I_OrderIdempotencyRepository;
+import com.example.k5_iot_springboot.repository.I_OrderIdempotencyRepository.StoredKey;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class OrderIdempotencyStoreTest {
+
+	private record Request(long productId, int quantity) {}
+
+	private static final Long USER_ID = 1L;
+	private static final String KEY = "key-1";
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+	private I_OrderIdempotencyRepository repository;
+	private OrderIdempotencyStore store;
+
+	@BeforeEach
+	void setUp() {
+		repository = mock(I_OrderIdempotencyRepository.class);
+		store = new OrderIdempotencyStore(repository, objectMapper, 24, 100, 600);
+	}
+
+	@Test
+	void firstClaimProceedsAndCompletedResponseIsReplayedFromCache() {
+		when(repository.tryClaim(eq(USER_ID), eq(KEY), anyString(), any())).thenReturn(true);
+
+		OrderIdempotencyStore.Claim first = store.claim(USER_ID, KEY, new Request(1, 2));
+		assertThat(first.isReplay()).isFalse();
+
+		OrderResponse.Detail response = detail(100L);
+		store.complete(first, response);
+		verify(repository).complete(eq(USER_ID), eq(KEY), eq(100L), anyString());
+
+		OrderIdempotencyStore.Claim second = store.claim(USER_ID, KEY, new Request(1, 2));
+		assertThat(second.isReplay()).isTrue();
+		assertThat(second.replay()).isEqualTo(response);
+		verify(repository, times(1)).tryClaim(eq(USER_ID), eq(KEY), anyString(), any());
+	}
+
+	@Test
+	void completedKeyIsReplayedFromDatabase() throws Exception {
+		OrderResponse.Detail response = detail(100L);
+		String hash = hashOf(new Request(1, 2));
+		when(repository.tryClaim(eq(USER_ID), eq(KEY), anyString(), any())).thenReturn(false);
+		when(repository.findForShare(USER_ID, KEY)).thenReturn(Optional.of(
+				new StoredKey(hash, 100L, objectMapper.writeValueAsString(response), LocalDateTime.now().plusHours(1))));
+
+		OrderIdempotencyStore.Claim claim = store.claim(USER_ID, KEY, new Request(1, 2));
+
+		assertThat(claim.isReplay()).isTrue();
+		assertThat(claim.replay()).isEqualTo(response);
+
+		// 두 번째 요청은 캐시에서 >> DB 조회 없음
+		store.claim(USER_ID, KEY, new Request(1, 2));
+		verify(repository, times(1)).findForShare(USER_ID, KEY);
+	}
+
+	@Test
+	void rejectsDifferentRequestWithSameKey() throws Exception {
+		String hash = hashOf(new Request(1, 2));
+		when(repository.tryClaim(eq(USER_ID), eq(KEY), anyString(), any())).thenReturn(false);
+		when(repository.findForShare(USER_ID, KEY)).thenReturn(Optional.of(
+				new StoredKey(hash, 100L, objectMapper.writeValueAsString(detail(100L)), LocalDateTime.now().plusHours(1))));
+
+		assertThatThrownBy(() -> store.claim(USER_ID, KEY, new Request(1, 3)))
+				.isInstanceOf(IllegalArgumentException.class);
+
+		// 캐시에 올라간 뒤에도 동일하게 거절
+		store.claim(USER_ID, KEY, new Request(1, 2));
+		assertThatThrownBy(() -> store.claim(USER_ID, KEY, new Request(1, 3)))
+				.isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Test
+	void rejectsWhileSameKeyIsInProgress() throws Exception {
+		String hash = hashOf(new Request(1, 2));
+		when(repository.tryClaim(eq(USER_ID), eq(KEY), anyString(), any())).thenReturn(false);
+		when(repository.findForShare(USER_ID, KEY)).thenReturn(Optional.of(
+				new StoredKey(hash, null, null, LocalDateTime.now().plusHours(1))));
+
+		assertThatThrownBy(() -> store.claim(USER_ID, KEY, new Request(1, 2)))
+				.isInstanceOf(IllegalStateException.class);
+	}
+
+	@Test
+	void expiredKeyIsClaimedAgain() {
+		when(repository.tryClaim(eq(USER_ID), eq(KEY), anyString(), any())).thenReturn(false, true);
+		when(repository.findForShare(USER_ID, KEY)).thenReturn(Optional.of(
+				new StoredKey("old", 100L, "{}", LocalDateTime.now().minusMinutes(1))));
+
+		OrderIdempotencyStore.Claim claim = store.claim(USER_ID, KEY, new Request(1, 2));
+
+		assertThat(claim.isReplay()).isFalse();
+		verify(repository).delete(USER_ID, KEY);
+	}
+
+	@Test
+	void hashIsPassedToClaim() {
+		ArgumentCaptor<String> hash = ArgumentCaptor.forClass(String.class);
+		when(repository.tryClaim(eq(USER_ID), eq(KEY), hash.capture(), any())).thenReturn(true);
+
+		OrderIdempotencyStore.Claim claim = store.claim(USER_ID, KEY, new Request(1, 2));
+
+		assertThat(hash.getValue()).isEqualTo(claim.requestHash()).hasSize(64);
+		verify(repository, never()).findForShare(anyLong(), anyString());
+	}
+
+	// === 내부 유틸 === //
+
+	private String hashOf(Request request) {
+		// 같은 요청이면 같은 해시 - 선점 시 전달된 값을 그대로 사용
+		I_OrderIdempotencyRepository probe = mock(I_OrderIdempotencyRepository.class);
+		ArgumentCaptor<String> hash = ArgumentCaptor.forClass(String.class);
+		when(probe.tryClaim(anyLong(), anyString(), hash.capture(), any())).thenReturn(true);
+		new OrderIdempotencyStore(probe, objectMapper, 24, 100, 600).claim(USER_ID, KEY, request);
+		return hash.getValue();
+	}
+
+	private static OrderResponse.Detail detail(Long orderId) {
+		return new OrderResponse.Detail(orderId, USER_ID, OrderStatus.PENDING, 2000L, 2, "2025-09-01 12:00:00",
+				List.of(new OrderResponse.OrderItemList(1L, "상품", 1000, 2, 2000)));
+	}
+}
@@ -0,0 +1,44 @@
+package com.example.k5_iot_springboot.service.order;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class OrderSearchCursorTest {
+
+	@Test
+	void roundTrip() {
+		OrderSearchCursor cursor = new OrderSearchCursor(LocalDateTime.of(2025, 9, 1, 12, 30, 15, 123_456_000), 42L);
+
+		String encoded = cursor.encode();
+
+		assertThat(encoded).doesNotContain("|", "=", "+", "/");
+		assertThat(OrderSearchCursor.decode(encoded)).isEqualTo(cursor);
+	}
+
+	@Test
+	void roundTripWithoutFraction() {
+		OrderSearchCursor cursor = new OrderSearchCursor(LocalDateTime.of(2025, 1, 1, 0, 0), 1L);
+
+		assertThat(OrderSearchCursor.decode(cursor.encode())).isEqualTo(cursor);
+	}
+
+	@Test
+	void rejectsMalformedCursor() {
+		assertThatThrownBy(() -> OrderSearchCursor.decode("not a cursor!"))
+				.isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> OrderSearchCursor.decode(encode("2025-01-01T00:00|abc")))
+				.isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> OrderSearchCursor.decode(encode("2025-01-01T00:00")))
+				.isInstanceOf(IllegalArgumentException.class);
+	}
+
+	private static String encode(String raw) {
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+	}
+}
@@ -0,0 +1,142 @@
+package com.example.k5_iot_springboot.service.search;
+
+import com.example.k5_iot_springboot.repository.D_PostSearchSourceRepository;
+import com.example.k5_iot_springboot.repository.D_PostSearchSourceRepository.CommentRow;
+import com.example.k5_iot_springboot.repository.D_PostSearchSourceRepository.TitleRow;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+class PostSearchIndexTest {
+
+	private final List<TitleRow> titleRows = new ArrayList<>();
+	private final List<CommentRow> commentRows = new ArrayList<>();
+	private Runnable duringTitleScan = () -> {};
+
+	private PostSearchIndex index;
+
+	@BeforeEach
+	@SuppressWarnings("unchecked")
+	void setUp() {
+		D_PostSearchSourceRepository source = mock(D_PostSearchSourceRepository.class);
+		doAnswer(inv -> {
+			Consumer<TitleRow> consumer = inv.getArgument(0);
+			titleRows.forEach(consumer);
+			duringTitleScan.run();
+			return null;
+		}).when(source).forEachTitle(any());
+		doAnswer(inv -> {
+			Consumer<CommentRow> consumer = inv.getArgument(0);
+			commentRows.forEach(consumer);
+			return null;
+		}).when(source).forEachComment(any());
+
+		index = new PostSearchIndex(source, true);
+	}
+
+	@Test
+	void findsTitlesIgnoringCaseInDescendingIdOrder() {
+		titleRows.add(new TitleRow(1, "Spring Boot"));
+		titleRows.add(new TitleRow(2, "JPA basics"));
+		titleRows.add(new TitleRow(3, "spring security"));
+		index.rebuild();
+
+		assertThat(index.isReady()).isTrue();
+		assertThat(index.searchTitles("SPRING", null, 10)).containsExactly(3L, 1L);
+		assertThat(index.searchTitles("s", null, 10)).containsExactly(3L, 2L, 1L);
+		assertThat(index.searchTitles("hibernate", null, 10)).isEmpty();
+	}
+
+	@Test
+	void pagesTitlesWithCursor() {
+		for (long id = 1; id <= 5; id++) titleRows.add(new TitleRow(id, "post " + id));
+		index.rebuild();
+
+		List<Long> first = index.searchTitles("post", null, 2);
+		assertThat(first).containsExactly(5L, 4L);
+
+		List<Long> second = index.searchTitles("post", first.get(first.size() - 1), 2);
+		assertThat(second).containsExactly(3L, 2L);
+
+		assertThat(index.searchTitles("post", 2L, 2)).containsExactly(1L);
+	}
+
+	@Test
+	void rejectsNonContiguousGrams() {
+		// "abc" 의 2-gram(ab, bc) 은 모두 있지만 연속되지 않음
+		titleRows.add(new TitleRow(1, "ab bc"));
+		titleRows.add(new TitleRow(2, "xabcx"));
+		index.rebuild();
+
+		assertThat(index.searchTitles("abc", null, 10)).containsExactly(2L);
+	}
+
+	@Test
+	void findsCommentedPostsOncePerPost() {
+		commentRows.add(new CommentRow(10, 1, "great post"));
+		commentRows.add(new CommentRow(11, 1, "really great"));
+		commentRows.add(new CommentRow(12, 2, "not bad"));
+		commentRows.add(new CommentRow(13, 3, "Great!"));
+		index.rebuild();
+
+		assertThat(index.searchCommentedPosts("great", null, 10)).containsExactly(3L, 1L);
+		assertThat(index.searchCommentedPosts("great", 3L, 10)).containsExactly(1L);
+		assertThat(index.searchCommentedPosts("great", null, 1)).containsExactly(3L);
+	}
+
+	@Test
+	void rejectsGramsSpreadAcrossComments() {
+		// 게시글 1: ab / bc 가 서로 다른 댓글에 있음 >> "abc" 불일치
+		commentRows.add(new CommentRow(10, 1, "ab"));
+		commentRows.add(new CommentRow(11, 1, "bc"));
+		commentRows.add(new CommentRow(12, 2, "abc"));
+		index.rebuild();
+
+		assertThat(index.searchCommentedPosts("abc", null, 10)).containsExactly(2L);
+	}
+
+	@Test
+	void reflectsCommentChangesAndPostRemoval() {
+		titleRows.add(new TitleRow(1, "first"));
+		commentRows.add(new CommentRow(10, 1, "hello"));
+		index.rebuild();
+
+		index.putComment(11L, 2L, "hello again");
+		assertThat(index.searchCommentedPosts("hello", null, 10)).containsExactly(2L, 1L);
+
+		index.putComment(10L, 1L, "bye");
+		assertThat(index.searchCommentedPosts("hello", null, 10)).containsExactly(2L);
+
+		index.removeComment(11L);
+		assertThat(index.searchCommentedPosts("hello", null, 10)).isEmpty();
+
+		index.removePost(1L);
+		assertThat(index.searchTitles("first", null, 10)).isEmpty();
+		assertThat(index.searchCommentedPosts("bye", null, 10)).isEmpty();
+	}
+
+	@Test
+	void changesDuringRebuildWinOverScannedRows() {
+		titleRows.add(new TitleRow(1, "old title"));
+		titleRows.add(new TitleRow(2, "deleted later"));
+		commentRows.add(new CommentRow(10, 2, "comment on deleted"));
+		duringTitleScan = () -> {
+			index.putPost(1L, "new title");
+			index.removePost(2L);
+		};
+		index.rebuild();
+
+		assertThat(index.searchTitles("old", null, 10)).isEmpty();
+		assertThat(index.searchTitles("new", null, 10)).containsExactly(1L);
+		assertThat(index.searchTitles("deleted", null, 10)).isEmpty();
+		assertThat(index.searchCommentedPosts("comment", null, 10)).isEmpty();
+	}
+}
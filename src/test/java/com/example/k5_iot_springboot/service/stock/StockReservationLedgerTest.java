@@ -0,0 +1,159 @@
+package com.example.k5_iot_springboot.service.stock;
+
+import com.example.k5_iot_springboot.repository.I_StockRepository;
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class StockReservationLedgerTest {
+
+	private I_StockRepository stockRepository;
+	private StockReservationLedger ledger;
+
+	@BeforeEach
+	void setUp() {
+		stockRepository = mock(I_StockRepository.class);
+		when(stockRepository.findQuantityByProductId(1L)).thenReturn(Optional.of(5));
+		when(stockRepository.findQuantityByProductId(2L)).thenReturn(Optional.of(1));
+		ledger = new StockReservationLedger(stockRepository, mock(PlatformTransactionManager.class), true);
+	}
+
+	@AfterEach
+	void tearDown() {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+	}
+
+	@Test
+	void decreasesWhenEnoughStock() {
+		assertThat(ledger.decreaseAll(Map.of(1L, 3))).isEmpty();
+		assertThat(ledger.getQuantity(1L)).isEqualTo(2);
+
+		assertThat(ledger.decreaseAll(Map.of(1L, 3))).containsExactly(1L);
+		assertThat(ledger.getQuantity(1L)).isEqualTo(2);
+	}
+
+	@Test
+	void allOrNothingWhenOneProductIsShort() {
+		List<Long> shortIds = ledger.decreaseAll(Map.of(1L, 2, 2L, 3));
+
+		assertThat(shortIds).containsExactly(2L);
+		assertThat(ledger.getQuantity(1L)).isEqualTo(5);
+		assertThat(ledger.getQuantity(2L)).isEqualTo(1);
+	}
+
+	@Test
+	void missingStockRowIsReportedAsShortWithoutLeaking() {
+		// 9L: 재고 행 없음 (mock 기본값 Optional.empty())
+		List<Long> shortIds = ledger.decreaseAll(Map.of(1L, 2, 9L, 1));
+
+		assertThat(shortIds).containsExactly(9L);
+		assertThat(ledger.getQuantity(1L)).isEqualTo(5);
+		assertThat(ledger.findQuantity(9L)).isEmpty();
+	}
+
+	@Test
+	void increaseWithMissingStockRowAppliesNothing() {
+		assertThatThrownBy(() -> ledger.increaseAll(Map.of(1L, 2, 9L, 1)))
+				.isInstanceOf(EntityNotFoundException.class);
+		assertThat(ledger.getQuantity(1L)).isEqualTo(5);
+
+		ledger.flush();
+		verify(stockRepository, never()).increaseAll(anyMap());
+	}
+
+	@Test
+	void concurrentDecreasesNeverOversell() throws InterruptedException {
+		when(stockRepository.findQuantityByProductId(3L)).thenReturn(Optional.of(1000));
+		ledger.getQuantity(3L);
+
+		ExecutorService pool = Executors.newFixedThreadPool(8);
+		CountDownLatch start = new CountDownLatch(1);
+		AtomicInteger succeeded = new AtomicInteger();
+		for (int i = 0; i < 2000; i++) {
+			pool.execute(() -> {
+				try {
+					start.await();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					return;
+				}
+				if (ledger.decreaseAll(Map.of(3L, 1)).isEmpty()) succeeded.incrementAndGet();
+			});
+		}
+		start.countDown();
+		pool.shutdown();
+		assertThat(pool.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+		assertThat(succeeded.get()).isEqualTo(1000);
+		assertThat(ledger.getQuantity(3L)).isZero();
+	}
+
+	@Test
+	void rollbackRestoresAvailableAndSkipsFlush() {
+		TransactionSynchronizationManager.initSynchronization();
+		ledger.decreaseAll(Map.of(1L, 3));
+		assertThat(ledger.getQuantity(1L)).isEqualTo(2);
+
+		complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+		assertThat(ledger.getQuantity(1L)).isEqualTo(5);
+		ledger.flush();
+		verify(stockRepository, never()).increaseAll(anyMap());
+	}
+
+	@Test
+	void commitFlushesNetDelta() {
+		TransactionSynchronizationManager.initSynchronization();
+		ledger.decreaseAll(Map.of(1L, 3));
+		complete(TransactionSynchronization.STATUS_COMMITTED);
+
+		ledger.increaseAll(Map.of(1L, 1));
+		ledger.flush();
+
+		verify(stockRepository).increaseAll(Map.of(1L, -2));
+		assertThat(ledger.getQuantity(1L)).isEqualTo(3);
+	}
+
+	@Test
+	void failedFlushIsRetriedNextCycle() {
+		ledger.decreaseAll(Map.of(1L, 2));
+		when(stockRepository.increaseAll(anyMap()))
+				.thenThrow(new IllegalStateException("db down"))
+				.thenReturn(Map.of());
+
+		ledger.flush();
+		ledger.flush();
+
+		verify(stockRepository, times(2)).increaseAll(Map.of(1L, -2));
+	}
+
+	private void complete(int status) {
+		List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+		TransactionSynchronizationManager.clearSynchronization();
+		synchronizations.forEach(s -> s.afterCompletion(status));
+	}
+}